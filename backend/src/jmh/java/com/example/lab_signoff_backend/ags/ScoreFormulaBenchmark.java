@@ -0,0 +1,81 @@
+package com.example.lab_signoff_backend.ags;
+
+import com.example.lab_signoff_backend.ags.dto.CheckpointDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * {@link ScoreFormulaService#computeFrom} over a whole class: one operation
+ * scores 50, 500 or 5,000 requests of {@value #CHECKPOINTS} checkpoints each,
+ * with a mix of states, optional checkpoints, default weights and late
+ * multipliers.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class ScoreFormulaBenchmark {
+
+    static final int CHECKPOINTS = 12;
+
+    @Param({"50", "500", "5000"})
+    public int students;
+
+    private final ScoreFormulaService service = new ScoreFormulaService();
+    private ScoreFormulaService.ScorePublishRequest[] requests;
+    private ScoreFormulaService.ScoreBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        CheckpointState[] states = CheckpointState.values();
+        requests = new ScoreFormulaService.ScorePublishRequest[students];
+        double[] weights = new double[CHECKPOINTS];
+        boolean[] required = new boolean[CHECKPOINTS];
+        byte[] codes = new byte[students * CHECKPOINTS];
+        double[] late = new double[students];
+        for (int s = 0; s < students; s++) {
+            ScoreFormulaService.ScorePublishRequest request = new ScoreFormulaService.ScorePublishRequest();
+            List<CheckpointDto> checkpoints = new ArrayList<>(CHECKPOINTS);
+            for (int c = 0; c < CHECKPOINTS; c++) {
+                CheckpointDto checkpoint = new CheckpointDto();
+                checkpoint.id = "cp-" + c;
+                // Weights are per lab, so every student shares them
+                checkpoint.weight = c % 3 == 0 ? null : 0.5 + (c % 4) * 0.5;
+                checkpoint.required = c % 5 == 4 ? Boolean.FALSE : null;
+                // Mostly passed, as at the end of a lab
+                checkpoint.state = random.nextInt(4) == 0 ? states[random.nextInt(states.length)] : CheckpointState.Passed;
+                checkpoints.add(checkpoint);
+                weights[c] = checkpoint.weight == null ? Double.NaN : checkpoint.weight;
+                required[c] = checkpoint.required == null || checkpoint.required;
+                codes[s * CHECKPOINTS + c] = ScoreFormulaService.ScoreBatch.code(checkpoint.state);
+            }
+            request.checkpoints = checkpoints;
+            request.lateMultiplier = s % 10 == 0 ? 0.9 : null;
+            late[s] = request.lateMultiplier == null ? Double.NaN : request.lateMultiplier;
+            requests[s] = request;
+        }
+        batch = new ScoreFormulaService.ScoreBatch(students, weights, required, codes, late);
+    }
+
+    @Benchmark
+    public void computeFrom(Blackhole blackhole) {
+        for (ScoreFormulaService.ScorePublishRequest request : requests) {
+            blackhole.consume(service.computeFrom(request));
+        }
+    }
+
+    @Benchmark
+    public ScoreFormulaService.BatchResult computeBatch() {
+        return service.computeBatch(batch);
+    }
+}
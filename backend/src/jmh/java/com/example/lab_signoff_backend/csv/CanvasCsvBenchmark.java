@@ -0,0 +1,148 @@
+package com.example.lab_signoff_backend.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Canvas gradebook import and export on synthetic exports of 50, 500 and
+ * 5,000 students with {@value #LABS} lab columns each.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class CanvasCsvBenchmark {
+
+    static final int LABS = 30;
+
+    @Param({"50", "500", "5000"})
+    public int students;
+
+    private final CanvasLabsImporter importer = new CanvasLabsImporter();
+    private final NormalizedLabsExporter normalizedExporter = new NormalizedLabsExporter();
+    private final WideWithPointsExporter wideExporter = new WideWithPointsExporter();
+    private final CanvasRosterReader rosterReader = new CanvasRosterReader();
+
+    private Path dir;
+    private Path input;
+    private CanvasLabsImporter.Result normalized;
+    private GradebookMatrix matrix;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("canvas-csv-bench");
+        input = dir.resolve("export.csv");
+        writeExport(input, students, LABS);
+        normalized = importer.normalize(input);
+        matrix = importer.matrix(input);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public CanvasLabsImporter.Result normalize() throws IOException {
+        return importer.normalize(input);
+    }
+
+    @Benchmark
+    public long streamRows() throws IOException {
+        try (Stream<CanvasLabsImporter.StudentLabScore> rows = importer.stream(input)) {
+            return rows.count();
+        }
+    }
+
+    @Benchmark
+    public CanvasRosterReader.Result readRoster() throws IOException {
+        try (Reader reader = Files.newBufferedReader(input)) {
+            return rosterReader.read(reader);
+        }
+    }
+
+    @Benchmark
+    public Path exportNormalized() throws IOException {
+        Path out = dir.resolve("normalized.csv");
+        normalizedExporter.export(out, normalized.rows);
+        return out;
+    }
+
+    @Benchmark
+    public Path exportWide() throws IOException {
+        Path out = dir.resolve("wide.csv");
+        wideExporter.export(out, normalized.rows, normalized.labColumns, normalized.pointsPossibleMap);
+        return out;
+    }
+
+    @Benchmark
+    public Path streamToWide() throws IOException {
+        Path out = dir.resolve("streamed-wide.csv");
+        CanvasLabsImporter.Header header = importer.readHeader(input);
+        try (Stream<CanvasLabsImporter.StudentLabScore> rows = importer.stream(input, header)) {
+            wideExporter.export(out, rows, header.labColumns(), header.pointsPossibleMap());
+        }
+        return out;
+    }
+
+    @Benchmark
+    public GradebookMatrix importMatrix() throws IOException {
+        return importer.matrix(input);
+    }
+
+    @Benchmark
+    public Path exportMatrixNormalized() throws IOException {
+        Path out = dir.resolve("matrix-normalized.csv");
+        normalizedExporter.export(out, matrix);
+        return out;
+    }
+
+    @Benchmark
+    public Path exportMatrixWide() throws IOException {
+        Path out = dir.resolve("matrix-wide.csv");
+        wideExporter.export(out, matrix);
+        return out;
+    }
+
+    /**
+     * Canvas-shaped export: header, Points Possible row, then one row per
+     * student with roughly a third of the scores left blank.
+     */
+    static void writeExport(Path path, int students, int labs) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path)) {
+            out.write("Student,ID,SIS User ID,SIS Login ID,Section");
+            for (int lab = 1; lab <= labs; lab++) {
+                out.write(String.format(",Laboratory for Module %02d (%d)", lab, 9_600_000 + lab));
+            }
+            out.write("\n    Points Possible,,,,");
+            for (int lab = 1; lab <= labs; lab++) {
+                out.write("," + (lab % 5 + 1) + ".00");
+            }
+            out.write("\n");
+            for (int s = 1; s <= students; s++) {
+                out.write("\"Student, " + s + "\"," + s + ",sis" + s + ",student" + s + "@example.edu,Section " + (s % 4 + 1));
+                for (int lab = 1; lab <= labs; lab++) {
+                    out.write((s + lab) % 3 == 0 ? "," : "," + (lab % 5 + 1));
+                }
+                out.write("\n");
+            }
+        }
+    }
+}
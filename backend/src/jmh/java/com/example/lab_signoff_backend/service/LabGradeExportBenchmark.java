@@ -0,0 +1,98 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.Class;
+import com.example.lab_signoff_backend.model.Enrollment;
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.Lab;
+import com.example.lab_signoff_backend.model.User;
+import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
+import com.example.lab_signoff_backend.model.embedded.GroupMember;
+import com.example.lab_signoff_backend.model.enums.EnrollmentRole;
+import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row building and CSV writing of {@link LabGradeExportService} for one lab
+ * of a class with 50, 500 or 5,000 students in groups of three. Half the
+ * roster is listed by user id and half by Canvas display name, so both
+ * roster matching paths are exercised.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class LabGradeExportBenchmark {
+
+    private static final int CHECKPOINTS = 10;
+    private static final int GROUP_SIZE = 3;
+
+    @Param({"50", "500", "5000"})
+    public int students;
+
+    // Only buildCsv is exercised, which never touches the injected services
+    private final LabGradeExportService service = new LabGradeExportService(null, null, null, null, null);
+
+    private Lab lab;
+    private Class classEntity;
+    private List<Group> groups;
+    private List<Enrollment> enrollments;
+    private Map<String, User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lab = new Lab("class-1", "Laboratory for Module 01", CHECKPOINTS, "teacher-1");
+        lab.setId("lab-1");
+        lab.setDescription("Imported from Canvas: Laboratory for Module 01 (9600001)");
+
+        classEntity = new Class("CS101", "Intro", "Fall", "teacher-1");
+        classEntity.setId("class-1");
+        classEntity.setSection("Section 1");
+
+        enrollments = new ArrayList<>(students);
+        users = new HashMap<>(students * 2);
+        List<String> roster = new ArrayList<>(students);
+        for (int s = 0; s < students; s++) {
+            String userId = "user-" + s;
+            User user = new User("auth0|" + s, "student" + s + "@example.edu", "Student " + s, null, List.of("Student"));
+            user.setId(userId);
+            user.setFirstName("First" + s);
+            user.setLastName("Last" + s);
+            users.put(userId, user);
+            enrollments.add(new Enrollment(userId, "class-1", EnrollmentRole.STUDENT));
+            roster.add(s % 2 == 0 ? userId : "Last" + s + ", First" + s);
+        }
+        classEntity.setRoster(roster);
+
+        groups = new ArrayList<>();
+        for (int g = 0; g * GROUP_SIZE < students; g++) {
+            Group group = new Group();
+            group.setLabId("lab-1");
+            List<GroupMember> members = new ArrayList<>();
+            for (int m = g * GROUP_SIZE; m < Math.min(students, (g + 1) * GROUP_SIZE); m++) {
+                members.add(new GroupMember("user-" + m, "First" + m + " Last" + m, "student" + m + "@example.edu"));
+            }
+            group.setMembers(members);
+            List<CheckpointProgress> progress = new ArrayList<>();
+            for (int c = 1; c <= CHECKPOINTS; c++) {
+                progress.add(new CheckpointProgress(c, (g + c) % 4 == 0 ? SignoffAction.RETURN : SignoffAction.PASS));
+            }
+            group.setCheckpointProgress(progress);
+            groups.add(group);
+        }
+    }
+
+    @Benchmark
+    public byte[] buildCsv() {
+        return service.buildCsv(lab, classEntity, groups, enrollments, users);
+    }
+}
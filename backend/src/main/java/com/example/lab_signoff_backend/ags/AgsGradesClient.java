@@ -0,0 +1,61 @@
+package com.example.lab_signoff_backend.ags;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * HTTP client for the batch grades endpoint.
+ *
+ * Defaults to the in-process mock ({@code /api/mock/ags/grades/batch}); point
+ * {@code app.ags.publish.endpoint} elsewhere to publish to a real gateway that
+ * speaks the same batch format. Connect and read timeouts are always set, so a
+ * hung gateway fails the batch (and it is retried) instead of holding the
+ * publishing worker.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class AgsGradesClient {
+
+    private static final ParameterizedTypeReference<List<MockAgsController.BatchItemResult>> RESULTS =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final String endpoint;
+
+    public AgsGradesClient(RestClient.Builder builder,
+                           @Value("${app.ags.publish.endpoint:http://localhost:${server.port:8080}/api/mock/ags/grades/batch}") String endpoint,
+                           @Value("${app.ags.publish.connect-timeout-ms:2000}") long connectTimeoutMs,
+                           @Value("${app.ags.publish.read-timeout-ms:10000}") long readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restClient = builder.requestFactory(requestFactory).build();
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Publish a batch of scores.
+     *
+     * @return One result per score, in request order
+     * @throws org.springframework.web.client.RestClientException when the whole batch fails
+     *         (connection error or non-2xx status)
+     */
+    public List<MockAgsController.BatchItemResult> publish(List<MockAgsController.ScorePublishRequest> scores) {
+        List<MockAgsController.BatchItemResult> results = restClient.post()
+                .uri(endpoint)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(scores)
+                .retrieve()
+                .body(RESULTS);
+        return results == null ? List.of() : results;
+    }
+}
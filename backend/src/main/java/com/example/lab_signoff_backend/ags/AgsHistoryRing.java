@@ -0,0 +1,225 @@
+package com.example.lab_signoff_backend.ags;
+
+import com.example.lab_signoff_backend.ags.dto.ScorePublishResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-capacity, lock-free history of mock grade syncs.
+ *
+ * Every sync gets a sequence number and is written to slot {@code seq & mask};
+ * once the ring is full the oldest sync is overwritten. Writers only touch
+ * their own slot, so concurrent syncs never wait on each other.
+ *
+ * Retention is the same for every sync, so syncs expire in the order they were
+ * written. Nothing is pruned eagerly: reads skip expired slots and scans from
+ * the newest sync stop at the first expired one.
+ *
+ * Each sync also records the previous sync of the same course and of each of
+ * its users, so lookups by course or user follow a chain through the ring
+ * instead of scanning it. The per-course and per-user heads are dropped when
+ * the sync they point to is overwritten, which keeps the index bounded by the
+ * ring capacity. Chains are best effort when two syncs for the same user race.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public final class AgsHistoryRing {
+
+    /**
+     * @param seq          Sequence number
+     * @param response     Stored response
+     * @param userIds      Users the sync covered (empty for a group sync)
+     * @param expiresAtMs  Epoch millis after which the sync is gone
+     * @param prevInCourse Sequence of the course's previous sync, or 0
+     * @param prevForUser  Sequence of each user's previous sync, or 0, aligned with userIds
+     */
+    public record Entry(long seq, ScorePublishResponse response, List<String> userIds, long expiresAtMs,
+                        long prevInCourse, long[] prevForUser) {
+
+        boolean liveAt(long nowMs) {
+            return expiresAtMs >= nowMs;
+        }
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong nextSeq = new AtomicLong(1);
+    private final Map<String, Long> latestByCourse = new ConcurrentHashMap<>();
+    private final Map<String, Long> latestByUser = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity Maximum number of syncs kept; rounded up to a power of two
+     */
+    public AgsHistoryRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.min(capacity, 1 << 30));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return Number of slots
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Reserve the sequence number of the next sync (used for its mock sync id).
+     */
+    public long nextSequence() {
+        return nextSeq.getAndIncrement();
+    }
+
+    /**
+     * Store a sync under a sequence from {@link #nextSequence()}.
+     */
+    public void put(long seq, ScorePublishResponse response, List<String> userIds, long expiresAtMs) {
+        List<String> users = userIds == null ? List.of() : List.copyOf(userIds);
+        long prevInCourse = head(latestByCourse, response.courseId);
+        long[] prevForUser = new long[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            prevForUser[i] = head(latestByUser, users.get(i));
+        }
+
+        // Write the slot before publishing the heads, so a reader never finds a head whose slot is not there yet
+        Entry replaced = slots.getAndSet(index(seq), new Entry(seq, response, users, expiresAtMs, prevInCourse, prevForUser));
+        link(latestByCourse, response.courseId, seq);
+        for (String user : users) {
+            link(latestByUser, user, seq);
+        }
+        if (replaced != null) {
+            unlink(latestByCourse, replaced.response().courseId, replaced.seq());
+            for (String user : replaced.userIds()) {
+                unlink(latestByUser, user, replaced.seq());
+            }
+        }
+    }
+
+    /**
+     * @return The live sync with this sequence, or null when unknown, overwritten or expired
+     */
+    public Entry get(long seq, long nowMs) {
+        if (seq <= 0) {
+            return null;
+        }
+        Entry entry = slots.get(index(seq));
+        return entry != null && entry.seq() == seq && entry.liveAt(nowMs) ? entry : null;
+    }
+
+    /**
+     * @return The newest live sync for a course, or null
+     */
+    public Entry latestForCourse(String courseId, long nowMs) {
+        Long seq = courseId == null ? null : latestByCourse.get(courseId);
+        return seq == null ? null : get(seq, nowMs);
+    }
+
+    /**
+     * Newest-first live syncs matching a filter.
+     *
+     * @param courseId  Only this course (null for any); followed through the course chain
+     * @param userId    Only syncs covering this user (null for any); followed through the user chain
+     * @param beforeSeq Only syncs older than this sequence (0 for no bound)
+     * @param filter    Further conditions on the response
+     * @param limit     Maximum number of results
+     */
+    public List<Entry> query(String courseId, String userId, long beforeSeq,
+                             Predicate<ScorePublishResponse> filter, int limit, long nowMs) {
+        List<Entry> results = new ArrayList<>();
+        if (limit <= 0) {
+            return results;
+        }
+        if (userId != null) {
+            Long head = latestByUser.get(userId);
+            long seq = head == null ? 0 : head;
+            while (seq > 0 && results.size() < limit) {
+                Entry entry = get(seq, nowMs);
+                int position = entry == null ? -1 : entry.userIds().indexOf(userId);
+                if (position < 0) {
+                    break;
+                }
+                if (accepts(entry, courseId, beforeSeq, filter)) {
+                    results.add(entry);
+                }
+                seq = chainNext(seq, entry.prevForUser()[position]);
+            }
+        } else if (courseId != null) {
+            Long head = latestByCourse.get(courseId);
+            long seq = head == null ? 0 : head;
+            while (seq > 0 && results.size() < limit) {
+                Entry entry = get(seq, nowMs);
+                if (entry == null || !Objects.equals(entry.response().courseId, courseId)) {
+                    break;
+                }
+                if (accepts(entry, null, beforeSeq, filter)) {
+                    results.add(entry);
+                }
+                seq = chainNext(seq, entry.prevInCourse());
+            }
+        } else {
+            long newest = nextSeq.get() - 1;
+            long oldest = Math.max(1, newest - mask);
+            for (long seq = newest; seq >= oldest && results.size() < limit; seq--) {
+                Entry entry = slots.get(index(seq));
+                if (entry == null || entry.seq() != seq) {
+                    // Reserved but not written yet, or already overwritten
+                    continue;
+                }
+                if (!entry.liveAt(nowMs)) {
+                    break;
+                }
+                if (accepts(entry, null, beforeSeq, filter)) {
+                    results.add(entry);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static boolean accepts(Entry entry, String courseId, long beforeSeq, Predicate<ScorePublishResponse> filter) {
+        return (beforeSeq <= 0 || entry.seq() < beforeSeq)
+                && (courseId == null || Objects.equals(entry.response().courseId, courseId))
+                && (filter == null || filter.test(entry.response()));
+    }
+
+    // Chains must move to strictly older syncs; anything else is a lost race and ends the walk
+    private static long chainNext(long seq, long prev) {
+        return prev < seq ? prev : 0;
+    }
+
+    private int index(long seq) {
+        return (int) (seq & mask);
+    }
+
+    private static long head(Map<String, Long> heads, String key) {
+        Long head = key == null ? null : heads.get(key);
+        return head == null ? 0 : head;
+    }
+
+    // A slower writer with an older sequence never moves a head backwards
+    private static void link(Map<String, Long> heads, String key, long seq) {
+        if (key != null) {
+            heads.merge(key, seq, Math::max);
+        }
+    }
+
+    private static void unlink(Map<String, Long> heads, String key, long seq) {
+        if (key != null) {
+            heads.remove(key, seq);
+        }
+    }
+}
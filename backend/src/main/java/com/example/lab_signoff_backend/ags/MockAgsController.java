@@ -5,6 +5,7 @@ import com.example.lab_signoff_backend.ags.dto.CheckpointDto;
 import com.example.lab_signoff_backend.ags.dto.ScorePublishResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
@@ -12,8 +13,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 @RestController
@@ -31,10 +30,21 @@ public class MockAgsController {
     @Value("${app.mocks.ags.redact-comments:true}")
     private boolean redactComments;
 
-    private static final Deque<Stored> HISTORY = new ConcurrentLinkedDeque<>();
-    private record Stored(ScorePublishResponse resp, long expiresAtMs) {}
-    private static final int MAX_HISTORY = 50;
-    private static final AtomicLong SEQ = new AtomicLong(1);
+    @Value("${app.mocks.ags.max-batch-size:100}")
+    private int maxBatchSize;
+
+    private static final int MAX_QUERY_LIMIT = 1000;
+
+    private final AgsHistoryRing history;
+
+    public MockAgsController() {
+        this(4096);
+    }
+
+    @Autowired
+    public MockAgsController(@Value("${app.mocks.ags.history-capacity:4096}") int historyCapacity) {
+        this.history = new AgsHistoryRing(historyCapacity);
+    }
 
     private static final Pattern EMAIL = Pattern.compile(".+@.+\\..+");
 
@@ -48,7 +58,40 @@ public class MockAgsController {
                                   produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ScorePublishResponse> sync(@RequestBody ScorePublishRequest req) {
         if (!mockEnabled) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        return ResponseEntity.ok(publish(req));
+    }
+
+    /**
+     * Publish many scores in one call. Each item is validated and stored like
+     * {@link #sync}; a bad item is reported in its own result instead of
+     * failing the whole batch.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+                                   produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> batch(@RequestBody List<ScorePublishRequest> reqs) {
+        if (!mockEnabled) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        if (reqs == null || reqs.isEmpty()) bad("batch must not be empty");
+        if (reqs.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "batch is limited to " + maxBatchSize + " scores");
+        }
 
+        List<BatchItemResult> results = new ArrayList<>(reqs.size());
+        for (ScorePublishRequest req : reqs) {
+            BatchItemResult result = new BatchItemResult();
+            try {
+                if (req == null) bad("score must not be null");
+                result.response = publish(req);
+                result.status = HttpStatus.OK.value();
+            } catch (ResponseStatusException e) {
+                result.status = e.getStatusCode().value();
+                result.error = e.getReason();
+            }
+            results.add(result);
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    private ScorePublishResponse publish(ScorePublishRequest req) {
         // Basic fields
         if (isBlank(req.courseId)) bad("courseId is required");
         if (isBlank(req.checkpointId)) bad("checkpointId is required");
@@ -98,8 +141,9 @@ public class MockAgsController {
         else resultIds.add("mock-result-" + req.groupId);
 
         // Build response
+        long seq = history.nextSequence();
         ScorePublishResponse resp = new ScorePublishResponse();
-        resp.mockSyncId = "mock-sync-" + SEQ.getAndIncrement();
+        resp.mockSyncId = "mock-sync-" + seq;
         resp.courseId = req.courseId;
         resp.lineItemId = lineItemId;
         resp.resultIds = resultIds;
@@ -112,32 +156,54 @@ public class MockAgsController {
         resp.timestamp = ts;
 
         // Store with TTL
-        pruneExpired();
-        HISTORY.addFirst(new Stored(resp, System.currentTimeMillis() + retentionSeconds * 1000));
-        while (HISTORY.size() > MAX_HISTORY) HISTORY.removeLast();
+        history.put(seq, resp, hasUsers ? req.userIds : List.of(), System.currentTimeMillis() + retentionSeconds * 1000);
 
-        // Redacted log (no PII)
-        log.info("MOCK AGS SYNC courseId={} checkpointId={} count={}",
+        // Redacted log (no PII); debug so load tests are not bound by logging
+        log.debug("MOCK AGS SYNC courseId={} checkpointId={} count={}",
                 req.courseId, req.checkpointId, resp.syncedCount);
 
-        return ResponseEntity.ok(resp);
+        return resp;
     }
 
     @GetMapping(value = "/last", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ScorePublishResponse> last(@RequestParam String courseId) {
         if (!mockEnabled) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
-        pruneExpired();
-        for (Stored s : HISTORY) {
-            if (Objects.equals(s.resp.courseId, courseId)) {
-                return ResponseEntity.ok(s.resp);
-            }
+        AgsHistoryRing.Entry entry = history.latestForCourse(courseId, System.currentTimeMillis());
+        if (entry == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No mock sync found for courseId=" + courseId);
         }
-        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No mock sync found for courseId=" + courseId);
+        return ResponseEntity.ok(entry.response());
     }
 
-    private void pruneExpired() {
-        long now = System.currentTimeMillis();
-        HISTORY.removeIf(s -> s.expiresAtMs < now);
+    /**
+     * Recent syncs, newest first. Page back with {@code beforeSeq} set to the
+     * sequence of the last sync returned (the number in its mockSyncId).
+     */
+    @GetMapping(value = "/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ScorePublishResponse>> history(@RequestParam(required = false) String courseId,
+                                                              @RequestParam(required = false) String userId,
+                                                              @RequestParam(required = false) String lineItemId,
+                                                              @RequestParam(required = false) String checkpointId,
+                                                              @RequestParam(defaultValue = "0") long beforeSeq,
+                                                              @RequestParam(defaultValue = "50") int limit) {
+        if (!mockEnabled) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        if (limit < 1 || limit > MAX_QUERY_LIMIT) bad("limit must be between 1 and " + MAX_QUERY_LIMIT);
+
+        List<AgsHistoryRing.Entry> entries = history.query(courseId, userId, beforeSeq,
+                resp -> (lineItemId == null || lineItemId.equals(resp.lineItemId))
+                        && (checkpointId == null || checkpointId.equals(resp.checkpointId)),
+                limit, System.currentTimeMillis());
+        return ResponseEntity.ok(entries.stream().map(AgsHistoryRing.Entry::response).toList());
+    }
+
+    @GetMapping(value = "/history/{seq}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ScorePublishResponse> historyEntry(@PathVariable long seq) {
+        if (!mockEnabled) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        AgsHistoryRing.Entry entry = history.get(seq, System.currentTimeMillis());
+        if (entry == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No mock sync " + seq + " in history");
+        }
+        return ResponseEntity.ok(entry.response());
     }
 
     private static com.example.lab_signoff_backend.ags.ActivityProgress ActivityOrDefault(String ap) {
@@ -179,6 +245,13 @@ public class MockAgsController {
         }
     }
 
+    // Per-item outcome of a batch publish: status is the HTTP status the item would get from /sync.
+    public static class BatchItemResult {
+        public int status;
+        public String error;
+        public ScorePublishResponse response;
+    }
+
     // Minimal local DTO to avoid depending on external package during compile.
     public static class ScorePublishRequest {
         public String courseId;
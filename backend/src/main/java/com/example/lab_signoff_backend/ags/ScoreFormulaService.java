@@ -63,10 +63,127 @@ public class ScoreFormulaService {
         return new Result(earned, max, ap, gp);
     }
 
+    /**
+     * Score a whole lab or class in one pass over a columnar {@link ScoreBatch}.
+     * Each student's result is identical to {@link #computeFrom} for the same
+     * checkpoints, states and late multiplier, including rounding.
+     */
+    public BatchResult computeBatch(ScoreBatch batch) {
+        int students = batch.students;
+        int checkpoints = batch.checkpoints;
+        double[] given = new double[students];
+        double[] maximum = new double[students];
+        boolean[] completed = new boolean[students];
+
+        byte[] states = batch.states;
+        double[] credit = batch.credit;
+        for (int s = 0, base = 0; s < students; s++, base += checkpoints) {
+            double max = 0.0;
+            double earned = 0.0;
+            boolean allDone = true;
+            for (int c = 0; c < checkpoints; c++) {
+                byte state = states[base + c];
+                if (state == ScoreBatch.NO_STATE || state == ScoreBatch.EXEMPT) continue;
+                // Optional checkpoints carry zero credit, so they add nothing to max or earned
+                max += credit[c];
+                if (state == ScoreBatch.PASSED) {
+                    earned += credit[c];
+                } else {
+                    allDone = false;
+                }
+            }
+            double lm = batch.lateMultipliers == null ? 1.0 : batch.lateMultipliers[s];
+            given[s] = round2(earned * clamp01(Double.isNaN(lm) ? 1.0 : lm));
+            maximum[s] = max;
+            completed[s] = allDone;
+        }
+        return new BatchResult(given, maximum, completed);
+    }
+
     private static double clamp01(double v) { return v < 0 ? 0 : (v > 1 ? 1 : v); }
     private static double round2(double v)  { return Math.round(v * 100.0) / 100.0; }
     private static double safe(Double v)    { return v == null ? 0.0 : v.doubleValue(); }
 
+    /**
+     * Columnar input for {@link #computeBatch}: one lab's checkpoint definitions
+     * shared by every student, plus a student-major matrix of state codes.
+     */
+    public static final class ScoreBatch {
+        /** State code for a missing checkpoint or state (skipped, like a null entry) */
+        public static final byte NO_STATE = -1;
+        static final byte PASSED = (byte) CheckpointState.Passed.ordinal();
+        static final byte EXEMPT = (byte) CheckpointState.Exempt.ordinal();
+
+        private final int students;
+        private final int checkpoints;
+        private final double[] credit;
+        private final byte[] states;
+        private final double[] lateMultipliers;
+
+        /**
+         * @param students        Number of students (rows)
+         * @param weights         Weight per checkpoint; NaN or {@code <= 0} means {@link #DEFAULT_WEIGHT}
+         * @param required        Required flag per checkpoint (null means all required)
+         * @param states          {@code students * weights.length} codes from {@link #code}, row per student
+         * @param lateMultipliers Late multiplier per student, NaN for none (null means none for everyone)
+         */
+        public ScoreBatch(int students, double[] weights, boolean[] required, byte[] states, double[] lateMultipliers) {
+            if (weights.length == 0) {
+                throw new IllegalArgumentException("A batch needs at least one checkpoint");
+            }
+            if (required != null && required.length != weights.length) {
+                throw new IllegalArgumentException("required must have one entry per checkpoint");
+            }
+            if (states.length != students * weights.length) {
+                throw new IllegalArgumentException("states must hold students x checkpoints codes");
+            }
+            if (lateMultipliers != null && lateMultipliers.length != students) {
+                throw new IllegalArgumentException("lateMultipliers must have one entry per student");
+            }
+            this.students = students;
+            this.checkpoints = weights.length;
+            this.credit = new double[checkpoints];
+            for (int c = 0; c < checkpoints; c++) {
+                double w = weights[c];
+                double weight = Double.isNaN(w) || w <= 0 ? DEFAULT_WEIGHT : w;
+                credit[c] = required == null || required[c] ? weight : 0.0;
+            }
+            this.states = states;
+            this.lateMultipliers = lateMultipliers;
+        }
+
+        public static byte code(CheckpointState state) {
+            return state == null ? NO_STATE : (byte) state.ordinal();
+        }
+
+        public int students() {
+            return students;
+        }
+
+        public int checkpoints() {
+            return checkpoints;
+        }
+    }
+
+    /**
+     * Columnar output of {@link #computeBatch}, indexed by student.
+     */
+    public static record BatchResult(double[] scoreGiven, double[] scoreMaximum, boolean[] completed) {
+
+        public int size() {
+            return scoreGiven.length;
+        }
+
+        /**
+         * @return Student {@code i}'s result in the single-request form
+         */
+        public Result get(int i) {
+            return new Result(scoreGiven[i], scoreMaximum[i],
+                    completed[i] ? "Completed" : "InProgress",
+                    completed[i] ? "FullyGraded" : "Pending");
+        }
+    }
+
     // Local DTO used by this service to avoid an unresolved external import; fields are public
     // because ScoreFormulaService accesses them directly.
     public static class ScorePublishRequest {
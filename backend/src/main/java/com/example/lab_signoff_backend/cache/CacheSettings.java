@@ -0,0 +1,12 @@
+package com.example.lab_signoff_backend.cache;
+
+/**
+ * Tuning knobs shared by the document caches, bound from {@code app.cache.*}.
+ *
+ * @param enabled          Whether caching is active; when false every lookup goes to the loader
+ * @param localMaxEntries  Maximum entries kept in each in-process tier
+ * @param localTtlSeconds  Lifetime of an in-process entry
+ * @param redisTtlSeconds  Lifetime of a Redis entry
+ */
+public record CacheSettings(boolean enabled, int localMaxEntries, int localTtlSeconds, int redisTtlSeconds) {
+}
@@ -0,0 +1,64 @@
+package com.example.lab_signoff_backend.cache;
+
+import com.example.lab_signoff_backend.model.Lab;
+import com.example.lab_signoff_backend.model.User;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Invalidates cached documents whenever they are saved or deleted through
+ * Spring Data, so the caches stay correct without every write path having
+ * to remember to evict.
+ *
+ * Users are cached by Auth0 id, which a delete-by-id query does not carry;
+ * {@code UserService.deleteByAuth0Id} evicts those explicitly.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class DocumentCacheEvictionListener extends AbstractMongoEventListener<Object> {
+
+    private final DocumentCaches caches;
+
+    public DocumentCacheEvictionListener(DocumentCaches caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Lab lab) {
+            caches.labs().invalidate(lab.getId());
+        } else if (source instanceof com.example.lab_signoff_backend.model.Class clazz) {
+            caches.classes().invalidate(clazz.getId());
+        } else if (source instanceof User user) {
+            caches.usersByAuth0Id().invalidate(user.getAuth0Id());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        java.lang.Class<?> type = event.getType();
+        TwoTierCache<?> cache;
+        if (Lab.class.equals(type)) {
+            cache = caches.labs();
+        } else if (com.example.lab_signoff_backend.model.Class.class.equals(type)) {
+            cache = caches.classes();
+        } else {
+            return;
+        }
+
+        Object id = event.getSource().get("_id");
+        if (id instanceof Document operator && operator.get("$in") instanceof Collection<?> ids) {
+            ids.forEach(each -> cache.invalidate(String.valueOf(each)));
+        } else if (id != null && !(id instanceof Document)) {
+            cache.invalidate(id.toString());
+        }
+    }
+}
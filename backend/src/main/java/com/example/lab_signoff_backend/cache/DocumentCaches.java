@@ -0,0 +1,72 @@
+package com.example.lab_signoff_backend.cache;
+
+import com.example.lab_signoff_backend.model.Lab;
+import com.example.lab_signoff_backend.model.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisPool;
+
+/**
+ * Holder for the second-level caches in front of the hottest MongoDB documents:
+ * labs by id, classes by id and users by Auth0 id.
+ *
+ * Caching is off unless {@code app.cache.enabled=true}, in which case every
+ * lookup passes straight through to the repository.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class DocumentCaches {
+
+    public static final String LABS = "labs";
+    public static final String CLASSES = "classes";
+    public static final String USERS_BY_AUTH0_ID = "users-by-auth0";
+
+    private final TwoTierCache<Lab> labs;
+    private final TwoTierCache<com.example.lab_signoff_backend.model.Class> classes;
+    private final TwoTierCache<User> usersByAuth0Id;
+
+    public DocumentCaches(JedisPool jedisPool,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          InvalidationBus bus,
+                          @Value("${app.cache.enabled:false}") boolean enabled,
+                          @Value("${app.cache.local-max-entries:2000}") int localMaxEntries,
+                          @Value("${app.cache.local-ttl-seconds:30}") int localTtlSeconds,
+                          @Value("${app.cache.redis-ttl-seconds:600}") int redisTtlSeconds) {
+        CacheSettings settings = new CacheSettings(enabled, localMaxEntries, localTtlSeconds, redisTtlSeconds);
+        ObjectMapper mapper = cacheMapper(objectMapper);
+
+        this.labs = new TwoTierCache<>(LABS, Lab.class, settings, jedisPool, mapper, bus, meterRegistry);
+        this.classes = new TwoTierCache<>(CLASSES, com.example.lab_signoff_backend.model.Class.class,
+                settings, jedisPool, mapper, bus, meterRegistry);
+        this.usersByAuth0Id = new TwoTierCache<>(USERS_BY_AUTH0_ID, User.class, settings, jedisPool, mapper, bus, meterRegistry);
+    }
+
+    /**
+     * Compact JSON for cache payloads: nulls are omitted, and derived getters
+     * (e.g. {@code isActive}) that have no setter are ignored on the way back in.
+     */
+    static ObjectMapper cacheMapper(ObjectMapper objectMapper) {
+        return objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    public TwoTierCache<Lab> labs() {
+        return labs;
+    }
+
+    public TwoTierCache<com.example.lab_signoff_backend.model.Class> classes() {
+        return classes;
+    }
+
+    public TwoTierCache<User> usersByAuth0Id() {
+        return usersByAuth0Id;
+    }
+}
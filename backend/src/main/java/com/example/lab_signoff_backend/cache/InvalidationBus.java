@@ -0,0 +1,202 @@
+package com.example.lab_signoff_backend.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node invalidation channel backed by Redis pub/sub.
+ *
+ * Every backend node subscribes to a single channel and dispatches incoming
+ * messages to the listener registered for the message namespace (for example
+ * a cache name). Messages published by this node are skipped on receipt because
+ * local state was already updated before publishing.
+ *
+ * The subscriber uses a dedicated connection rather than one borrowed from the
+ * shared {@link JedisPool}, since a subscribed connection is blocked for its
+ * whole lifetime. Messages sent while it is reconnecting are lost, so state
+ * that must not go stale registers a resubscribe hook to resynchronise.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    static final String CHANNEL = "cache:invalidate";
+    private static final String SEPARATOR = "|";
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final JedisPool jedisPool;
+    private final boolean enabled;
+    private final String redisHost;
+    private final int redisPort;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<String>> listeners = new ConcurrentHashMap<>();
+    private final List<Runnable> subscribeHooks = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean subscribed;
+    private volatile JedisPubSub subscriber;
+    private Thread subscriberThread;
+
+    public InvalidationBus(JedisPool jedisPool,
+                           @Value("${app.cache.enabled:false}") boolean enabled,
+                           @Value("${spring.data.redis.host:localhost}") String redisHost,
+                           @Value("${spring.data.redis.port:6379}") int redisPort) {
+        this.jedisPool = jedisPool;
+        this.enabled = enabled;
+        this.redisHost = redisHost;
+        this.redisPort = redisPort;
+    }
+
+    /**
+     * @return true when cross-node invalidation is active
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true while this node is subscribed and receiving other nodes' invalidations
+     */
+    public boolean isSubscribed() {
+        return enabled && subscribed;
+    }
+
+    /**
+     * Register a callback run every time the subscriber (re)connects, since any
+     * invalidation published while it was disconnected was missed.
+     *
+     * @param hook Callback, run on the subscriber thread
+     */
+    public void onSubscribe(Runnable hook) {
+        subscribeHooks.add(hook);
+    }
+
+    /**
+     * Register the handler invoked when another node invalidates a key in the namespace.
+     *
+     * @param namespace Namespace the handler is responsible for
+     * @param listener  Callback receiving the invalidated key
+     */
+    public void register(String namespace, Consumer<String> listener) {
+        listeners.put(namespace, listener);
+    }
+
+    /**
+     * Notify the other nodes that a key in the namespace is no longer valid.
+     * Failures are logged and swallowed; peers fall back to their local TTLs.
+     *
+     * @param namespace The namespace of the key
+     * @param key       The invalidated key
+     * @return false if the bus is enabled but the message could not be sent
+     */
+    public boolean publish(String namespace, String key) {
+        if (!enabled || key == null) {
+            return true;
+        }
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.publish(CHANNEL, nodeId + SEPARATOR + namespace + SEPARATOR + key);
+            return true;
+        } catch (JedisException e) {
+            log.warn("Failed to publish invalidation for {}:{}: {}", namespace, key, e.getMessage());
+            return false;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        subscriberThread = new Thread(this::subscribeLoop, "cache-invalidation-subscriber");
+        subscriberThread.setDaemon(true);
+        subscriberThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        JedisPubSub current = subscriber;
+        if (current != null && current.isSubscribed()) {
+            current.unsubscribe();
+        }
+        if (subscriberThread != null) {
+            subscriberThread.interrupt();
+        }
+    }
+
+    private void subscribeLoop() {
+        while (running) {
+            try (Jedis jedis = new Jedis(redisHost, redisPort)) {
+                subscriber = new JedisPubSub() {
+                    @Override
+                    public void onSubscribe(String channel, int subscribedChannels) {
+                        subscribed = true;
+                        subscribeHooks.forEach(InvalidationBus::runHook);
+                    }
+
+                    @Override
+                    public void onMessage(String channel, String message) {
+                        dispatch(message);
+                    }
+                };
+                jedis.subscribe(subscriber, CHANNEL);
+                subscribed = false;
+            } catch (JedisException e) {
+                subscribed = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation subscriber disconnected, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void runHook(Runnable hook) {
+        try {
+            hook.run();
+        } catch (RuntimeException e) {
+            log.warn("Invalidation subscribe hook failed: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(String message) {
+        int first = message.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : message.indexOf(SEPARATOR, first + 1);
+        if (second < 0) {
+            return;
+        }
+        if (nodeId.equals(message.substring(0, first))) {
+            return;
+        }
+        Consumer<String> listener = listeners.get(message.substring(first + 1, second));
+        if (listener != null) {
+            listener.accept(message.substring(second + 1));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.lab_signoff_backend.cache;
+
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.model.Lab;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bumps {@link ResourceVersions} counters whenever a document behind one of
+ * the ETag-enabled endpoints is saved or deleted through Spring Data.
+ *
+ * Writes that bypass repository events (bulk operations, findAndModify) must
+ * bump the affected scopes themselves.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class ResourceVersionListener extends AbstractMongoEventListener<Object> {
+
+    private final ResourceVersions versions;
+
+    public ResourceVersionListener(ResourceVersions versions) {
+        this.versions = versions;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof Group group) {
+            versions.bump(ResourceVersions.GROUPS, group.getLabId());
+        } else if (source instanceof HelpQueueItem item) {
+            versions.bump(ResourceVersions.QUEUE, item.getLabId());
+        } else if (source instanceof Lab lab) {
+            versions.bump(ResourceVersions.LAB, lab.getId());
+            versions.bump(ResourceVersions.CLASS_LABS, lab.getClassId());
+        } else if (source instanceof com.example.lab_signoff_backend.model.Class clazz) {
+            versions.bump(ResourceVersions.CLASS, clazz.getId());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        java.lang.Class<?> type = event.getType();
+        Document query = event.getSource();
+        if (Group.class.equals(type)) {
+            versions.bump(ResourceVersions.GROUPS, labIdFrom(query));
+        } else if (HelpQueueItem.class.equals(type)) {
+            versions.bump(ResourceVersions.QUEUE, labIdFrom(query));
+        } else if (Lab.class.equals(type)) {
+            versions.bumpAll(ResourceVersions.LAB);
+            versions.bumpAll(ResourceVersions.CLASS_LABS);
+        } else if (com.example.lab_signoff_backend.model.Class.class.equals(type)) {
+            versions.bumpAll(ResourceVersions.CLASS);
+        }
+    }
+
+    /**
+     * Derived deletes such as {@code deleteByLabId} carry the lab id in the
+     * query; deletes by document id do not, and fall back to a type-wide bump.
+     */
+    private String labIdFrom(Document query) {
+        return query != null && query.get("labId") instanceof String labId ? labId : null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.lab_signoff_backend.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters used to build cheap ETags for polled read endpoints.
+ *
+ * A scope is a {@code type:id} pair such as {@code groups:<labId>}. Each write
+ * that affects a scope bumps its counter; writes whose scope cannot be
+ * determined (for example a delete by document id) bump the type-wide counter
+ * instead, which changes every ETag of that type. ETags also carry a per-process
+ * epoch so tags issued before a restart never match afterwards.
+ *
+ * Because reading a counter is a map lookup, controllers can answer
+ * {@code If-None-Match} with 304 before touching MongoDB. Bumps are shared with
+ * other nodes over the {@link InvalidationBus}, so 304s are only served while
+ * this node is subscribed to it ({@code app.cache.enabled}); otherwise a node
+ * could keep answering 304 after a peer changed the data. A single-node
+ * deployment can opt in without the bus through {@code app.etags.local-only}.
+ *
+ * Bumps lost in transit would leave a peer's counters stale indefinitely, so
+ * the epoch is rotated (changing every ETag) whenever the subscriber
+ * reconnects, and after a failed publish the next successful one tells every
+ * peer to rotate theirs.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class ResourceVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceVersions.class);
+
+    public static final String LAB = "lab";
+    public static final String CLASS = "class";
+    public static final String CLASS_LABS = "class-labs";
+    public static final String GROUPS = "groups";
+    public static final String QUEUE = "queue";
+
+    static final String NAMESPACE = "versions";
+    private static final String ALL = "*";
+    // Scope telling peers to rotate their epoch after this node lost a bump
+    static final String RESET = "!reset";
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final InvalidationBus bus;
+    private final boolean localOnly;
+    private volatile String epoch = newEpoch();
+    private volatile boolean resetPending;
+
+    public ResourceVersions(InvalidationBus bus,
+                            @Value("${app.etags.local-only:false}") boolean localOnly) {
+        this.bus = bus;
+        this.localOnly = localOnly;
+        bus.register(NAMESPACE, this::onRemoteBump);
+        bus.onSubscribe(this::rotateEpoch);
+        if (!bus.isEnabled() && localOnly) {
+            log.warn("ETags answer 304 from this node's counters only; do not run more than one backend node");
+        }
+    }
+
+    /**
+     * Record a change to a single scope.
+     *
+     * @param type Resource type, e.g. {@link #GROUPS}
+     * @param id   Scope identifier, e.g. the lab id
+     */
+    public void bump(String type, String id) {
+        if (id == null) {
+            bumpAll(type);
+            return;
+        }
+        String scope = type + ":" + id;
+        bumpLocal(scope);
+        share(scope);
+    }
+
+    /**
+     * Record a change that may affect any scope of the given type.
+     *
+     * @param type Resource type
+     */
+    public void bumpAll(String type) {
+        String scope = type + ":" + ALL;
+        bumpLocal(scope);
+        share(scope);
+    }
+
+    /**
+     * Build an ETag value covering the given scopes.
+     *
+     * @param scopes Alternating type and id values, e.g. {@code LAB, labId, CLASS, classId}
+     * @return Unquoted ETag value
+     */
+    public String etag(String... scopes) {
+        StringBuilder tag = new StringBuilder(epoch);
+        for (int i = 0; i + 1 < scopes.length; i += 2) {
+            tag.append('-')
+                    .append(read(scopes[i] + ":" + ALL))
+                    .append('.')
+                    .append(read(scopes[i] + ":" + scopes[i + 1]));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Decide whether a request can be answered with 304.
+     *
+     * @param ifNoneMatch Header value, may be null
+     * @param etag        Unquoted ETag from {@link #etag(String...)}
+     * @return true if the counters are shared (or local-only is allowed) and the client has the current tag
+     */
+    public boolean notModified(String ifNoneMatch, String etag) {
+        return (localOnly || bus.isSubscribed()) && matches(ifNoneMatch, etag);
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against a freshly computed ETag.
+     *
+     * @param ifNoneMatch Header value, may be null
+     * @param etag        Unquoted ETag from {@link #etag(String...)}
+     * @return true if the client already has the current representation
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals("\"" + etag + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void share(String scope) {
+        // A peer missed an earlier bump: make every peer drop its tags before sending this one
+        if (resetPending && bus.publish(NAMESPACE, RESET)) {
+            resetPending = false;
+        }
+        if (!bus.publish(NAMESPACE, scope)) {
+            resetPending = true;
+        }
+    }
+
+    private void onRemoteBump(String scope) {
+        if (RESET.equals(scope)) {
+            rotateEpoch();
+        } else {
+            bumpLocal(scope);
+        }
+    }
+
+    /**
+     * Change every ETag this node issues, for when bumps may have been missed.
+     */
+    void rotateEpoch() {
+        epoch = newEpoch();
+    }
+
+    private static String newEpoch() {
+        return Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+    }
+
+    private void bumpLocal(String scope) {
+        counters.computeIfAbsent(scope, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long read(String scope) {
+        AtomicLong counter = counters.get(scope);
+        return counter == null ? 0 : counter.get();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.lab_signoff_backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into a single in-flight call.
+ *
+ * The first caller for a key runs the loader on its own thread; callers that
+ * arrive with the same key while it is running wait for and share its result
+ * (or its exception). Nothing is cached once the call completes, so callers
+ * that want fresh data after a write should fold a version into the key
+ * (see {@link ResourceVersions}).
+ *
+ * Results are shared between waiters and must be treated as read-only.
+ *
+ * @param <K> Key type
+ * @param <V> Result type
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = requests(meterRegistry, name, "executed");
+        this.collapsed = requests(meterRegistry, name, "collapsed");
+    }
+
+    /**
+     * Run the loader for the key, or join a call for the same key that is already running.
+     *
+     * @param key    Identity of the read
+     * @param loader The read to perform
+     * @return The loader's result
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            collapsed.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String name, String result) {
+        return Counter.builder("app.singleflight.requests")
+                .tag("flight", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
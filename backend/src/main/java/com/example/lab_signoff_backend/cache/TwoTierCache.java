@@ -0,0 +1,234 @@
+package com.example.lab_signoff_backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache with a small in-process tier in front of a shared Redis tier.
+ *
+ * Values are stored as compact JSON bytes in both tiers, so every read returns a
+ * fresh copy and callers can mutate what they get back without corrupting the
+ * cache. Local entries live for a short TTL and are dropped early when another
+ * node publishes an invalidation over the {@link InvalidationBus}; Redis entries
+ * are deleted on invalidation and otherwise expire on their own TTL.
+ *
+ * Redis failures are never surfaced to callers: the cache simply falls back to
+ * the loader (normally a MongoDB repository lookup).
+ *
+ * @param <V> The cached document type
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public class TwoTierCache<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final String name;
+    private final Class<V> type;
+    private final boolean enabled;
+    private final long localTtlMillis;
+    private final int redisTtlSeconds;
+    private final JedisPool jedisPool;
+    private final ObjectMapper mapper;
+    private final InvalidationBus bus;
+    private final Map<String, LocalEntry> local;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    private record LocalEntry(byte[] payload, long expiresAtMillis) {
+    }
+
+    public TwoTierCache(String name, Class<V> type, CacheSettings settings, JedisPool jedisPool,
+                        ObjectMapper mapper, InvalidationBus bus, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.type = type;
+        this.enabled = settings.enabled();
+        this.localTtlMillis = settings.localTtlSeconds() * 1000L;
+        this.redisTtlSeconds = settings.redisTtlSeconds();
+        this.jedisPool = jedisPool;
+        this.mapper = mapper;
+        this.bus = bus;
+
+        int maxEntries = settings.localMaxEntries();
+        this.local = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.localHits = requests(meterRegistry, "local_hit");
+        this.redisHits = requests(meterRegistry, "redis_hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("app.cache.hit.ratio", this, TwoTierCache::hitRatio)
+                .tag("cache", name)
+                .register(meterRegistry);
+
+        bus.register(name, this::evictLocal);
+    }
+
+    /**
+     * Look up a value, consulting the local tier, then Redis, then the loader.
+     * Loaded values are written back to both tiers.
+     *
+     * @param key    The cache key (usually a document id)
+     * @param loader Fallback used on a miss or when caching is disabled
+     * @return The value, or empty if the loader found nothing
+     */
+    public Optional<V> get(String key, Function<String, Optional<V>> loader) {
+        if (!enabled || key == null) {
+            return loader.apply(key);
+        }
+
+        V value = decode(getLocal(key));
+        if (value != null) {
+            localHits.increment();
+            return Optional.of(value);
+        }
+
+        long observedGeneration = generation.get();
+        byte[] payload = getRemote(key);
+        value = decode(payload);
+        if (value != null) {
+            redisHits.increment();
+            putLocal(key, payload, observedGeneration);
+            return Optional.of(value);
+        }
+
+        misses.increment();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(v -> {
+            byte[] encoded = encode(v);
+            if (encoded != null && putLocal(key, encoded, observedGeneration)) {
+                putRemote(key, encoded);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drop a key from both tiers on this node and tell the other nodes to
+     * drop their local copies.
+     *
+     * @param key The key to invalidate
+     */
+    public void invalidate(String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        evictLocal(key);
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.del(redisKey(key));
+        } catch (JedisException e) {
+            log.warn("Failed to delete {} entry {} from Redis: {}", name, key, e.getMessage());
+        }
+        bus.publish(name, key);
+    }
+
+    /**
+     * @return Fraction of lookups served from either cache tier since startup
+     */
+    public double hitRatio() {
+        double hits = localHits.count() + redisHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    void evictLocal(String key) {
+        // Bumping the generation stops an in-flight load from re-caching a value
+        // read before this invalidation.
+        generation.incrementAndGet();
+        local.remove(key);
+    }
+
+    private byte[] getLocal(String key) {
+        LocalEntry entry = local.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            local.remove(key);
+            return null;
+        }
+        return entry.payload();
+    }
+
+    private boolean putLocal(String key, byte[] payload, long observedGeneration) {
+        synchronized (local) {
+            if (generation.get() != observedGeneration) {
+                return false;
+            }
+            local.put(key, new LocalEntry(payload, System.currentTimeMillis() + localTtlMillis));
+            return true;
+        }
+    }
+
+    private byte[] getRemote(String key) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return jedis.get(redisKey(key));
+        } catch (JedisException e) {
+            log.warn("Redis read failed for {} entry {}: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, byte[] payload) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.setex(redisKey(key), redisTtlSeconds, payload);
+        } catch (JedisException e) {
+            log.warn("Redis write failed for {} entry {}: {}", name, key, e.getMessage());
+        }
+    }
+
+    private byte[] encode(V value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            log.warn("Could not serialize {} entry: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private V decode(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return mapper.readValue(payload, type);
+        } catch (IOException e) {
+            // Usually a stale entry written by an older document shape; treat as a miss.
+            log.debug("Discarding undecodable {} entry: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] redisKey(String key) {
+        return ("cache:" + name + ":" + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("app.cache.requests")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.lab_signoff_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's {@code @Scheduled} background jobs (projection catch-up,
+ * analytics rollups and similar maintenance tasks). Each job checks its own
+ * {@code app.*} flag, so enabling scheduling does not turn any job on by itself.
+ * The scheduler pool size is {@code spring.task.scheduling.pool.size}; with
+ * Spring Boot's default of one thread a slow job would delay every other one.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,68 @@
+package com.example.lab_signoff_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Storage settings for the signoff audit log.
+ *
+ * {@code SignoffEvent} resolves its collection name through this bean, so the
+ * application can switch between the standard {@code signoff_events} collection
+ * and a MongoDB time-series collection without code changes. Time-series mode
+ * stores events bucketed by {@code labId} (metaField) and {@code timestamp}
+ * (timeField) and can expire old terms automatically. Events are append-only
+ * in that mode: single events cannot be deleted.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component("signoffEventStorage")
+public class SignoffEventStorage {
+
+    public static final String STANDARD_COLLECTION = "signoff_events";
+
+    private final boolean timeSeries;
+    private final String timeSeriesCollection;
+    private final Granularity granularity;
+    private final Duration expireAfter;
+
+    public SignoffEventStorage(
+            @Value("${app.signoff-events.time-series.enabled:false}") boolean timeSeries,
+            @Value("${app.signoff-events.time-series.collection:signoff_events_ts}") String timeSeriesCollection,
+            @Value("${app.signoff-events.time-series.granularity:MINUTES}") Granularity granularity,
+            @Value("${app.signoff-events.time-series.expire-after-days:0}") long expireAfterDays) {
+        this.timeSeries = timeSeries;
+        this.timeSeriesCollection = timeSeriesCollection;
+        this.granularity = granularity;
+        this.expireAfter = expireAfterDays > 0 ? Duration.ofDays(expireAfterDays) : null;
+    }
+
+    /**
+     * @return Collection signoff events are read from and written to
+     */
+    public String getCollectionName() {
+        return timeSeries ? timeSeriesCollection : STANDARD_COLLECTION;
+    }
+
+    public boolean isTimeSeries() {
+        return timeSeries;
+    }
+
+    public String getTimeSeriesCollection() {
+        return timeSeriesCollection;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * @return Retention for time-series buckets, or null to keep events forever
+     */
+    public Duration getExpireAfter() {
+        return expireAfter;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.lab_signoff_backend.config;
 
+import com.example.lab_signoff_backend.websocket.UserIdHandshakeHandler;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -27,6 +28,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(@NonNull StompEndpointRegistry registry) {
         // Client connects here (e.g., SockJS + STOMP)
         registry.addEndpoint("/ws")
+                .setHandshakeHandler(new UserIdHandshakeHandler())
                 .setAllowedOrigins(
                         "http://localhost:5173",  // Vite default
                         "http://localhost:3000"   // CRA default (if used)
@@ -42,7 +44,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry registry) {
         // Prefix for messages from server → clients
-        registry.enableSimpleBroker("/topic");
+        registry.enableSimpleBroker("/topic", "/queue");
+
+        // Per-user destinations, e.g. /user/queue/help-assignments
+        registry.setUserDestinationPrefix("/user");
 
         // Prefix for client → server destinations
         registry.setApplicationDestinationPrefixes("/app");
@@ -0,0 +1,89 @@
+package com.example.lab_signoff_backend.controller;
+
+import com.example.lab_signoff_backend.service.AnalyticsRollupService;
+import com.example.lab_signoff_backend.service.AnalyticsService;
+import org.bson.Document;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for lab throughput analytics.
+ * Reads only the hourly rollups; the raw event collections are never scanned per request.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(
+        origins = {
+                "http://localhost:5173",
+                "http://localhost:5002",
+                "https://lab-signoff-app.web.app",
+                "https://lab-signoff-app.firebaseapp.com"
+        },
+        allowCredentials = "true"
+)
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final AnalyticsRollupService rollupService;
+
+    public AnalyticsController(AnalyticsService analyticsService, AnalyticsRollupService rollupService) {
+        this.analyticsService = analyticsService;
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * Sign-offs per TA per hour
+     * GET /api/analytics/labs/{labId}/tas?from=...&to=...
+     */
+    @GetMapping("/labs/{labId}/tas")
+    public ResponseEntity<List<Document>> getTaThroughput(
+            @PathVariable String labId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(analyticsService.getTaThroughput(labId, from, to));
+    }
+
+    /**
+     * Pass/return totals per checkpoint
+     * GET /api/analytics/labs/{labId}/checkpoints?from=...&to=...
+     */
+    @GetMapping("/labs/{labId}/checkpoints")
+    public ResponseEntity<List<Document>> getCheckpointSummary(
+            @PathVariable String labId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(analyticsService.getCheckpointSummary(labId, from, to));
+    }
+
+    /**
+     * Help queue load and median wait per hour
+     * GET /api/analytics/labs/{labId}/help-queue?from=...&to=...
+     */
+    @GetMapping("/labs/{labId}/help-queue")
+    public ResponseEntity<List<Document>> getHelpQueueHourly(
+            @PathVariable String labId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(analyticsService.getHelpQueueHourly(labId, from, to));
+    }
+
+    /**
+     * Roll up closed hours now instead of waiting for the schedule
+     * POST /api/analytics/rollups/run
+     */
+    @PostMapping("/rollups/run")
+    public ResponseEntity<Map<String, Instant>> runRollup() {
+        try {
+            Instant[] window = rollupService.rollUp();
+            return ResponseEntity.ok(Map.of("from", window[0], "to", window[1]));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.lab_signoff_backend.controller;
 
+import com.example.lab_signoff_backend.cache.ResourceVersions;
 import com.example.lab_signoff_backend.model.Class;
 import com.example.lab_signoff_backend.model.Lab;
 import com.example.lab_signoff_backend.service.ClassService;
 import com.example.lab_signoff_backend.service.LabService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -39,6 +41,9 @@ public class ClassController {
     @Autowired
     private LabService labService;
 
+    @Autowired
+    private ResourceVersions versions;
+
     /**
      * Create a new class
      * POST /api/classes
@@ -171,7 +176,15 @@ public class ClassController {
      * GET /api/classes/{classId}/labs
      */
     @GetMapping("/{classId}/labs")
-    public ResponseEntity<List<Lab>> getLabsByClassId(@PathVariable String classId) {
+    public ResponseEntity<List<Lab>> getLabsByClassId(
+            @PathVariable String classId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Unchanged since the client's last poll: answer without querying
+        String etag = versions.etag(ResourceVersions.CLASS_LABS, classId, ResourceVersions.CLASS, classId);
+        if (versions.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         // Verify class exists
         Optional<Class> classOpt = classService.getClassById(classId);
         if (classOpt.isEmpty()) {
@@ -180,7 +193,7 @@ public class ClassController {
 
         // Fetch all labs for this class
         List<Lab> labs = labService.getLabsByClassId(classId);
-        return ResponseEntity.ok(labs);
+        return ResponseEntity.ok().eTag(etag).body(labs);
     }
 
     /**
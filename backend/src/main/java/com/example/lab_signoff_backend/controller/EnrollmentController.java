@@ -1,6 +1,9 @@
 package com.example.lab_signoff_backend.controller;
 
+import com.example.lab_signoff_backend.dto.BulkEnrollmentRequestDTO;
+import com.example.lab_signoff_backend.dto.BulkEnrollmentResultDTO;
 import com.example.lab_signoff_backend.dto.EnrollmentWithUserDTO;
+import com.example.lab_signoff_backend.dto.EnrollmentWithUserPageDTO;
 import com.example.lab_signoff_backend.model.Enrollment;
 import com.example.lab_signoff_backend.model.User;
 import com.example.lab_signoff_backend.model.enums.EnrollmentRole;
@@ -12,9 +15,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST Controller for Enrollment management
@@ -56,6 +61,24 @@ public class EnrollmentController {
         }
     }
 
+    /**
+     * Enroll a batch of users (or change their roles) in one request
+     * POST /api/enrollments/bulk
+     * Body: { "classId": "abc", "performedBy": "teacherId",
+     *         "enrollments": [ { "userId": "xyz", "role": "STUDENT" }, ... ] }
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkEnrollmentResultDTO> bulkEnroll(@RequestBody BulkEnrollmentRequestDTO request) {
+        try {
+            return ResponseEntity.ok(enrollmentService.bulkEnroll(request));
+        } catch (IllegalArgumentException e) {
+            // Batch too large
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get enrollment by ID
      * GET /api/enrollments/{id}
@@ -127,51 +150,40 @@ public class EnrollmentController {
                     ? enrollmentService.getActiveStudents(classId)
                     : enrollmentService.getStudents(classId);
 
-            // Fetch all users once for efficiency
-            List<User> allUsers = userService.getAllUsers();
-            Map<String, User> userMap = new java.util.HashMap<>();
-            for (User user : allUsers) {
-                userMap.put(user.getId(), user);
-            }
-
-            // Enrich enrollments with user data
-            List<EnrollmentWithUserDTO> enrichedStudents = new ArrayList<>();
-            for (Enrollment enrollment : students) {
-                EnrollmentWithUserDTO dto = new EnrollmentWithUserDTO();
-                dto.setId(enrollment.getId());
-                dto.setUserId(enrollment.getUserId());
-                dto.setClassId(enrollment.getClassId());
-                dto.setRole(enrollment.getRole());
-                dto.setStatus(enrollment.getStatus());
-                dto.setEnrolledAt(enrollment.getEnrolledAt());
-                dto.setUpdatedAt(enrollment.getUpdatedAt());
-
-                User user = userMap.get(enrollment.getUserId());
-                if (user != null) {
-                    // Use name, email may be null/empty for students who joined via join code
-                    dto.setUserName(user.getName() != null ? user.getName() : "Unknown Student");
-                    dto.setUserEmail(user.getEmail() != null ? user.getEmail() : "");
-                    dto.setUserFirstName(user.getFirstName() != null ? user.getFirstName() : "");
-                    dto.setUserLastName(user.getLastName() != null ? user.getLastName() : "");
-                    dto.setUserPicture(user.getPicture() != null ? user.getPicture() : "");
-                } else {
-                    // User not found, use defaults
-                    dto.setUserName("Unknown Student");
-                    dto.setUserEmail("");
-                    dto.setUserFirstName("");
-                    dto.setUserLastName("");
-                    dto.setUserPicture("");
-                }
-
-                enrichedStudents.add(dto);
-            }
-
+            List<EnrollmentWithUserDTO> enrichedStudents = withUserDetails(students);
             return ResponseEntity.ok(enrichedStudents);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Page through students for a class with user details, ordered by enrollment
+     * GET /api/enrollments/class/{classId}/students/page?cursor=...&limit=100
+     */
+    @GetMapping("/class/{classId}/students/page")
+    public ResponseEntity<EnrollmentWithUserPageDTO> getStudentsPage(
+            @PathVariable String classId,
+            @RequestParam(required = false, defaultValue = "false") Boolean activeOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            int size = limit == null
+                    ? EnrollmentService.DEFAULT_PAGE_SIZE
+                    : Math.max(1, Math.min(limit, EnrollmentService.MAX_PAGE_SIZE));
+            List<Enrollment> rows = enrollmentService.getStudentsSlice(classId, activeOnly, cursor, size);
+
+            boolean hasMore = rows.size() > size;
+            List<Enrollment> students = hasMore ? rows.subList(0, size) : rows;
+            String nextCursor = hasMore ? students.get(students.size() - 1).getId() : null;
+            return ResponseEntity.ok(new EnrollmentWithUserPageDTO(withUserDetails(students), nextCursor, hasMore));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get TAs for a class
      * GET /api/enrollments/class/{classId}/tas
@@ -339,4 +351,48 @@ public class EnrollmentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Enrich enrollments with the name, email and picture of each user,
+     * loading only the users on this roster
+     */
+    private List<EnrollmentWithUserDTO> withUserDetails(List<Enrollment> enrollments) {
+        Set<String> userIds = new HashSet<>();
+        for (Enrollment enrollment : enrollments) {
+            userIds.add(enrollment.getUserId());
+        }
+        Map<String, User> userMap = userService.findProfilesByIds(userIds);
+
+        List<EnrollmentWithUserDTO> enriched = new ArrayList<>();
+        for (Enrollment enrollment : enrollments) {
+            EnrollmentWithUserDTO dto = new EnrollmentWithUserDTO();
+            dto.setId(enrollment.getId());
+            dto.setUserId(enrollment.getUserId());
+            dto.setClassId(enrollment.getClassId());
+            dto.setRole(enrollment.getRole());
+            dto.setStatus(enrollment.getStatus());
+            dto.setEnrolledAt(enrollment.getEnrolledAt());
+            dto.setUpdatedAt(enrollment.getUpdatedAt());
+
+            User user = userMap.get(enrollment.getUserId());
+            if (user != null) {
+                // Use name, email may be null/empty for students who joined via join code
+                dto.setUserName(user.getName() != null ? user.getName() : "Unknown Student");
+                dto.setUserEmail(user.getEmail() != null ? user.getEmail() : "");
+                dto.setUserFirstName(user.getFirstName() != null ? user.getFirstName() : "");
+                dto.setUserLastName(user.getLastName() != null ? user.getLastName() : "");
+                dto.setUserPicture(user.getPicture() != null ? user.getPicture() : "");
+            } else {
+                // User not found, use defaults
+                dto.setUserName("Unknown Student");
+                dto.setUserEmail("");
+                dto.setUserFirstName("");
+                dto.setUserLastName("");
+                dto.setUserPicture("");
+            }
+
+            enriched.add(dto);
+        }
+        return enriched;
+    }
 }
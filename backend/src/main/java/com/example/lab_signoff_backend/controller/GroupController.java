@@ -1,10 +1,13 @@
 package com.example.lab_signoff_backend.controller;
 
 import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.SignoffEvent;
 import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
 import com.example.lab_signoff_backend.model.CheckpointUpdate;
 import com.example.lab_signoff_backend.model.enums.SignoffAction;
 import com.example.lab_signoff_backend.repository.GroupRepository;
+import com.example.lab_signoff_backend.service.ScorePublishOutbox;
+import com.example.lab_signoff_backend.service.SignoffEventService;
 import com.example.lab_signoff_backend.websocket.LabWebSocketController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,11 +28,18 @@ public class GroupController {
 
     private final LabWebSocketController wsController;
     private final GroupRepository groupRepository;
+    private final SignoffEventService signoffEventService;
+    private final ScorePublishOutbox scoreOutbox;
 
     @Autowired
-    public GroupController(LabWebSocketController wsController, GroupRepository groupRepository) {
+    public GroupController(LabWebSocketController wsController,
+                           GroupRepository groupRepository,
+                           SignoffEventService signoffEventService,
+                           ScorePublishOutbox scoreOutbox) {
         this.wsController = wsController;
         this.groupRepository = groupRepository;
+        this.signoffEventService = signoffEventService;
+        this.scoreOutbox = scoreOutbox;
     }
 
     @GetMapping
@@ -74,21 +84,27 @@ public class GroupController {
             return ResponseEntity.badRequest().body("Checkpoint not found");
         }
 
+        // Progress and audit event share one timestamp so the projection sees them as the same change
+        Instant now = Instant.now();
         if (completed) {
             target.setStatus(SignoffAction.PASS);
             target.setSignedOffBy(performedBy);
             target.setSignedOffByName(performedBy);
-            target.setTimestamp(Instant.now());
+            target.setTimestamp(now);
             target.setNotes(notes);
         } else {
             target.setStatus(SignoffAction.RETURN);
             target.setSignedOffBy(null);
             target.setSignedOffByName(null);
-            target.setTimestamp(Instant.now());
+            target.setTimestamp(now);
             target.setNotes(notes);
         }
 
+        group.updateTimestamp();
         groupRepository.save(group);
+        recordEvent(group, groupId, checkpointNumber, target.getStatus(), performedBy, notes, now);
+        // Published to the LMS in batches by the outbox worker, not on this request
+        scoreOutbox.enqueueGroup(group.getLabId(), group);
 
         CheckpointUpdate update = new CheckpointUpdate(
                 group.getLabId(),
@@ -98,7 +114,7 @@ public class GroupController {
         );
         update.setSignedOffByName(performedBy);
         update.setNotes(notes);
-        update.setTimestamp(Instant.now());
+        update.setTimestamp(now);
 
         wsController.broadcastCheckpointUpdate(group.getLabId(), update);
 
@@ -121,12 +137,16 @@ public class GroupController {
 
         if (next == null) return ResponseEntity.badRequest().body("All checkpoints already passed");
 
+        Instant now = Instant.now();
         next.setStatus(SignoffAction.PASS);
         next.setSignedOffBy("system");
         next.setSignedOffByName("Auto");
-        next.setTimestamp(Instant.now());
+        next.setTimestamp(now);
 
+        group.updateTimestamp();
         groupRepository.save(group);
+        recordEvent(group, groupId, next.getCheckpointNumber(), SignoffAction.PASS, "system", null, now);
+        scoreOutbox.enqueueGroup(group.getLabId(), group);
 
         CheckpointUpdate update = new CheckpointUpdate(
                 group.getLabId(),
@@ -135,9 +155,22 @@ public class GroupController {
                 "PASS"
         );
         update.setSignedOffByName("Auto");
-        update.setTimestamp(Instant.now());
+        update.setTimestamp(now);
         wsController.broadcastCheckpointUpdate(group.getLabId(), update);
 
         return ResponseEntity.ok("Checkpoint " + next.getCheckpointNumber() + " passed for group " + groupId);
     }
-}
\ No newline at end of file
+
+    private void recordEvent(Group group, String groupId, Integer checkpointNumber, SignoffAction action,
+                             String performedBy, String notes, Instant timestamp) {
+        SignoffEvent event = new SignoffEvent();
+        event.setLabId(group.getLabId());
+        event.setGroupId(groupId);
+        event.setCheckpointNumber(checkpointNumber);
+        event.setAction(action);
+        event.setPerformedBy(performedBy);
+        event.setNotes(notes);
+        event.setTimestamp(timestamp);
+        signoffEventService.createEvent(event);
+    }
+}
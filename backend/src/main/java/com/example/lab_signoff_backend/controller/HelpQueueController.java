@@ -1,12 +1,21 @@
 package com.example.lab_signoff_backend.controller;
 
+import com.example.lab_signoff_backend.cache.ResourceVersions;
 import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.model.enums.HelpQueueStatus;
+import com.example.lab_signoff_backend.service.HelpQueueDispatcher;
 import com.example.lab_signoff_backend.service.HelpQueueService;
+import com.example.lab_signoff_backend.service.HelpQueueWaitEstimator;
+import com.example.lab_signoff_backend.websocket.LabWebSocketController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,9 +29,20 @@ import java.util.Optional;
 @CrossOrigin(origins = "*") // Configure appropriately for production
 public class HelpQueueController {
 
+    private static final Logger logger = LoggerFactory.getLogger(HelpQueueController.class);
+
     @Autowired
     private HelpQueueService helpQueueService;
 
+    @Autowired
+    private ResourceVersions versions;
+
+    @Autowired
+    private LabWebSocketController wsController;
+
+    @Autowired
+    private HelpQueueDispatcher dispatcher;
+
     /**
      * Raise hand - Add a new help request to the queue
      * POST /api/labs/{labId}/queue
@@ -32,23 +52,28 @@ public class HelpQueueController {
     public ResponseEntity<HelpQueueItem> raiseHand(
             @PathVariable String labId,
             @RequestBody Map<String, String> request) {
-        try {
-            String groupId = request.get("groupId");
-            String raisedBy = request.get("raisedBy");
-            String description = request.get("description");
+        String groupId = request.get("groupId");
+        String raisedBy = request.get("raisedBy");
+        String description = request.get("description");
 
-            if (groupId == null || raisedBy == null) {
-                return ResponseEntity.badRequest().build();
-            }
+        if (groupId == null || raisedBy == null) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            HelpQueueItem queueItem = helpQueueService.raiseHand(labId, groupId, raisedBy, description);
-            return ResponseEntity.status(HttpStatus.CREATED).body(queueItem);
+        HelpQueueItem queueItem;
+        try {
+            queueItem = helpQueueService.raiseHand(labId, groupId, raisedBy, description);
         } catch (RuntimeException e) {
             // Group already has active request
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        // The request is saved; notifications must not turn it into an error response
+        broadcast(queueItem, null);
+        dispatch(labId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(queueItem);
     }
 
     /**
@@ -58,8 +83,15 @@ public class HelpQueueController {
     @GetMapping("/labs/{labId}")
     public ResponseEntity<List<HelpQueueItem>> getQueueForLab(
             @PathVariable String labId,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Polled constantly by the TA dashboard; skip the query when nothing changed
+            String etag = versions.etag(ResourceVersions.QUEUE, labId);
+            if (versions.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
             List<HelpQueueItem> queue;
 
             if (status == null || status.isEmpty()) {
@@ -72,7 +104,41 @@ public class HelpQueueController {
                 queue = helpQueueService.getQueueForLab(labId);
             }
 
-            return ResponseEntity.ok(queue);
+            return ResponseEntity.ok().eTag(etag).body(queue);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the request that should be helped next (urgent first, then FIFO)
+     * GET /api/queue/labs/{labId}/next
+     */
+    @GetMapping("/labs/{labId}/next")
+    public ResponseEntity<HelpQueueItem> getNextInQueue(@PathVariable String labId) {
+        try {
+            return helpQueueService.getNextInQueue(labId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.noContent().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the place of a waiting request in its lab's queue
+     * GET /api/queue/labs/{labId}/items/{id}/position
+     */
+    @GetMapping("/labs/{labId}/items/{id}/position")
+    public ResponseEntity<Map<String, Long>> getQueuePosition(
+            @PathVariable String labId,
+            @PathVariable String id) {
+        try {
+            return helpQueueService.getQueuePosition(labId, id)
+                    .map(position -> ResponseEntity.ok(Map.of(
+                            "position", (long) position,
+                            "waiting", helpQueueService.countWaitingItems(labId))))
+                    .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -98,19 +164,22 @@ public class HelpQueueController {
     public ResponseEntity<HelpQueueItem> claimRequest(
             @PathVariable String id,
             @RequestBody Map<String, String> request) {
-        try {
-            String userId = request.get("userId");
-            if (userId == null || userId.isEmpty()) {
-                return ResponseEntity.badRequest().build();
-            }
+        String userId = request.get("userId");
+        if (userId == null || userId.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            HelpQueueItem updated = helpQueueService.claimRequest(id, userId);
-            return ResponseEntity.ok(updated);
+        HelpQueueItem updated;
+        try {
+            updated = helpQueueService.claimRequest(id, userId);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        broadcast(updated, HelpQueueStatus.WAITING);
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -119,14 +188,18 @@ public class HelpQueueController {
      */
     @PutMapping("/{id}/resolve")
     public ResponseEntity<HelpQueueItem> resolveRequest(@PathVariable String id) {
+        HelpQueueItem updated;
         try {
-            HelpQueueItem updated = helpQueueService.resolveRequest(id);
-            return ResponseEntity.ok(updated);
+            updated = helpQueueService.resolveRequest(id);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        broadcast(updated, HelpQueueStatus.CLAIMED);
+        dispatch(updated.getLabId());
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -135,14 +208,18 @@ public class HelpQueueController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<HelpQueueItem> cancelRequest(@PathVariable String id) {
+        HelpQueueItem updated;
         try {
-            HelpQueueItem updated = helpQueueService.cancelRequest(id);
-            return ResponseEntity.ok(updated);
+            updated = helpQueueService.cancelRequest(id);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        broadcast(updated, updated.getClaimedBy() == null ? HelpQueueStatus.WAITING : HelpQueueStatus.CLAIMED);
+        dispatch(updated.getLabId());
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -151,14 +228,17 @@ public class HelpQueueController {
      */
     @PutMapping("/{id}/urgent")
     public ResponseEntity<HelpQueueItem> setUrgent(@PathVariable String id) {
+        HelpQueueItem updated;
         try {
-            HelpQueueItem updated = helpQueueService.setUrgent(id);
-            return ResponseEntity.ok(updated);
+            updated = helpQueueService.setUrgent(id);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+
+        broadcast(updated, updated.getStatus());
+        return ResponseEntity.ok(updated);
     }
 
     /**
@@ -190,25 +270,65 @@ public class HelpQueueController {
     }
 
     /**
-     * Get queue statistics for a lab
+     * Get queue statistics and the wait estimate for a new request
      * GET /api/labs/{labId}/queue/stats
      */
     @GetMapping("/labs/{labId}/stats")
-    public ResponseEntity<Map<String, Long>> getQueueStats(@PathVariable String labId) {
+    public ResponseEntity<Map<String, Object>> getQueueStats(@PathVariable String labId) {
+        try {
+            Map<HelpQueueStatus, Long> counts = helpQueueService.getActiveCounts(labId);
+            long waiting = counts.get(HelpQueueStatus.WAITING);
+            long claimed = counts.get(HelpQueueStatus.CLAIMED);
+            HelpQueueWaitEstimator.Snapshot wait = helpQueueService.getWaitStats(labId);
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("waiting", waiting);
+            stats.put("active", waiting + claimed);
+            stats.put("claimed", claimed);
+            stats.put("activeTas", wait.activeTas());
+            stats.put("averageServiceSeconds", Math.round(wait.serviceSeconds()));
+            stats.put("averageWaitSeconds", wait.waitSeconds() == null ? null : Math.round(wait.waitSeconds()));
+            stats.put("estimatedWaitSeconds", helpQueueService.getEstimatedWaitSecondsForNewRequest(labId, waiting));
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Mark a TA available or unavailable for automatic dispatch
+     * PUT /api/queue/labs/{labId}/tas/{userId}/availability
+     * Body: { "available": true }
+     */
+    @PutMapping("/labs/{labId}/tas/{userId}/availability")
+    public ResponseEntity<Map<String, Object>> setTaAvailability(
+            @PathVariable String labId,
+            @PathVariable String userId,
+            @RequestBody Map<String, Boolean> request) {
+        if (!dispatcher.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        Boolean available = request.get("available");
+        if (available == null) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            long waiting = helpQueueService.countWaitingItems(labId);
-            long active = helpQueueService.countActiveItems(labId);
-
-            return ResponseEntity.ok(Map.of(
-                    "waiting", waiting,
-                    "active", active,
-                    "claimed", active - waiting
-            ));
+            List<String> availableTas = dispatcher.setAvailable(labId, userId, available);
+            return ResponseEntity.ok(Map.of("availableTas", availableTas));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Get the TAs available for automatic dispatch in a lab
+     * GET /api/queue/labs/{labId}/tas/available
+     */
+    @GetMapping("/labs/{labId}/tas/available")
+    public ResponseEntity<List<String>> getAvailableTas(@PathVariable String labId) {
+        return ResponseEntity.ok(dispatcher.getAvailableTas(labId));
+    }
+
     /**
      * Check if a group has an active help request
      * GET /api/labs/{labId}/groups/{groupId}/queue/check
@@ -217,13 +337,13 @@ public class HelpQueueController {
     public ResponseEntity<Map<String, Object>> checkActiveRequest(
             @PathVariable String labId,
             @PathVariable String groupId) {
-        boolean hasActive = helpQueueService.hasActiveRequest(labId, groupId);
+        // One lookup answers both questions
         Optional<HelpQueueItem> activeRequest = helpQueueService.getActiveRequestForGroup(labId, groupId);
 
-        return ResponseEntity.ok(Map.of(
-                "hasActiveRequest", hasActive,
-                "activeRequest", activeRequest.orElse(null)
-        ));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("hasActiveRequest", activeRequest.isPresent());
+        body.put("activeRequest", activeRequest.orElse(null));
+        return ResponseEntity.ok(body);
     }
 
     /**
@@ -239,4 +359,28 @@ public class HelpQueueController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Broadcast a queue change along with the lab's current wait estimate.
+     * Failures are logged; the change itself has already been saved.
+     */
+    private void broadcast(HelpQueueItem item, HelpQueueStatus previousStatus) {
+        try {
+            wsController.broadcastHelpQueueUpdate(item.getLabId(), helpQueueService.buildUpdate(item, previousStatus));
+        } catch (Exception e) {
+            logger.warn("Failed to broadcast help queue update for item {}: {}", item.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Hand waiting requests to available TAs after a queue change.
+     * Failures are logged; the next queue change or availability update retries.
+     */
+    private void dispatch(String labId) {
+        try {
+            dispatcher.dispatch(labId);
+        } catch (Exception e) {
+            logger.warn("Failed to dispatch help queue for lab {}: {}", labId, e.getMessage());
+        }
+    }
 }
@@ -1,14 +1,17 @@
 package com.example.lab_signoff_backend.controller;
 
+import com.example.lab_signoff_backend.cache.ResourceVersions;
 import com.example.lab_signoff_backend.model.Group;
 import com.example.lab_signoff_backend.model.Lab;
 import com.example.lab_signoff_backend.model.SignoffEvent;
 import com.example.lab_signoff_backend.model.enums.GroupStatus;
 import com.example.lab_signoff_backend.service.GroupService;
 import com.example.lab_signoff_backend.service.LabService;
+import com.example.lab_signoff_backend.service.ScorePublishOutbox;
 import com.example.lab_signoff_backend.service.SignoffEventService;
 import com.example.lab_signoff_backend.websocket.LabWebSocketController;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,16 +28,22 @@ public class LabController {
     private final GroupService groupService;
     private final SignoffEventService signoffEventService;
     private final LabWebSocketController wsController;
+    private final ResourceVersions versions;
+    private final ScorePublishOutbox scoreOutbox;
 
     @Autowired
     public LabController(LabService labService,
                          GroupService groupService,
                          SignoffEventService signoffEventService,
-                         LabWebSocketController wsController) {
+                         LabWebSocketController wsController,
+                         ResourceVersions versions,
+                         ScorePublishOutbox scoreOutbox) {
         this.labService = labService;
         this.groupService = groupService;
         this.signoffEventService = signoffEventService;
         this.wsController = wsController;
+        this.versions = versions;
+        this.scoreOutbox = scoreOutbox;
     }
 
     @GetMapping("/labs")
@@ -43,18 +52,25 @@ public class LabController {
     }
 
     @GetMapping("/labs/{id}/groups")
-    public ResponseEntity<?> getGroupsByLabId(@PathVariable String id) {
+    public ResponseEntity<?> getGroupsByLabId(@PathVariable String id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         if (id == null || id.trim().isEmpty()) {
             return ResponseEntity.badRequest().body("Lab ID cannot be empty");
         }
 
+        // Read the version before querying so a concurrent write can only make the tag stale, never wrong
+        String etag = versions.etag(ResourceVersions.GROUPS, id, ResourceVersions.LAB, id);
+        if (versions.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         if (!labService.labExists(id)) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Lab with ID " + id + " not found");
         }
 
         List<Group> groups = groupService.getGroupsByLabId(id);
-        return ResponseEntity.ok(groups);
+        return ResponseEntity.ok().eTag(etag).body(groups);
     }
 
     @PostMapping("/labs/{labId}/groups/{groupId}/pass")
@@ -147,6 +163,22 @@ public class LabController {
         return ResponseEntity.ok(new PassReturnResponse(group, event, "Group successfully marked as returned"));
     }
 
+    /**
+     * Queue every student's current score in a lab for publishing to the LMS,
+     * e.g. when the lab closes. Scores go out in batches from the outbox.
+     */
+    @PostMapping("/labs/{labId}/publish-scores")
+    public ResponseEntity<?> publishScores(@PathVariable String labId) {
+        if (!scoreOutbox.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Score publishing is disabled");
+        }
+        if (!labService.labExists(labId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Lab with ID " + labId + " not found");
+        }
+        return ResponseEntity.accepted().body(Map.of("queued", scoreOutbox.enqueueLab(labId)));
+    }
+
     /**
      * Randomize groups for a lab based on enrolled students.
      * Deletes existing groups and creates new randomized groups.
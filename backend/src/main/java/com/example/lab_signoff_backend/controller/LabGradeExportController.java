@@ -1,6 +1,9 @@
 package com.example.lab_signoff_backend.controller;
 
+import com.example.lab_signoff_backend.cache.ResourceVersions;
+import com.example.lab_signoff_backend.service.LabGradeExportCache;
 import com.example.lab_signoff_backend.service.LabGradeExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ContentDisposition;
@@ -11,10 +14,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.NoSuchElementException;
 
 /**
@@ -34,41 +43,100 @@ import java.util.NoSuchElementException;
 public class LabGradeExportController {
 
     private static final Logger log = LoggerFactory.getLogger(LabGradeExportController.class);
+
+    // Tomcat request attributes for handing a file to the connector's sendfile support
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final LabGradeExportService exportService;
+    private final LabGradeExportCache exportCache;
 
-    public LabGradeExportController(LabGradeExportService exportService) {
+    public LabGradeExportController(LabGradeExportService exportService, LabGradeExportCache exportCache) {
         this.exportService = exportService;
+        this.exportCache = exportCache;
     }
 
     /**
      * Generate and download a Canvas-compatible CSV for a single lab.
+     * With the export cache enabled, an unchanged export is served from disk
+     * (zero-copy where the connector supports it) and honours If-None-Match.
      */
     @GetMapping("/{labId}/grades/export")
-    public ResponseEntity<byte[]> exportLabGrades(@PathVariable String labId) {
+    public ResponseEntity<StreamingResponseBody> exportLabGrades(
+            @PathVariable String labId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request) {
         try {
-            LabGradeExportService.ExportResult result = exportService.generateCsv(labId);
+            if (exportCache.isEnabled()) {
+                return serveCached(exportCache.get(labId), ifNoneMatch, request);
+            }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("text/csv"));
-            headers.setContentDisposition(ContentDisposition.attachment()
-                    .filename(result.getFileName())
-                    .build());
+            LabGradeExportService.ExportResult result = exportService.generateCsv(labId);
+            HttpHeaders headers = downloadHeaders(result.getFileName());
             headers.setCacheControl("no-cache, no-store, must-revalidate");
             headers.setPragma("no-cache");
             headers.setExpires(0);
 
-            return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
+            byte[] content = result.getContent();
+            return new ResponseEntity<>(out -> out.write(content), headers, HttpStatus.OK);
         } catch (NoSuchElementException notFound) {
             log.warn("Lab export not found for {}: {}", labId, notFound.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .body(notFound.getMessage().getBytes(StandardCharsets.UTF_8));
+            return text(HttpStatus.NOT_FOUND, notFound.getMessage());
         } catch (Exception ex) {
             log.error("Failed to generate CSV for lab {}", labId, ex);
-            String message = "There was a problem generating the CSV. Please try again or contact support.";
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .body(message.getBytes(StandardCharsets.UTF_8));
+            return text(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "There was a problem generating the CSV. Please try again or contact support.");
         }
     }
+
+    private ResponseEntity<StreamingResponseBody> serveCached(LabGradeExportCache.CachedExport export,
+                                                              String ifNoneMatch,
+                                                              HttpServletRequest request) {
+        String etag = "\"" + export.version() + "\"";
+        if (ResourceVersions.matches(ifNoneMatch, export.version())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        HttpHeaders headers = downloadHeaders(export.fileName());
+        // Revalidate every time; the ETag makes an unchanged export a 304
+        headers.setCacheControl("no-cache");
+        headers.setETag(etag);
+        headers.setContentLength(export.size());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, export.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, export.size());
+            return new ResponseEntity<>(headers, HttpStatus.OK);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (FileChannel file = FileChannel.open(export.file(), StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                while (position < export.size()) {
+                    position += file.transferTo(position, export.size() - position, target);
+                }
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private static HttpHeaders downloadHeaders(String fileName) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(fileName)
+                .build());
+        return headers;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> text(HttpStatus status, String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(bytes));
+    }
 }
@@ -6,6 +6,7 @@ import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
 import com.example.lab_signoff_backend.model.CheckpointUpdate;
 import com.example.lab_signoff_backend.model.enums.SignoffAction;
 import com.example.lab_signoff_backend.repository.GroupRepository;
+import com.example.lab_signoff_backend.service.ScorePublishOutbox;
 import com.example.lab_signoff_backend.service.SignoffEventService;
 import com.example.lab_signoff_backend.websocket.LabWebSocketController;
 import org.slf4j.Logger;
@@ -31,14 +32,17 @@ public class LabGroupController {
     private final GroupRepository groupRepository;
     private final SignoffEventService signoffEventService;
     private final LabWebSocketController wsController;
+    private final ScorePublishOutbox scoreOutbox;
 
     @Autowired
     public LabGroupController(GroupRepository groupRepository,
                               SignoffEventService signoffEventService,
-                              LabWebSocketController wsController) {
+                              LabWebSocketController wsController,
+                              ScorePublishOutbox scoreOutbox) {
         this.groupRepository = groupRepository;
         this.signoffEventService = signoffEventService;
         this.wsController = wsController;
+        this.scoreOutbox = scoreOutbox;
     }
 
     @PostMapping("/{groupId}/pass")
@@ -79,12 +83,15 @@ public class LabGroupController {
                 return ResponseEntity.badRequest().body("Checkpoint not found");
             }
 
+            // Progress and audit event share one timestamp so the projection sees them as the same change
+            Instant now = Instant.now();
             target.setStatus(SignoffAction.PASS);
             target.setSignedOffBy(performedBy);
             target.setSignedOffByName(performedBy);
-            target.setTimestamp(Instant.now());
+            target.setTimestamp(now);
             target.setNotes(notes);
 
+            group.updateTimestamp();
             groupRepository.save(group);
 
             SignoffEvent event = new SignoffEvent();
@@ -93,10 +100,12 @@ public class LabGroupController {
             event.setCheckpointNumber(checkpointNumber);
             event.setAction(SignoffAction.PASS);
             event.setPerformedBy(performedBy);
-            event.setTimestamp(Instant.now());
+            event.setTimestamp(now);
             event.setNotes(notes);
 
             SignoffEvent savedEvent = signoffEventService.createEvent(event);
+            // Published to the LMS in batches by the outbox worker, not on this request
+            scoreOutbox.enqueueGroup(labId, group);
 
             CheckpointUpdate update = new CheckpointUpdate(labId, groupId, checkpointNumber, "PASS");
             update.setSignedOffByName(performedBy);
@@ -151,12 +160,14 @@ if (groupOpt.isEmpty()) {
                 return ResponseEntity.badRequest().body("Checkpoint not found");
             }
 
+            Instant now = Instant.now();
             target.setStatus(SignoffAction.RETURN);
             target.setSignedOffBy(null);
             target.setSignedOffByName(null);
-            target.setTimestamp(Instant.now());
+            target.setTimestamp(now);
             target.setNotes(notes);
 
+            group.updateTimestamp();
             groupRepository.save(group);
 
             SignoffEvent event = new SignoffEvent();
@@ -165,10 +176,12 @@ if (groupOpt.isEmpty()) {
             event.setCheckpointNumber(checkpointNumber);
             event.setAction(SignoffAction.RETURN);
             event.setPerformedBy(performedBy);
-            event.setTimestamp(Instant.now());
+            event.setTimestamp(now);
             event.setNotes(notes);
 
             SignoffEvent savedEvent = signoffEventService.createEvent(event);
+            // Published to the LMS in batches by the outbox worker, not on this request
+            scoreOutbox.enqueueGroup(labId, group);
 
             CheckpointUpdate update = new CheckpointUpdate(labId, groupId, checkpointNumber, "RETURN");
             update.setSignedOffByName(performedBy);
@@ -1,5 +1,6 @@
 package com.example.lab_signoff_backend.controller;
 
+import com.example.lab_signoff_backend.cache.ResourceVersions;
 import com.example.lab_signoff_backend.model.Class;
 import com.example.lab_signoff_backend.model.Group;
 import com.example.lab_signoff_backend.model.Lab;
@@ -11,6 +12,7 @@ import com.example.lab_signoff_backend.service.ClassService;
 import com.example.lab_signoff_backend.service.GroupService;
 import com.example.lab_signoff_backend.service.LabService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -47,16 +50,19 @@ public class LabJoinController {
     private final LabService labService;
     private final ClassService classService;
     private final GroupService groupService;
+    private final ResourceVersions versions;
 
     @Autowired
     public LabJoinController(
             LabService labService,
             ClassService classService,
-            GroupService groupService
+            GroupService groupService,
+            ResourceVersions versions
     ) {
         this.labService = labService;
         this.classService = classService;
         this.groupService = groupService;
+        this.versions = versions;
     }
 
     /**
@@ -132,7 +138,10 @@ public class LabJoinController {
      * Fetch a lab's detail (title, checkpoints, roster metadata) for student view refreshes.
      */
     @GetMapping("/{labId}")
-    public ResponseEntity<?> getLabDetail(@PathVariable String labId) {
+    public ResponseEntity<?> getLabDetail(
+            @PathVariable String labId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         if (!StringUtils.hasText(labId)) {
             return ResponseEntity.badRequest().body(Map.of("error", "Lab ID is required"));
         }
@@ -143,14 +152,20 @@ public class LabJoinController {
                     .body(Map.of("error", "Lab not found"));
         }
 
+        // The response embeds the class, so the tag covers both documents
         Lab lab = labOpt.get();
+        String etag = versions.etag(ResourceVersions.LAB, labId, ResourceVersions.CLASS, lab.getClassId());
+        if (versions.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         Optional<Class> classOpt = classService.getClassById(lab.getClassId());
         if (classOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "Class for lab not found"));
         }
 
-        return ResponseEntity.ok(buildLabResponse(lab, classOpt.get()));
+        return ResponseEntity.ok().eTag(etag).body(buildLabResponse(lab, classOpt.get()));
     }
 
     /**
@@ -0,0 +1,63 @@
+package com.example.lab_signoff_backend.controller;
+
+import com.example.lab_signoff_backend.dto.GroupProgressReportDTO;
+import com.example.lab_signoff_backend.service.GroupProgressProjection;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for maintaining read models projected from the signoff event log.
+ * Run verify first: rebuild rewrites every divergent checkpoint to match its latest event.
+ */
+@RestController
+@RequestMapping("/api/projections/group-progress")
+public class ProjectionController {
+
+    private final GroupProgressProjection groupProgressProjection;
+
+    public ProjectionController(GroupProgressProjection groupProgressProjection) {
+        this.groupProgressProjection = groupProgressProjection;
+    }
+
+    /**
+     * Report checkpoints whose stored progress disagrees with the event log
+     * GET /api/projections/group-progress/verify?labId=...
+     */
+    @GetMapping("/verify")
+    public ResponseEntity<GroupProgressReportDTO> verify(@RequestParam(required = false) String labId) {
+        try {
+            return ResponseEntity.ok(groupProgressProjection.verify(labId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Repair divergent checkpoints from the event log (all labs in parallel when labId is omitted)
+     * POST /api/projections/group-progress/rebuild?labId=...
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<GroupProgressReportDTO> rebuild(@RequestParam(required = false) String labId) {
+        try {
+            return ResponseEntity.ok(groupProgressProjection.rebuild(labId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Fold any events past the watermark right away instead of waiting for the schedule
+     * POST /api/projections/group-progress/catch-up
+     */
+    @PostMapping("/catch-up")
+    public ResponseEntity<Map<String, Integer>> catchUp() {
+        try {
+            return ResponseEntity.ok(Map.of("eventsRead", groupProgressProjection.catchUp()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
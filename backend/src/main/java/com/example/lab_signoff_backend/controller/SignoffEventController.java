@@ -0,0 +1,198 @@
+package com.example.lab_signoff_backend.controller;
+
+import com.example.lab_signoff_backend.dto.SignoffEventPageDTO;
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import com.example.lab_signoff_backend.service.SignoffEventService;
+import com.example.lab_signoff_backend.service.SignoffEventTimeSeriesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * REST Controller for the signoff audit log.
+ * All list endpoints are cursor-paged: pass the returned {@code nextCursor}
+ * back as {@code cursor} to fetch the following page.
+ */
+@RestController
+@RequestMapping("/api/signoff-events")
+@CrossOrigin(
+        origins = {
+                "http://localhost:5173",
+                "http://localhost:5002",
+                "https://lab-signoff-app.web.app",
+                "https://lab-signoff-app.firebaseapp.com"
+        },
+        allowCredentials = "true"
+)
+public class SignoffEventController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final SignoffEventService signoffEventService;
+    private final SignoffEventTimeSeriesService timeSeriesService;
+    private final ObjectMapper objectMapper;
+
+    public SignoffEventController(SignoffEventService signoffEventService,
+                                  SignoffEventTimeSeriesService timeSeriesService,
+                                  ObjectMapper objectMapper) {
+        this.signoffEventService = signoffEventService;
+        this.timeSeriesService = timeSeriesService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Page through events, optionally filtered by time range or action
+     * GET /api/signoff-events?start=...&end=...&action=PASS&cursor=...&limit=50
+     */
+    @GetMapping
+    public ResponseEntity<SignoffEventPageDTO> getEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (start != null && end != null) {
+                return ResponseEntity.ok(signoffEventService.getEventsByTimeRange(start, end, cursor, limit));
+            }
+            if (action != null) {
+                return ResponseEntity.ok(signoffEventService.getEventsByAction(action.toUpperCase(), cursor, limit));
+            }
+            return ResponseEntity.ok(signoffEventService.getAllEvents(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor or unknown action
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Page through events for a lab, optionally for a single group
+     * GET /api/signoff-events/labs/{labId}?groupId=...&cursor=...&limit=50
+     */
+    @GetMapping("/labs/{labId}")
+    public ResponseEntity<SignoffEventPageDTO> getEventsByLab(
+            @PathVariable String labId,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            SignoffEventPageDTO page = groupId == null
+                    ? signoffEventService.getEventsByLabId(labId, cursor, limit)
+                    : signoffEventService.getEventsByLabIdAndGroupId(labId, groupId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Count events for a lab
+     * GET /api/signoff-events/labs/{labId}/count
+     */
+    @GetMapping("/labs/{labId}/count")
+    public ResponseEntity<Map<String, Long>> countEventsByLab(@PathVariable String labId) {
+        return ResponseEntity.ok(Map.of("count", signoffEventService.countEventsByLabId(labId)));
+    }
+
+    /**
+     * Page through events for a group
+     * GET /api/signoff-events/groups/{groupId}?cursor=...&limit=50
+     */
+    @GetMapping("/groups/{groupId}")
+    public ResponseEntity<SignoffEventPageDTO> getEventsByGroup(
+            @PathVariable String groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(signoffEventService.getEventsByGroupId(groupId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Page through events performed by a user
+     * GET /api/signoff-events/performers/{performedBy}?cursor=...&limit=50
+     */
+    @GetMapping("/performers/{performedBy}")
+    public ResponseEntity<SignoffEventPageDTO> getEventsByPerformer(
+            @PathVariable String performedBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(signoffEventService.getEventsByPerformedBy(performedBy, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Delete a single event
+     * DELETE /api/signoff-events/{id}
+     * 409 when events are stored in a time-series collection, which is append-only
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> deleteEvent(@PathVariable String id) {
+        if (signoffEventService.getEventById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            signoffEventService.deleteEvent(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Export the audit log as newline-delimited JSON, streamed from a database cursor
+     * GET /api/signoff-events/export?labId=...
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestParam(required = false) String labId) {
+        String fileName = (labId == null ? "signoff-events" : "signoff-events-" + labId) + ".ndjson";
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try (Stream<SignoffEvent> events = signoffEventService.streamEvents(labId)) {
+                Iterator<SignoffEvent> iterator = events.iterator();
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    /**
+     * Copy the standard signoff_events collection into the time-series collection (resumable)
+     * POST /api/signoff-events/storage/time-series/migrate
+     */
+    @PostMapping("/storage/time-series/migrate")
+    public ResponseEntity<Map<String, Object>> migrateToTimeSeries() {
+        try {
+            return ResponseEntity.ok(timeSeriesService.migrate());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+}
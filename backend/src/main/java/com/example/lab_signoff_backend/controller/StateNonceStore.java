@@ -1,12 +1,14 @@
 package com.example.lab_signoff_backend.controller;
 
-import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.exceptions.JedisDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -17,21 +19,22 @@ import org.springframework.stereotype.Component;
  * during the LTI authentication process. State values are generated and stored
  * with their associated nonce, then consumed (deleted) upon validation.
  *
+ * The value is the bare nonce; the Redis TTL is the only expiry. Consuming a
+ * state is a single {@code GETDEL}, so it costs one round trip and two
+ * launches presenting the same state can never both receive the nonce. On
+ * Redis servers older than 6.2 the same is done with a pipelined
+ * {@code MULTI/GET/DEL/EXEC}.
+ *
  * @author Lab Signoff App Team
  * @version 1.0
  */
 @Component
 public class StateNonceStore {
-    /**
-     * Internal record for storing nonce and expiration data.
-     *
-     * @param nonce The nonce value
-     * @param exp   The expiration timestamp
-     */
-    record Entry(String nonce, Instant exp) {}
+    private static final Logger log = LoggerFactory.getLogger(StateNonceStore.class);
+    private static final int TTL_SECONDS = 300;
 
     private final JedisPool jedisPool;
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile boolean getDelSupported = true;
 
     /**
      * Constructor for StateNonceStore.
@@ -51,16 +54,11 @@ public class StateNonceStore {
      *
      * @param nonce The nonce to associate with the state
      * @return The generated state value
-     * @throws RuntimeException if serialization fails
      */
     public String issueState(String nonce) {
         String state = UUID.randomUUID().toString();
-        Entry entry = new Entry(nonce, Instant.now().plusSeconds(300));
         try (Jedis jedis = jedisPool.getResource()) {
-            String entryJson = objectMapper.writeValueAsString(entry);
-            jedis.setex("state:" + state, 300, entryJson); // 300 seconds TTL
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize entry", e);
+            jedis.setex(key(state), TTL_SECONDS, nonce);
         }
         return state;
     }
@@ -68,29 +66,38 @@ public class StateNonceStore {
     /**
      * Consumes a state value and returns its associated nonce if valid.
      *
-     * Retrieves the nonce associated with the given state value, validates
-     * that it hasn't expired, and deletes the entry from Redis (preventing reuse).
+     * Atomically reads and deletes the entry, so a state can be used at most
+     * once; an expired state is already gone from Redis.
      *
      * @param state The state value to consume
      * @return Optional containing the nonce if valid, empty otherwise
      */
     public Optional<String> consumeNonce(String state) {
-        String key = "state:" + state;
         try (Jedis jedis = jedisPool.getResource()) {
-            String entryJson = jedis.get(key);
-            if (entryJson == null) return Optional.empty();
+            return Optional.ofNullable(take(jedis, key(state)));
+        }
+    }
+
+    private String take(Jedis jedis, String key) {
+        if (getDelSupported) {
             try {
-                Entry entry = objectMapper.readValue(entryJson, Entry.class);
-                if (Instant.now().isAfter(entry.exp())) {
-                    jedis.del(key);
-                    return Optional.empty();
+                return jedis.getDel(key);
+            } catch (JedisDataException e) {
+                if (e.getMessage() == null || !e.getMessage().toLowerCase().contains("unknown command")) {
+                    throw e;
                 }
-                jedis.del(key);
-                return Optional.of(entry.nonce());
-            } catch (Exception e) {
-                jedis.del(key);
-                return Optional.empty();
+                getDelSupported = false;
+                log.info("Redis does not support GETDEL; consuming LTI state with MULTI/GET/DEL instead");
             }
         }
+        Transaction tx = jedis.multi();
+        Response<String> value = tx.get(key);
+        tx.del(key);
+        tx.exec();
+        return value.get();
+    }
+
+    private static String key(String state) {
+        return "state:" + state;
     }
 }
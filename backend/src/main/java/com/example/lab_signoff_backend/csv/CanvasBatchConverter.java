@@ -0,0 +1,167 @@
+package com.example.lab_signoff_backend.csv;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Converts a batch of Canvas gradebook exports in parallel.
+ *
+ * Each file is converted on its own virtual thread: it is read once into a
+ * {@link GradebookMatrix} and written from there as a normalized (long) and a
+ * wide CSV, so scores are rounded to hundredths. A semaphore caps how many
+ * files are in flight at once. A failing file is reported
+ * in its {@link FileResult} and does not stop the others, so the batch takes
+ * about as long as its largest file.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public class CanvasBatchConverter {
+
+    private final CanvasLabsImporter importer = new CanvasLabsImporter();
+    private final NormalizedLabsExporter normalizedExporter = new NormalizedLabsExporter();
+    private final WideWithPointsExporter wideExporter = new WideWithPointsExporter();
+    private final int maxConcurrentFiles;
+
+    /**
+     * @param maxConcurrentFiles Files converted at the same time (at least 1)
+     */
+    public CanvasBatchConverter(int maxConcurrentFiles) {
+        this.maxConcurrentFiles = Math.max(1, maxConcurrentFiles);
+    }
+
+    /**
+     * Called as each file finishes, from the converting thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onFileDone(FileResult result, int completed, int total);
+    }
+
+    /**
+     * Outcome of one export.
+     *
+     * @param source     The input file
+     * @param normalized Normalized output, null on failure
+     * @param wide       Wide output, null on failure
+     * @param rows       Student x lab rows written
+     * @param elapsed    Wall time spent on this file
+     * @param error      Failure message, null on success
+     */
+    public record FileResult(Path source, Path normalized, Path wide, long rows, Duration elapsed, String error) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Outcome of a whole batch.
+     *
+     * @param files   Per-file results in input order
+     * @param rows    Rows written across all files
+     * @param elapsed Wall time for the batch
+     */
+    public record Summary(List<FileResult> files, long rows, Duration elapsed) {
+        public long failed() {
+            return files.stream().filter(f -> !f.succeeded()).count();
+        }
+
+        public double rowsPerSecond() {
+            double seconds = elapsed.toNanos() / 1e9;
+            return seconds > 0 ? rows / seconds : rows;
+        }
+    }
+
+    /**
+     * Convert every {@code *.csv} directly inside a directory.
+     */
+    public Summary convertDirectory(Path inputDir, Path outputDir, ProgressListener listener) throws IOException {
+        List<Path> inputs;
+        try (Stream<Path> files = Files.list(inputDir)) {
+            inputs = files.filter(Files::isRegularFile)
+                    .filter(f -> f.getFileName().toString().toLowerCase().endsWith(".csv"))
+                    .sorted()
+                    .toList();
+        }
+        return convert(inputs, outputDir, listener);
+    }
+
+    /**
+     * Convert the given exports, writing {@code <name>.normalized.csv} and
+     * {@code <name>.wide.csv} for each into the output directory.
+     */
+    public Summary convert(List<Path> inputs, Path outputDir, ProgressListener listener) throws IOException {
+        Files.createDirectories(outputDir);
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(maxConcurrentFiles);
+        AtomicInteger completed = new AtomicInteger();
+        LongAdder totalRows = new LongAdder();
+
+        List<Future<FileResult>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path input : inputs) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    FileResult result;
+                    try {
+                        result = convertOne(input, outputDir);
+                    } finally {
+                        permits.release();
+                    }
+                    totalRows.add(result.rows());
+                    if (listener != null) {
+                        listener.onFileDone(result, completed.incrementAndGet(), inputs.size());
+                    }
+                    return result;
+                }));
+            }
+        } // close() waits for every file
+
+        List<FileResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(resultOf(futures.get(i), inputs.get(i)));
+        }
+        return new Summary(List.copyOf(results), totalRows.sum(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private FileResult convertOne(Path input, Path outputDir) {
+        long start = System.nanoTime();
+        String name = input.getFileName().toString().replaceFirst("(?i)\\.csv$", "");
+        Path normalized = outputDir.resolve(name + ".normalized.csv");
+        Path wide = outputDir.resolve(name + ".wide.csv");
+        try {
+            GradebookMatrix matrix = importer.matrix(input);
+            normalizedExporter.export(normalized, matrix);
+            wideExporter.export(wide, matrix);
+            long rows = (long) matrix.studentCount() * matrix.labCount();
+            return new FileResult(input, normalized, wide, rows, Duration.ofNanos(System.nanoTime() - start), null);
+        } catch (IOException | RuntimeException e) {
+            return new FileResult(input, null, null, 0, Duration.ofNanos(System.nanoTime() - start),
+                    e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static FileResult resultOf(Future<FileResult> future, Path input) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // Only a failing listener gets here; conversion errors are already captured
+            return new FileResult(input, null, null, 0, Duration.ZERO, String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new FileResult(input, null, null, 0, Duration.ZERO, "Interrupted");
+        }
+    }
+}
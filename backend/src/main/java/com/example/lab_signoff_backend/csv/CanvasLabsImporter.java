@@ -6,11 +6,13 @@ import org.apache.commons.csv.CSVRecord;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class CanvasLabsImporter {
 private static final Pattern LAB_COL = Pattern.compile("^Laboratory\\s+.*\\(\\d+\\)$");
@@ -19,6 +21,9 @@ private static final Pattern LAB_COL = Pattern.compile("^Laboratory\\s+.*\\(\\d+
       String student, String studentId, String labTitle,
       BigDecimal score, BigDecimal pointsPossible) {}
 
+  /** Lab columns and "Points Possible" values, known before any student row is emitted. */
+  public record Header(List<String> labColumns, Map<String, BigDecimal> pointsPossibleMap) {}
+
   public static class Result {
     public final List<StudentLabScore> rows;
     public final List<String> labColumns;                    // all labs detected
@@ -29,56 +34,131 @@ private static final Pattern LAB_COL = Pattern.compile("^Laboratory\\s+.*\\(\\d+
     }
   }
 
+  /** Materialize every student × lab row; prefer {@link #stream} for large gradebooks. */
   public Result normalize(Path csvPath) throws IOException {
-    // Parse once, keep all records
-    List<CSVRecord> all;
-    List<String> headers;
-    try (Reader reader = Files.newBufferedReader(csvPath)) {
-      CSVParser p = CSVFormat.RFC4180.builder()
-          .setHeader()
-          .setSkipHeaderRecord(true)
-          .setTrim(true)
-          .setIgnoreEmptyLines(true)
-          .get()
-          .parse(reader);
-      headers = p.getHeaderNames();
-      all = p.getRecords();
+    Header header = readHeader(csvPath);
+    try (Stream<StudentLabScore> rows = stream(csvPath, header)) {
+      return new Result(rows.toList(), header.labColumns(), header.pointsPossibleMap());
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
     }
+  }
 
-    // Detect lab columns
-    List<String> labs = headers.stream().filter(h -> LAB_COL.matcher(h).matches()).toList();
+  /**
+   * First pass: read the header and stop at the "Points Possible" row
+   * (Canvas writes it right after the header), keeping no student records.
+   */
+  public Header readHeader(Path csvPath) throws IOException {
+    try (Reader reader = Files.newBufferedReader(csvPath);
+         CSVParser p = parser(reader)) {
+      // Detect lab columns
+      List<String> labs = p.getHeaderNames().stream().filter(h -> LAB_COL.matcher(h).matches()).toList();
 
-    // Collect “Points Possible”
-    Map<String, BigDecimal> pp = new HashMap<>();
-    for (CSVRecord r : all) {
-      if ("Points Possible".equalsIgnoreCase(get(r, "Student"))) {
-        for (String lab : labs) pp.put(lab, dec(get(r, lab)));
-        break;
+      // Collect “Points Possible”
+      Map<String, BigDecimal> pp = new HashMap<>();
+      for (CSVRecord r : p) {
+        if ("Points Possible".equalsIgnoreCase(get(r, "Student"))) {
+          for (String lab : labs) pp.put(lab, dec(get(r, lab)));
+          break;
+        }
       }
+      return new Header(labs, pp);
+    }
+  }
+
+  /**
+   * Second pass: emit EVERY student × lab lazily, even when the score is blank.
+   * Rows of one student are adjacent. The stream holds the file open; close it.
+   * Read errors surface as {@link UncheckedIOException}.
+   */
+  public Stream<StudentLabScore> stream(Path csvPath, Header header) throws IOException {
+    Reader reader = Files.newBufferedReader(csvPath);
+    CSVParser p;
+    try {
+      p = parser(reader);
+    } catch (IOException | RuntimeException e) {
+      reader.close();
+      throw e;
     }
+    return p.stream()
+        .flatMap(r -> rowsOf(r, header))
+        .onClose(() -> {
+          try { p.close(); } catch (IOException e) { throw new UncheckedIOException(e); }
+        });
+  }
+
+  /** Both passes in one call. */
+  public Stream<StudentLabScore> stream(Path csvPath) throws IOException {
+    return stream(csvPath, readHeader(csvPath));
+  }
 
-    // Emit EVERY student × lab, even when score is blank
-    List<StudentLabScore> out = new ArrayList<>();
-    for (CSVRecord r : all) {
-      String student = get(r, "Student");
-      if (student.equalsIgnoreCase("Points Possible")) continue;
+  /**
+   * Single pass into a {@link GradebookMatrix}: scores land in a flat array of
+   * hundredths and no per-cell objects are created.
+   */
+  public GradebookMatrix matrix(Path csvPath) throws IOException {
+    try (Reader reader = Files.newBufferedReader(csvPath);
+         CSVParser p = parser(reader)) {
+      List<String> headers = p.getHeaderNames();
+      List<String> labs = headers.stream().filter(h -> LAB_COL.matcher(h).matches()).toList();
+      int[] labIndex = labs.stream().mapToInt(headers::indexOf).toArray();
 
-      String id = firstNonBlank(get(r,"ID"), get(r,"SIS User ID"), get(r,"SIS Login ID"));
-      // skip truly empty rows
-      if (isBlank(student) && isBlank(id)) continue;
+      GradebookMatrix matrix = new GradebookMatrix(labs, 64);
+      long[] parsed = new long[1];
+      boolean pointsSeen = false;
+      for (CSVRecord r : p) {
+        String student = get(r, "Student");
+        if (student.equalsIgnoreCase("Points Possible")) {
+          if (!pointsSeen) {
+            for (int l = 0; l < labIndex.length; l++) {
+              if (GradebookMatrix.parseHundredths(cell(r, labIndex[l]), parsed)) matrix.setPointsPossible(l, parsed[0]);
+            }
+            pointsSeen = true;
+          }
+          continue;
+        }
 
-      for (String lab : labs) {
-        BigDecimal score = dec(get(r, lab)); // may be null
-        out.add(new StudentLabScore(student, id, lab, score, pp.get(lab)));
+        String id = firstNonBlank(get(r,"ID"), get(r,"SIS User ID"), get(r,"SIS Login ID"));
+        // skip truly empty rows
+        if (isBlank(student) && isBlank(id)) continue;
+
+        int row = matrix.addStudent(student, id);
+        for (int l = 0; l < labIndex.length; l++) {
+          if (GradebookMatrix.parseHundredths(cell(r, labIndex[l]), parsed)) matrix.set(row, l, parsed[0]);
+        }
       }
+      return matrix;
     }
+  }
+
+  private static Stream<StudentLabScore> rowsOf(CSVRecord r, Header header) {
+    String student = get(r, "Student");
+    if (student.equalsIgnoreCase("Points Possible")) return Stream.empty();
+
+    String id = firstNonBlank(get(r,"ID"), get(r,"SIS User ID"), get(r,"SIS Login ID"));
+    // skip truly empty rows
+    if (isBlank(student) && isBlank(id)) return Stream.empty();
 
-    return new Result(out, labs, pp);
+    return header.labColumns().stream()
+        .map(lab -> new StudentLabScore(student, id, lab, dec(get(r, lab)), header.pointsPossibleMap().get(lab)));
+  }
+
+  private static CSVParser parser(Reader reader) throws IOException {
+    return CSVFormat.RFC4180.builder()
+        .setHeader()
+        .setSkipHeaderRecord(true)
+        .setTrim(true)
+        .setIgnoreEmptyLines(true)
+        .get()
+        .parse(reader);
   }
 
   // helpers
   private static String get(CSVRecord r, String col) {
-    return (r != null && r.isMapped(col) && r.get(col) != null) ? r.get(col).trim() : "";
+    return (r != null && r.isMapped(col) && r.isSet(col) && r.get(col) != null) ? r.get(col).trim() : "";
+  }
+  private static String cell(CSVRecord r, int index) {
+    return index < r.size() ? r.get(index) : null;
   }
   private static boolean isBlank(String s){ return s==null || s.isBlank(); }
   private static String firstNonBlank(String... vals) {
@@ -90,4 +170,4 @@ private static final Pattern LAB_COL = Pattern.compile("^Laboratory\\s+.*\\(\\d+
     return "";
   }
   private static BigDecimal dec(String s){ if (isBlank(s)) return null; try { return new BigDecimal(s); } catch(Exception e){ return null; } }
-}
\ No newline at end of file
+}
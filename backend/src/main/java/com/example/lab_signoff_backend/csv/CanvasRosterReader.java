@@ -0,0 +1,151 @@
+package com.example.lab_signoff_backend.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming reader for Canvas gradebook exports used to seed a class.
+ *
+ * Records are consumed one at a time as the parser reads them; only the
+ * distinct student names, the lab columns and the "Points Possible" values
+ * are kept, so memory grows with the roster rather than with the file.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public class CanvasRosterReader {
+
+    // Lab assignments look like "Laboratory for Module 01 (9601577)"
+    private static final Pattern LAB_COLUMN = Pattern.compile("Laboratory for (.+?)\\s*\\((\\d+)\\)");
+    // Canvas puts Student, ID, SIS User ID and Section before the assignment columns
+    private static final int FIRST_ASSIGNMENT_COLUMN = 4;
+    private static final int DEFAULT_POINTS = 1;
+
+    /**
+     * A lab assignment column of the export.
+     *
+     * @param index              Column index in the file
+     * @param header             Full column header
+     * @param title              Lab title, e.g. "Laboratory for Module 01"
+     * @param canvasAssignmentId Canvas assignment id from the header
+     */
+    public record LabColumn(int index, String header, String title, String canvasAssignmentId) {
+    }
+
+    /**
+     * Everything an import needs from one export.
+     *
+     * @param labColumns     Lab columns in file order
+     * @param pointsPossible Canvas assignment id -> points (labs without a value are absent)
+     * @param students       Distinct student names in file order
+     * @param records        Data records read, including the points row
+     */
+    public record Result(List<LabColumn> labColumns, Map<String, Integer> pointsPossible,
+                         Set<String> students, long records) {
+
+        /**
+         * @return Points for a lab, defaulting to 1 when the export has no usable value
+         */
+        public int pointsFor(LabColumn column) {
+            return pointsPossible.getOrDefault(column.canvasAssignmentId(), DEFAULT_POINTS);
+        }
+    }
+
+    /**
+     * Read an export. The caller owns (and closes) the reader.
+     *
+     * @throws IOException              if the input cannot be read
+     * @throws IllegalArgumentException if the file has no header row
+     */
+    public Result read(Reader reader) throws IOException {
+        CSVParser parser = CSVFormat.RFC4180.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true) // consume header row instead of returning it as a record
+                .setTrim(true)
+                .setIgnoreEmptyLines(true)
+                .get()
+                .parse(reader);
+
+        List<String> headers = parser.getHeaderNames();
+        if (headers == null || headers.isEmpty()) {
+            throw new IllegalArgumentException("CSV file missing header row");
+        }
+
+        int studentColumn = 0;
+        for (int i = 0; i < headers.size(); i++) {
+            if ("student".equals(normalizeHeader(headers.get(i)))) {
+                studentColumn = i;
+                break;
+            }
+        }
+
+        List<LabColumn> labColumns = new ArrayList<>();
+        Set<String> assignmentIds = new HashSet<>();
+        for (int i = FIRST_ASSIGNMENT_COLUMN; i < headers.size(); i++) {
+            String header = headers.get(i).trim();
+            Matcher matcher = LAB_COLUMN.matcher(header);
+            // An assignment exported twice is still one lab
+            if (matcher.find() && assignmentIds.add(matcher.group(2))) {
+                labColumns.add(new LabColumn(i, header, "Laboratory for " + matcher.group(1), matcher.group(2)));
+            }
+        }
+
+        Map<String, Integer> pointsPossible = new HashMap<>();
+        Set<String> students = new LinkedHashSet<>();
+        long records = 0;
+        for (CSVRecord record : parser) {
+            records++;
+            String student = studentColumn < record.size() ? record.get(studentColumn) : null;
+            if (student == null || student.isEmpty()) {
+                continue;
+            }
+            if (student.toLowerCase().contains("points possible")) {
+                if (pointsPossible.isEmpty()) {
+                    readPoints(record, labColumns, pointsPossible);
+                }
+                continue;
+            }
+            students.add(student);
+        }
+
+        return new Result(List.copyOf(labColumns), Collections.unmodifiableMap(pointsPossible),
+                Collections.unmodifiableSet(students), records);
+    }
+
+    private static void readPoints(CSVRecord record, List<LabColumn> labColumns, Map<String, Integer> points) {
+        for (LabColumn column : labColumns) {
+            if (column.index() >= record.size()) {
+                continue;
+            }
+            String value = record.get(column.index());
+            try {
+                if (value != null && !value.isEmpty()) {
+                    points.put(column.canvasAssignmentId(), (int) Double.parseDouble(value));
+                }
+            } catch (NumberFormatException ignored) {
+                // keep default
+            }
+        }
+    }
+
+    private static String normalizeHeader(String header) {
+        if (header == null) {
+            return "";
+        }
+        return header.replace("\uFEFF", "").trim().toLowerCase();
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.lab_signoff_backend.csv;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact student × lab score table.
+ *
+ * Scores are fixed-point hundredths in one flat {@code long[]} (row-major by
+ * student) with a bitmap marking which cells hold a score, so a gradebook of
+ * any size costs two arrays instead of a {@code BigDecimal} and map entry per
+ * cell. Values are parsed from and formatted to decimal text only at the
+ * edges; anything finer than a hundredth is rounded half-up, which is the
+ * precision Canvas exports carry.
+ *
+ * Not thread-safe.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public final class GradebookMatrix {
+
+    /**
+     * Hundredths per point
+     */
+    public static final long SCALE = 100;
+
+    private final List<String> labColumns;
+    private final int labs;
+    private final long[] pointsPossible;
+    private final long[] pointsPresent;
+
+    private String[] names;
+    private String[] ids;
+    private long[] cells;
+    private long[] present;
+    private int students;
+
+    public GradebookMatrix(List<String> labColumns, int expectedStudents) {
+        this.labColumns = List.copyOf(labColumns);
+        this.labs = labColumns.size();
+        this.pointsPossible = new long[labs];
+        this.pointsPresent = new long[words(labs)];
+        int capacity = Math.max(16, expectedStudents);
+        this.names = new String[capacity];
+        this.ids = new String[capacity];
+        this.cells = new long[capacity * labs];
+        this.present = new long[words(capacity * labs)];
+    }
+
+    public List<String> labColumns() {
+        return labColumns;
+    }
+
+    public int labCount() {
+        return labs;
+    }
+
+    public int studentCount() {
+        return students;
+    }
+
+    /**
+     * Append a student row with no scores.
+     *
+     * @return The new row's index
+     */
+    public int addStudent(String name, String id) {
+        if (students == names.length) {
+            grow();
+        }
+        names[students] = name == null ? "" : name;
+        ids[students] = id == null ? "" : id;
+        return students++;
+    }
+
+    public String studentName(int student) {
+        return names[checkStudent(student)];
+    }
+
+    public String studentId(int student) {
+        return ids[checkStudent(student)];
+    }
+
+    public void set(int student, int lab, long hundredths) {
+        int cell = cell(student, lab);
+        cells[cell] = hundredths;
+        present[cell >>> 6] |= 1L << cell;
+    }
+
+    public void clear(int student, int lab) {
+        int cell = cell(student, lab);
+        cells[cell] = 0;
+        present[cell >>> 6] &= ~(1L << cell);
+    }
+
+    public boolean has(int student, int lab) {
+        int cell = cell(student, lab);
+        return (present[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @return Score in hundredths; 0 when the cell is blank (check {@link #has})
+     */
+    public long get(int student, int lab) {
+        return cells[cell(student, lab)];
+    }
+
+    public void setPointsPossible(int lab, long hundredths) {
+        pointsPossible[checkLab(lab)] = hundredths;
+        pointsPresent[lab >>> 6] |= 1L << lab;
+    }
+
+    public boolean hasPointsPossible(int lab) {
+        return (pointsPresent[checkLab(lab) >>> 6] & (1L << lab)) != 0;
+    }
+
+    public long pointsPossible(int lab) {
+        return pointsPossible[checkLab(lab)];
+    }
+
+    /**
+     * Append a cell as decimal text (e.g. {@code 2.5}, {@code 10}), or nothing when blank.
+     */
+    public void appendCell(StringBuilder out, int student, int lab) {
+        if (has(student, lab)) {
+            appendHundredths(out, get(student, lab));
+        }
+    }
+
+    /**
+     * Parse decimal text into hundredths without allocating a {@code BigDecimal}.
+     *
+     * @param text Text such as {@code 4}, {@code 2.50}, {@code -0.5} or {@code 21.428}
+     * Digits past the second decimal place are rounded half-up. Unlike
+     * {@code new BigDecimal(text)}, exponent notation such as {@code 1E+1} is not
+     * accepted, so such cells read as blank.
+     *
+     * @return true and {@code out[0]} set when the text is a plain decimal number;
+     *         false for blank, non-numeric or exponent text
+     */
+    public static boolean parseHundredths(CharSequence text, long[] out) {
+        int start = 0;
+        int end = text == null ? 0 : text.length();
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        if (start == end) {
+            return false;
+        }
+
+        boolean negative = false;
+        char first = text.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+
+        long whole = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean digits = false;
+        boolean point = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c >= '0' && c <= '9') {
+                digits = true;
+                if (!point) {
+                    if (whole > (Long.MAX_VALUE / SCALE - 9) / 10) {
+                        return false;
+                    }
+                    whole = whole * 10 + (c - '0');
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else if (fractionDigits == 2) {
+                    roundUp = c >= '5';
+                    fractionDigits++;
+                }
+            } else {
+                return false;
+            }
+        }
+        if (!digits) {
+            return false;
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+        long value = whole * SCALE + fraction + (roundUp ? 1 : 0);
+        out[0] = negative ? -value : value;
+        return true;
+    }
+
+    /**
+     * Append hundredths as plain decimal text with trailing zeros stripped,
+     * matching {@code BigDecimal.stripTrailingZeros().toPlainString()}.
+     */
+    public static void appendHundredths(StringBuilder out, long hundredths) {
+        if (hundredths < 0) {
+            out.append('-');
+            hundredths = -hundredths;
+        }
+        out.append(hundredths / SCALE);
+        long fraction = hundredths % SCALE;
+        if (fraction != 0) {
+            out.append('.').append((char) ('0' + fraction / 10));
+            if (fraction % 10 != 0) {
+                out.append((char) ('0' + fraction % 10));
+            }
+        }
+    }
+
+    public static String formatHundredths(long hundredths) {
+        StringBuilder out = new StringBuilder(8);
+        appendHundredths(out, hundredths);
+        return out.toString();
+    }
+
+    private void grow() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        cells = Arrays.copyOf(cells, capacity * labs);
+        present = Arrays.copyOf(present, words(capacity * labs));
+    }
+
+    private int cell(int student, int lab) {
+        return checkStudent(student) * labs + checkLab(lab);
+    }
+
+    private int checkStudent(int student) {
+        if (student < 0 || student >= students) {
+            throw new IndexOutOfBoundsException("Student " + student + " of " + students);
+        }
+        return student;
+    }
+
+    private int checkLab(int lab) {
+        if (lab < 0 || lab >= labs) {
+            throw new IndexOutOfBoundsException("Lab " + lab + " of " + labs);
+        }
+        return lab;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
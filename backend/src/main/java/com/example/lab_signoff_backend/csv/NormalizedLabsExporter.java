@@ -5,24 +5,64 @@ import org.apache.commons.csv.CSVPrinter;
 
 import java.io.Writer;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class NormalizedLabsExporter {
   private static String fmt(BigDecimal d){ return d==null? "": d.stripTrailingZeros().toPlainString(); }
   public void export(Path path, List<CanvasLabsImporter.StudentLabScore> rows) throws IOException {
+    export(path, rows.stream());
+  }
+
+  /** Write rows as they are pulled from the stream; memory stays flat. The caller closes the stream. */
+  public void export(Path path, Stream<CanvasLabsImporter.StudentLabScore> rows) throws IOException {
     if (path.getParent()!=null) Files.createDirectories(path.getParent());
     try (Writer out = Files.newBufferedWriter(path);
          CSVPrinter csv = new CSVPrinter(out,
-             CSVFormat.RFC4180.builder().setHeader("student","ID","labTitle","score","pointsPossible").build())) {
-      for (var r: rows) {
+             CSVFormat.RFC4180.builder().setHeader("student","ID","labTitle","score","pointsPossible").get())) {
+      for (Iterator<CanvasLabsImporter.StudentLabScore> it = rows.iterator(); it.hasNext(); ) {
+        var r = it.next();
         csv.printRecord(
           nz(r.student()), nz(r.studentId()), nz(r.labTitle()),
           fmt(r.score()), fmt(r.pointsPossible()));
       }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+  /**
+   * Write straight from a {@link GradebookMatrix}; cells are formatted into one reused buffer.
+   * Scores are written as the matrix holds them, rounded to hundredths, unlike the
+   * {@code StudentLabScore} overloads which keep the source text's full precision.
+   */
+  public void export(Path path, GradebookMatrix matrix) throws IOException {
+    if (path.getParent()!=null) Files.createDirectories(path.getParent());
+    String[] points = new String[matrix.labCount()];
+    for (int l = 0; l < points.length; l++) {
+      points[l] = matrix.hasPointsPossible(l) ? GradebookMatrix.formatHundredths(matrix.pointsPossible(l)) : "";
+    }
+    StringBuilder score = new StringBuilder(16);
+    try (Writer out = Files.newBufferedWriter(path);
+         CSVPrinter csv = new CSVPrinter(out,
+             CSVFormat.RFC4180.builder().setHeader("student","ID","labTitle","score","pointsPossible").get())) {
+      for (int s = 0; s < matrix.studentCount(); s++) {
+        for (int l = 0; l < matrix.labCount(); l++) {
+          score.setLength(0);
+          matrix.appendCell(score, s, l);
+          csv.print(matrix.studentName(s));
+          csv.print(matrix.studentId(s));
+          csv.print(matrix.labColumns().get(l));
+          csv.print(score);
+          csv.print(points[l]);
+          csv.println();
+        }
+      }
     }
   }
   private static String nz(String s){ return s==null? "": s; }
-}
\ No newline at end of file
+}
@@ -4,10 +4,12 @@ import org.apache.commons.csv.CSVPrinter;
 
 import java.io.Writer;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class WideWithPointsExporter {
   public void export(Path path, List<CanvasLabsImporter.StudentLabScore> rows,
@@ -15,7 +17,6 @@ public class WideWithPointsExporter {
     if (path.getParent()!=null) Files.createDirectories(path.getParent());
 
     // Group scores by student → (lab → score)
-    record Key(String student, String id){}
     Map<Key, Map<String, BigDecimal>> byStudent = new LinkedHashMap<>();
     for (var r: rows) {
       var key = new Key(nz(r.student()), nz(r.studentId()));
@@ -25,36 +26,112 @@ public class WideWithPointsExporter {
 
     try (Writer out = Files.newBufferedWriter(path);
          CSVPrinter csv = new CSVPrinter(out, CSVFormat.RFC4180)) {
+      printHeader(csv, labColumns, pointsPossible);
+      for (var e : byStudent.entrySet()) {
+        printStudent(csv, e.getKey(), e.getValue(), labColumns);
+      }
+    }
+  }
 
-      // Header
-      List<String> header = new ArrayList<>();
-      header.add("Student"); header.add("ID");
-      header.addAll(labColumns);
-      csv.printRecord(header);
-
-      // Points Possible row
-      List<String> ppRow = new ArrayList<>();
-      ppRow.add("Points Possible"); ppRow.add("");
-      for (String lab : labColumns) {
-        var pp = pointsPossible.get(lab);
-        ppRow.add(pp == null ? "" : pp.stripTrailingZeros().toPlainString());
+  /**
+   * Streaming variant: a student's line is written as soon as their rows end,
+   * so only one student's scores are held at a time. Rows of one student must
+   * be adjacent, as {@link CanvasLabsImporter#stream} emits them. The caller closes the stream.
+   */
+  public void export(Path path, Stream<CanvasLabsImporter.StudentLabScore> rows,
+                     List<String> labColumns, Map<String, BigDecimal> pointsPossible) throws IOException {
+    if (path.getParent()!=null) Files.createDirectories(path.getParent());
+
+    try (Writer out = Files.newBufferedWriter(path);
+         CSVPrinter csv = new CSVPrinter(out, CSVFormat.RFC4180)) {
+      printHeader(csv, labColumns, pointsPossible);
+
+      Key current = null;
+      Map<String, BigDecimal> scores = new HashMap<>();
+      for (Iterator<CanvasLabsImporter.StudentLabScore> it = rows.iterator(); it.hasNext(); ) {
+        var r = it.next();
+        var key = new Key(nz(r.student()), nz(r.studentId()));
+        if (!key.equals(current)) {
+          if (current != null) printStudent(csv, current, scores, labColumns);
+          current = key;
+          scores.clear();
+        }
+        scores.put(r.labTitle(), r.score());
       }
-      csv.printRecord(ppRow);
+      if (current != null) printStudent(csv, current, scores, labColumns);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
 
-      // Student rows (blank scores stay blank)
-      for (var e : byStudent.entrySet()) {
-        List<String> line = new ArrayList<>();
-        line.add(e.getKey().student());
-        line.add(e.getKey().id());
-        var scores = e.getValue();
-        for (String lab : labColumns) {
-          var s = scores.get(lab);
-          line.add(s == null ? "" : s.stripTrailingZeros().toPlainString());
+  /**
+   * Write straight from a {@link GradebookMatrix}; cells are formatted into one reused buffer.
+   * Scores are written as the matrix holds them, rounded to hundredths, unlike the
+   * {@code StudentLabScore} overloads which keep the source text's full precision.
+   */
+  public void export(Path path, GradebookMatrix matrix) throws IOException {
+    if (path.getParent()!=null) Files.createDirectories(path.getParent());
+
+    try (Writer out = Files.newBufferedWriter(path);
+         CSVPrinter csv = new CSVPrinter(out, CSVFormat.RFC4180)) {
+      csv.print("Student"); csv.print("ID");
+      for (String lab : matrix.labColumns()) csv.print(lab);
+      csv.println();
+
+      StringBuilder cell = new StringBuilder(16);
+      csv.print("Points Possible"); csv.print("");
+      for (int l = 0; l < matrix.labCount(); l++) {
+        cell.setLength(0);
+        if (matrix.hasPointsPossible(l)) GradebookMatrix.appendHundredths(cell, matrix.pointsPossible(l));
+        csv.print(cell);
+      }
+      csv.println();
+
+      for (int s = 0; s < matrix.studentCount(); s++) {
+        csv.print(matrix.studentName(s));
+        csv.print(matrix.studentId(s));
+        for (int l = 0; l < matrix.labCount(); l++) {
+          cell.setLength(0);
+          matrix.appendCell(cell, s, l);
+          csv.print(cell);
         }
-        csv.printRecord(line);
+        csv.println();
       }
     }
   }
 
+  private record Key(String student, String id){}
+
+  private static void printHeader(CSVPrinter csv, List<String> labColumns,
+                                  Map<String, BigDecimal> pointsPossible) throws IOException {
+    // Header
+    List<String> header = new ArrayList<>();
+    header.add("Student"); header.add("ID");
+    header.addAll(labColumns);
+    csv.printRecord(header);
+
+    // Points Possible row
+    List<String> ppRow = new ArrayList<>();
+    ppRow.add("Points Possible"); ppRow.add("");
+    for (String lab : labColumns) {
+      var pp = pointsPossible.get(lab);
+      ppRow.add(pp == null ? "" : pp.stripTrailingZeros().toPlainString());
+    }
+    csv.printRecord(ppRow);
+  }
+
+  // Student row (blank scores stay blank)
+  private static void printStudent(CSVPrinter csv, Key key, Map<String, BigDecimal> scores,
+                                   List<String> labColumns) throws IOException {
+    List<String> line = new ArrayList<>();
+    line.add(key.student());
+    line.add(key.id());
+    for (String lab : labColumns) {
+      var s = scores.get(lab);
+      line.add(s == null ? "" : s.stripTrailingZeros().toPlainString());
+    }
+    csv.printRecord(line);
+  }
+
   private static String nz(String s){ return s==null? "": s; }
 }
@@ -0,0 +1,85 @@
+package com.example.lab_signoff_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a batch of enrollments.
+ * Rows without their own classId use the batch-level classId; role defaults to STUDENT.
+ */
+public class BulkEnrollmentRequestDTO {
+    private String classId;
+    private String performedBy;
+    private List<Row> enrollments = new ArrayList<>();
+
+    /**
+     * One user to enroll (or whose role to change).
+     */
+    public static class Row {
+        private String userId;
+        private String classId;
+        private String role;
+
+        public Row() {
+        }
+
+        public Row(String userId, String classId, String role) {
+            this.userId = userId;
+            this.classId = classId;
+            this.role = role;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public void setUserId(String userId) {
+            this.userId = userId;
+        }
+
+        public String getClassId() {
+            return classId;
+        }
+
+        public void setClassId(String classId) {
+            this.classId = classId;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+    }
+
+    // Constructors
+    public BulkEnrollmentRequestDTO() {
+    }
+
+    // Getters and Setters
+    public String getClassId() {
+        return classId;
+    }
+
+    public void setClassId(String classId) {
+        this.classId = classId;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+
+    public List<Row> getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(List<Row> enrollments) {
+        this.enrollments = enrollments;
+    }
+}
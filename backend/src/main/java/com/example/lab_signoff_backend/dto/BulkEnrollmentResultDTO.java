@@ -0,0 +1,119 @@
+package com.example.lab_signoff_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object reporting the outcome of a bulk enrollment, one entry per request row.
+ * Outcomes: CREATED, UPDATED (role changed or re-activated), UNCHANGED, DUPLICATE
+ * (repeated earlier in the batch), INVALID (missing ids or unknown role) and FAILED
+ * (rejected by the database, e.g. enrolled concurrently).
+ */
+public class BulkEnrollmentResultDTO {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private List<RowResult> rows = new ArrayList<>();
+
+    /**
+     * Outcome of one request row, in request order.
+     */
+    public static class RowResult {
+        private int index;
+        private String userId;
+        private String classId;
+        private String outcome;
+        private String enrollmentId;
+        private String error;
+
+        public RowResult() {
+        }
+
+        public RowResult(int index, String userId, String classId) {
+            this.index = index;
+            this.userId = userId;
+            this.classId = classId;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getClassId() {
+            return classId;
+        }
+
+        public String getOutcome() {
+            return outcome;
+        }
+
+        public void setOutcome(String outcome) {
+            this.outcome = outcome;
+        }
+
+        public String getEnrollmentId() {
+            return enrollmentId;
+        }
+
+        public void setEnrollmentId(String enrollmentId) {
+            this.enrollmentId = enrollmentId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+
+    // Constructors
+    public BulkEnrollmentResultDTO() {
+    }
+
+    public BulkEnrollmentResultDTO(List<RowResult> rows) {
+        this.rows = rows;
+        for (RowResult row : rows) {
+            switch (row.getOutcome()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case UNCHANGED -> unchanged++;
+                default -> rejected++;
+            }
+        }
+    }
+
+    // Getters
+    public int getCreated() {
+        return created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.lab_signoff_backend.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a class roster.
+ * Clients pass {@code nextCursor} back to fetch the following page;
+ * it is null once the last page has been returned.
+ */
+public class EnrollmentWithUserPageDTO {
+    private List<EnrollmentWithUserDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public EnrollmentWithUserPageDTO() {
+    }
+
+    public EnrollmentWithUserPageDTO(List<EnrollmentWithUserDTO> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<EnrollmentWithUserDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EnrollmentWithUserDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.lab_signoff_backend.dto;
+
+import com.example.lab_signoff_backend.model.enums.SignoffAction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object summarising a verification or rebuild of group
+ * checkpoint progress against the signoff event log.
+ */
+public class GroupProgressReportDTO {
+    private int labsScanned;
+    private long eventsScanned;
+    private int repaired;
+    private List<Divergence> divergences = new ArrayList<>();
+
+    /**
+     * One checkpoint whose stored progress disagrees with the event log.
+     * Kinds: STATUS_MISMATCH (latest event disagrees), MISSING_CHECKPOINT
+     * (events exist for a checkpoint the group does not have) and UNTRACKED
+     * (progress recorded without any event; reported only, never rewritten).
+     */
+    public static class Divergence {
+        private String labId;
+        private String groupId;
+        private Integer checkpointNumber;
+        private String kind;
+        private SignoffAction expected;
+        private SignoffAction actual;
+
+        public Divergence() {
+        }
+
+        public Divergence(String labId, String groupId, Integer checkpointNumber, String kind,
+                          SignoffAction expected, SignoffAction actual) {
+            this.labId = labId;
+            this.groupId = groupId;
+            this.checkpointNumber = checkpointNumber;
+            this.kind = kind;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public String getLabId() {
+            return labId;
+        }
+
+        public String getGroupId() {
+            return groupId;
+        }
+
+        public Integer getCheckpointNumber() {
+            return checkpointNumber;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public SignoffAction getExpected() {
+            return expected;
+        }
+
+        public SignoffAction getActual() {
+            return actual;
+        }
+    }
+
+    // Constructors
+    public GroupProgressReportDTO() {
+    }
+
+    // Combine per-lab reports produced in parallel
+    public GroupProgressReportDTO merge(GroupProgressReportDTO other) {
+        GroupProgressReportDTO merged = new GroupProgressReportDTO();
+        merged.labsScanned = labsScanned + other.labsScanned;
+        merged.eventsScanned = eventsScanned + other.eventsScanned;
+        merged.repaired = repaired + other.repaired;
+        merged.divergences.addAll(divergences);
+        merged.divergences.addAll(other.divergences);
+        return merged;
+    }
+
+    // Getters and Setters
+    public int getLabsScanned() {
+        return labsScanned;
+    }
+
+    public void setLabsScanned(int labsScanned) {
+        this.labsScanned = labsScanned;
+    }
+
+    public long getEventsScanned() {
+        return eventsScanned;
+    }
+
+    public void setEventsScanned(long eventsScanned) {
+        this.eventsScanned = eventsScanned;
+    }
+
+    public int getRepaired() {
+        return repaired;
+    }
+
+    public void setRepaired(int repaired) {
+        this.repaired = repaired;
+    }
+
+    public List<Divergence> getDivergences() {
+        return divergences;
+    }
+
+    public void setDivergences(List<Divergence> divergences) {
+        this.divergences = divergences;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.lab_signoff_backend.dto;
+
+import com.example.lab_signoff_backend.model.SignoffEvent;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of signoff events.
+ * Clients pass {@code nextCursor} back to fetch the following page;
+ * it is null once the last page has been returned.
+ */
+public class SignoffEventPageDTO {
+    private List<SignoffEvent> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public SignoffEventPageDTO() {
+    }
+
+    public SignoffEventPageDTO(List<SignoffEvent> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<SignoffEvent> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SignoffEvent> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
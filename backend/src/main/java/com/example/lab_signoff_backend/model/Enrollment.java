@@ -18,6 +18,7 @@ import java.time.Instant;
 @Document(collection = "enrollments")
 @CompoundIndexes({
     @CompoundIndex(name = "class_role_idx", def = "{'classId': 1, 'role': 1}"),
+    @CompoundIndex(name = "class_role_id_idx", def = "{'classId': 1, 'role': 1, '_id': 1}"),
     @CompoundIndex(name = "user_class_idx", def = "{'userId': 1, 'classId': 1}", unique = true)
 })
 public class Enrollment {
@@ -19,7 +19,9 @@ import java.time.Instant;
 @Document(collection = "help_queue_items")
 @CompoundIndexes({
     @CompoundIndex(name = "lab_status_idx", def = "{'labId': 1, 'status': 1}"),
-    @CompoundIndex(name = "lab_position_idx", def = "{'labId': 1, 'position': 1}")
+    @CompoundIndex(name = "lab_position_idx", def = "{'labId': 1, 'position': 1}"),
+    @CompoundIndex(name = "lab_group_status_idx", def = "{'labId': 1, 'groupId': 1, 'status': 1}"),
+    @CompoundIndex(name = "status_resolved_idx", def = "{'status': 1, 'resolvedAt': 1}")
 })
 public class HelpQueueItem {
     @Id
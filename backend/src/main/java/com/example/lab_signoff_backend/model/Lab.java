@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -19,6 +20,7 @@ import java.util.UUID;
  * Contains checkpoints, join code, and configuration
  */
 @Document(collection = "labs")
+@CompoundIndex(name = "class_canvas_assignment_idx", def = "{'classId': 1, 'canvasAssignmentId': 1}")
 public class Lab {
     @Id
     private String id;
@@ -66,6 +68,8 @@ public class Lab {
     @NotBlank(message = "Created by user ID is required")
     private String createdBy;  // References User._id
 
+    private String canvasAssignmentId;  // Canvas assignment the lab was imported from, if any
+
     // Constructors
     public Lab() {
         this.createdAt = Instant.now();
@@ -298,6 +302,14 @@ public class Lab {
         this.createdBy = createdBy;
     }
 
+    public String getCanvasAssignmentId() {
+        return canvasAssignmentId;
+    }
+
+    public void setCanvasAssignmentId(String canvasAssignmentId) {
+        this.canvasAssignmentId = canvasAssignmentId;
+    }
+
     // Legacy compatibility (for existing code that uses courseId/lineItemId)
     @Deprecated
     public String getCourseId() {
@@ -0,0 +1,85 @@
+package com.example.lab_signoff_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Watermark of a projection over the signoff event log.
+ * This class is mapped to the "projection_checkpoints" collection in MongoDB.
+ *
+ * Stores the {@code (timestamp, _id)} position of the last event folded into
+ * the projection, so catch-up resumes where it stopped after a restart.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Document(collection = "projection_checkpoints")
+public class ProjectionCheckpoint {
+
+    /**
+     * Projection name, e.g. "group-progress"
+     */
+    @Id
+    private String id;
+
+    /**
+     * Timestamp of the last event applied
+     */
+    private Instant lastEventTimestamp;
+
+    /**
+     * Id of the last event applied (tie-breaker for equal timestamps)
+     */
+    private String lastEventId;
+
+    /**
+     * When the watermark last moved
+     */
+    private Instant updatedAt;
+
+    // Constructors
+    public ProjectionCheckpoint() {
+    }
+
+    public ProjectionCheckpoint(String id, Instant lastEventTimestamp, String lastEventId) {
+        this.id = id;
+        this.lastEventTimestamp = lastEventTimestamp;
+        this.lastEventId = lastEventId;
+        this.updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getLastEventTimestamp() {
+        return lastEventTimestamp;
+    }
+
+    public void setLastEventTimestamp(Instant lastEventTimestamp) {
+        this.lastEventTimestamp = lastEventTimestamp;
+    }
+
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(String lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.lab_signoff_backend.model;
+
+import com.example.lab_signoff_backend.model.enums.ScoreOutboxStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Pending score update for the LMS gradebook.
+ * This class is mapped to the "score_outbox" collection in MongoDB.
+ *
+ * There is one document per (line item, student): its id is derived from
+ * both, so repeated signoffs for the same student overwrite the pending score
+ * instead of queueing another LMS call.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Document(collection = "score_outbox")
+@CompoundIndex(name = "status_next_attempt_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class ScoreOutboxEntry {
+
+    /**
+     * {@link #idFor(String, String)} of the line item and student
+     */
+    @Id
+    private String id;
+
+    /**
+     * Course (class) the score is published to
+     */
+    private String courseId;
+
+    /**
+     * LMS line item (gradebook column)
+     */
+    private String lineItemId;
+
+    private String labId;
+
+    private String groupId;
+
+    /**
+     * Student the score belongs to
+     */
+    private String userId;
+
+    private Double scoreGiven;
+
+    private Double scoreMaximum;
+
+    private String activityProgress;
+
+    private String gradingProgress;
+
+    private ScoreOutboxStatus status;
+
+    /**
+     * Bumped on every enqueue; results are only recorded against the revision that was sent
+     */
+    private long revision;
+
+    /**
+     * Failed attempts for the current revision
+     */
+    private int attempts;
+
+    /**
+     * Earliest time the worker may send this entry (also the lease while in flight)
+     */
+    private Instant nextAttemptAt;
+
+    /**
+     * Worker batch that last claimed the entry
+     */
+    private String leaseOwner;
+
+    private String lastError;
+
+    /**
+     * LMS result id from the last successful send
+     */
+    private String resultId;
+
+    private Instant createdAt;
+
+    /**
+     * When the score last changed
+     */
+    private Instant updatedAt;
+
+    private Instant sentAt;
+
+    // Constructors
+    public ScoreOutboxEntry() {
+    }
+
+    /**
+     * @return Document id for a (line item, student) pair
+     */
+    public static String idFor(String lineItemId, String userId) {
+        return lineItemId + ":" + userId;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getLineItemId() {
+        return lineItemId;
+    }
+
+    public void setLineItemId(String lineItemId) {
+        this.lineItemId = lineItemId;
+    }
+
+    public String getLabId() {
+        return labId;
+    }
+
+    public void setLabId(String labId) {
+        this.labId = labId;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Double getScoreGiven() {
+        return scoreGiven;
+    }
+
+    public void setScoreGiven(Double scoreGiven) {
+        this.scoreGiven = scoreGiven;
+    }
+
+    public Double getScoreMaximum() {
+        return scoreMaximum;
+    }
+
+    public void setScoreMaximum(Double scoreMaximum) {
+        this.scoreMaximum = scoreMaximum;
+    }
+
+    public String getActivityProgress() {
+        return activityProgress;
+    }
+
+    public void setActivityProgress(String activityProgress) {
+        this.activityProgress = activityProgress;
+    }
+
+    public String getGradingProgress() {
+        return gradingProgress;
+    }
+
+    public void setGradingProgress(String gradingProgress) {
+        this.gradingProgress = gradingProgress;
+    }
+
+    public ScoreOutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ScoreOutboxStatus status) {
+        this.status = status;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getResultId() {
+        return resultId;
+    }
+
+    public void setResultId(String resultId) {
+        this.resultId = resultId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(Instant sentAt) {
+        this.sentAt = sentAt;
+    }
+}
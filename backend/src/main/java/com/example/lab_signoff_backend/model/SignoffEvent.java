@@ -13,7 +13,9 @@ import java.time.Instant;
 
 /**
  * SignoffEvent model class representing an audit entry for lab signoff actions.
- * This class is mapped to the "signoff_events" collection in MongoDB.
+ * This class is mapped to the "signoff_events" collection in MongoDB, or to a
+ * time-series collection when {@code app.signoff-events.time-series.enabled} is set
+ * (see {@code SignoffEventStorage}).
  *
  * SignoffEvents track all pass/return actions performed on groups during lab sessions,
  * providing a complete audit trail for accountability and analysis.
@@ -21,9 +23,12 @@ import java.time.Instant;
  * @author Lab Signoff App Team
  * @version 2.0
  */
-@Document(collection = "signoff_events")
+@Document(collection = "#{@signoffEventStorage.collectionName}")
 @CompoundIndexes({
-    @CompoundIndex(name = "lab_timestamp_idx", def = "{'labId': 1, 'timestamp': 1}")
+    @CompoundIndex(name = "lab_timestamp_idx", def = "{'labId': 1, 'timestamp': 1, '_id': 1}"),
+    @CompoundIndex(name = "group_timestamp_idx", def = "{'groupId': 1, 'timestamp': 1, '_id': 1}"),
+    @CompoundIndex(name = "performer_timestamp_idx", def = "{'performedBy': 1, 'timestamp': 1, '_id': 1}"),
+    @CompoundIndex(name = "timestamp_idx", def = "{'timestamp': 1, '_id': 1}")
 })
 public class SignoffEvent {
 
@@ -0,0 +1,10 @@
+package com.example.lab_signoff_backend.model.enums;
+
+/**
+ * Status values for ScoreOutboxEntry documents
+ */
+public enum ScoreOutboxStatus {
+    PENDING,    // Latest score not yet accepted by the LMS
+    SENT,       // Latest score accepted by the LMS
+    FAILED      // Rejected by the LMS or out of retries
+}
@@ -22,6 +22,10 @@ public class HelpQueueUpdate {
     private String claimedByName;
     private Instant timestamp;
     private String description;
+    private Long estimatedWaitSeconds;  // For waiting requests; null when no TA is active
+    private Long waitingCount;
+    private Integer activeTas;
+    private Long averageServiceSeconds;
 
     public HelpQueueUpdate() {
         this.timestamp = Instant.now();
@@ -74,4 +78,16 @@ public class HelpQueueUpdate {
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+
+    public Long getEstimatedWaitSeconds() { return estimatedWaitSeconds; }
+    public void setEstimatedWaitSeconds(Long estimatedWaitSeconds) { this.estimatedWaitSeconds = estimatedWaitSeconds; }
+
+    public Long getWaitingCount() { return waitingCount; }
+    public void setWaitingCount(Long waitingCount) { this.waitingCount = waitingCount; }
+
+    public Integer getActiveTas() { return activeTas; }
+    public void setActiveTas(Integer activeTas) { this.activeTas = activeTas; }
+
+    public Long getAverageServiceSeconds() { return averageServiceSeconds; }
+    public void setAverageServiceSeconds(Long averageServiceSeconds) { this.averageServiceSeconds = averageServiceSeconds; }
 }
@@ -13,7 +13,7 @@ import java.util.Optional;
  * Manages the per-lab help queue (hands raised) system
  */
 @Repository
-public interface HelpQueueItemRepository extends MongoRepository<HelpQueueItem, String> {
+public interface HelpQueueItemRepository extends MongoRepository<HelpQueueItem, String>, HelpQueueItemRepositoryCustom {
 
     /**
      * Find all queue items for a lab with a specific status, ordered by position
@@ -58,6 +58,16 @@ public interface HelpQueueItemRepository extends MongoRepository<HelpQueueItem,
      */
     Optional<HelpQueueItem> findByLabIdAndGroupIdAndStatus(String labId, String groupId, HelpQueueStatus status);
 
+    /**
+     * Find the first queue item for a group in a lab whose status is one of the given statuses
+     *
+     * @param labId    The lab ID
+     * @param groupId  The group ID
+     * @param statuses The statuses to match, e.g. waiting and claimed
+     * @return Optional containing the queue item if found
+     */
+    Optional<HelpQueueItem> findFirstByLabIdAndGroupIdAndStatusIn(String labId, String groupId, List<HelpQueueStatus> statuses);
+
     /**
      * Find all waiting queue items for a lab, ordered by position
      *
@@ -86,6 +96,14 @@ public interface HelpQueueItemRepository extends MongoRepository<HelpQueueItem,
      */
     List<HelpQueueItem> findByLabIdAndStatusIn(String labId, List<HelpQueueStatus> statuses);
 
+    /**
+     * Find all queue items in any lab whose status is one of the given statuses
+     *
+     * @param statuses The statuses to match
+     * @return List of matching queue items across all labs
+     */
+    List<HelpQueueItem> findByStatusIn(List<HelpQueueStatus> statuses);
+
     /**
      * Count queue items in a specific status for a lab
      *
@@ -0,0 +1,23 @@
+package com.example.lab_signoff_backend.repository;
+
+import com.example.lab_signoff_backend.model.enums.HelpQueueStatus;
+
+import java.util.Map;
+
+/**
+ * Custom query fragment for HelpQueueItemRepository.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public interface HelpQueueItemRepositoryCustom {
+
+    /**
+     * Count a lab's waiting and claimed items with one {@code $group} aggregation
+     * over the {@code (labId, status)} index.
+     *
+     * @param labId The lab identifier
+     * @return Item count per active status; statuses with no items map to 0
+     */
+    Map<HelpQueueStatus, Long> countActiveByStatus(String labId);
+}
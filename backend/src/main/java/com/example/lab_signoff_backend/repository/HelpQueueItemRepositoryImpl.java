@@ -0,0 +1,43 @@
+package com.example.lab_signoff_backend.repository;
+
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.model.enums.HelpQueueStatus;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MongoTemplate-backed implementation of {@link HelpQueueItemRepositoryCustom}.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public class HelpQueueItemRepositoryImpl implements HelpQueueItemRepositoryCustom {
+
+    private static final List<HelpQueueStatus> ACTIVE_STATUSES = List.of(HelpQueueStatus.WAITING, HelpQueueStatus.CLAIMED);
+
+    private final MongoTemplate mongoTemplate;
+
+    public HelpQueueItemRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<HelpQueueStatus, Long> countActiveByStatus(String labId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("labId").is(labId).and("status").in(ACTIVE_STATUSES)),
+                Aggregation.group("status").count().as("count"));
+
+        Map<HelpQueueStatus, Long> counts = new EnumMap<>(HelpQueueStatus.class);
+        ACTIVE_STATUSES.forEach(status -> counts.put(status, 0L));
+        for (Document row : mongoTemplate.aggregate(aggregation, HelpQueueItem.class, Document.class)) {
+            counts.put(HelpQueueStatus.valueOf(row.getString("_id")), ((Number) row.get("count")).longValue());
+        }
+        return counts;
+    }
+}
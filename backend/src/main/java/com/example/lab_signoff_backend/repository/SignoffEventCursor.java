@@ -0,0 +1,52 @@
+package com.example.lab_signoff_backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the signoff event log, ordered by {@code (timestamp, _id)}.
+ *
+ * Encoded for clients as an opaque URL-safe string so the paging scheme can
+ * change without breaking the API contract.
+ *
+ * @param timestamp Timestamp of the last event on the previous page
+ * @param id        Id of the last event on the previous page (tie-breaker)
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public record SignoffEventCursor(Instant timestamp, String id) {
+
+    /**
+     * @return Opaque cursor string to hand back to clients
+     */
+    public String encode() {
+        String raw = timestamp.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor previously produced by {@link #encode()}.
+     *
+     * @param value Cursor string, may be null or blank for the first page
+     * @return The decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static SignoffEventCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new SignoffEventCursor(
+                    Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                    raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+}
@@ -11,13 +11,14 @@ import java.util.List;
  * Repository interface for SignoffEvent entity database operations.
  *
  * Extends MongoRepository to provide CRUD operations and custom query methods
- * for the signoff_events collection.
+ * for the signoff_events collection. Keyset paging and streaming live in
+ * {@link SignoffEventRepositoryCustom}.
  *
  * @author Lab Signoff App Team
  * @version 1.0
  */
 @Repository
-public interface SignoffEventRepository extends MongoRepository<SignoffEvent, String> {
+public interface SignoffEventRepository extends MongoRepository<SignoffEvent, String>, SignoffEventRepositoryCustom {
 
     /**
      * Find all signoff events for a specific lab
@@ -68,4 +69,54 @@ public interface SignoffEventRepository extends MongoRepository<SignoffEvent, St
      * @return List of signoff events with the specified action
      */
     List<SignoffEvent> findByAction(String action);
+
+    /**
+     * Count signoff events for a specific lab
+     *
+     * @param labId The lab identifier
+     * @return Number of events for the lab
+     */
+    long countByLabId(String labId);
+
+    /**
+     * Count signoff events for a specific group
+     *
+     * @param groupId The group identifier
+     * @return Number of events for the group
+     */
+    long countByGroupId(String groupId);
+
+    /**
+     * Count signoff events for a specific lab and group combination
+     *
+     * @param labId   The lab identifier
+     * @param groupId The group identifier
+     * @return Number of events for the lab and group
+     */
+    long countByLabIdAndGroupId(String labId, String groupId);
+
+    /**
+     * Count signoff events performed by a specific user
+     *
+     * @param performedBy The user identifier who performed the actions
+     * @return Number of events performed by the user
+     */
+    long countByPerformedBy(String performedBy);
+
+    /**
+     * Count signoff events within a time range
+     *
+     * @param start Start of the time range
+     * @param end   End of the time range
+     * @return Number of events within the time range
+     */
+    long countByTimestampBetween(Instant start, Instant end);
+
+    /**
+     * Count signoff events for a specific action type
+     *
+     * @param action The action type
+     * @return Number of events with the specified action
+     */
+    long countByAction(String action);
 }
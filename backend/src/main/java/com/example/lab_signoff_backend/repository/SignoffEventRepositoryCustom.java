@@ -0,0 +1,38 @@
+package com.example.lab_signoff_backend.repository;
+
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom query fragment for SignoffEventRepository.
+ *
+ * Provides keyset paging and streaming over the audit log in
+ * {@code (timestamp, _id)} order, which derived query methods cannot express.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public interface SignoffEventRepositoryCustom {
+
+    /**
+     * Fetch the next slice of events matching the filter after the given position.
+     *
+     * @param filter Criteria restricting the events (may be empty)
+     * @param after  Position of the last event already seen, or null for the first slice
+     * @param limit  Maximum number of events to return
+     * @return Events in ascending {@code (timestamp, _id)} order
+     */
+    List<SignoffEvent> findSlice(Criteria filter, SignoffEventCursor after, int limit);
+
+    /**
+     * Stream every event matching the filter without loading them all into memory.
+     * The caller must close the stream to release the database cursor.
+     *
+     * @param filter Criteria restricting the events (may be empty)
+     * @return Events in ascending {@code (timestamp, _id)} order
+     */
+    Stream<SignoffEvent> streamAll(Criteria filter);
+}
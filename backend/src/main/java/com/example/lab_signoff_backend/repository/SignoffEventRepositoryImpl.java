@@ -0,0 +1,49 @@
+package com.example.lab_signoff_backend.repository;
+
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MongoTemplate-backed implementation of {@link SignoffEventRepositoryCustom}.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public class SignoffEventRepositoryImpl implements SignoffEventRepositoryCustom {
+
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.ASC, "timestamp", "id");
+
+    private final MongoTemplate mongoTemplate;
+
+    public SignoffEventRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<SignoffEvent> findSlice(Criteria filter, SignoffEventCursor after, int limit) {
+        Query query = new Query(after == null ? filter : new Criteria().andOperator(filter, after(after)))
+                .with(KEYSET_ORDER)
+                .limit(limit);
+        return mongoTemplate.find(query, SignoffEvent.class);
+    }
+
+    @Override
+    public Stream<SignoffEvent> streamAll(Criteria filter) {
+        return mongoTemplate.stream(new Query(filter).with(KEYSET_ORDER), SignoffEvent.class);
+    }
+
+    /**
+     * (timestamp > t) OR (timestamp == t AND _id > id)
+     */
+    private Criteria after(SignoffEventCursor cursor) {
+        return new Criteria().orOperator(
+                Criteria.where("timestamp").gt(cursor.timestamp()),
+                Criteria.where("timestamp").is(cursor.timestamp()).and("id").gt(cursor.id()));
+    }
+}
@@ -2,8 +2,10 @@ package com.example.lab_signoff_backend.repository;
 
 import com.example.lab_signoff_backend.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +48,16 @@ public interface UserRepository extends MongoRepository<User, String> {
      */
     List<User> findByPrimaryRole(String primaryRole);
 
+    /**
+     * Find users by id, loading only the fields shown on rosters
+     *
+     * @param ids The user IDs
+     * @return Users with only id, name, firstName, lastName, email and picture populated
+     */
+    @Query(value = "{ '_id': { '$in': ?0 } }",
+            fields = "{ 'name': 1, 'firstName': 1, 'lastName': 1, 'email': 1, 'picture': 1 }")
+    List<User> findProfilesByIdIn(Collection<String> ids);
+
     /**
      * Check if a user exists with the given Auth0 ID
      *
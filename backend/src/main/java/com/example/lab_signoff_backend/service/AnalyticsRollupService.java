@@ -0,0 +1,190 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.model.ProjectionCheckpoint;
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Builds hourly analytics rollups from the raw signoff and help queue collections.
+ *
+ * Each run recomputes every closed hour between the stored watermark (minus a
+ * short lookback for late writes) and the start of the current hour, and
+ * {@code $merge}s the results into:
+ * <ul>
+ *   <li>{@code signoff_rollups_hourly}: one document per lab, TA, checkpoint and
+ *       hour with pass/return counts</li>
+ *   <li>{@code help_queue_rollups_hourly}: one document per lab and hour (by
+ *       {@code raisedAt}) with request counts and the median wait until claim,
+ *       read from both the live and the archived help queue items</li>
+ * </ul>
+ * Rollup documents are replaced whole, so re-running an hour is idempotent.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    public static final String SIGNOFF_ROLLUPS = "signoff_rollups_hourly";
+    public static final String HELP_QUEUE_ROLLUPS = "help_queue_rollups_hourly";
+    static final String WATERMARK_ID = "analytics-rollups-hourly";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int lookbackHours;
+    private final int backfillDays;
+
+    public AnalyticsRollupService(MongoTemplate mongoTemplate,
+                                  @Value("${app.analytics.rollups.enabled:false}") boolean enabled,
+                                  @Value("${app.analytics.rollups.lookback-hours:6}") int lookbackHours,
+                                  @Value("${app.analytics.rollups.backfill-days:120}") int backfillDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.lookbackHours = lookbackHours;
+        this.backfillDays = backfillDays;
+    }
+
+    @Scheduled(cron = "${app.analytics.rollups.cron:0 5 * * * *}")
+    public void scheduledRollup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rollUp();
+        } catch (RuntimeException e) {
+            log.warn("Analytics rollup failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Roll up every closed hour since the last run.
+     *
+     * @return The [from, to) window that was recomputed
+     */
+    public Instant[] rollUp() {
+        Instant to = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        ProjectionCheckpoint watermark = mongoTemplate.findById(WATERMARK_ID, ProjectionCheckpoint.class);
+        Instant from = watermark == null || watermark.getLastEventTimestamp() == null
+                ? to.minus(Duration.ofDays(backfillDays))
+                : watermark.getLastEventTimestamp().minus(Duration.ofHours(lookbackHours));
+
+        if (from.isBefore(to)) {
+            ensureIndexes();
+            rollUpSignoffs(from, to);
+            rollUpHelpQueue(from, to);
+            mongoTemplate.save(new ProjectionCheckpoint(WATERMARK_ID, to, null));
+        }
+        return new Instant[]{from, to};
+    }
+
+    private void ensureIndexes() {
+        // The API filters rollups by lab and hour range
+        for (String collection : List.of(SIGNOFF_ROLLUPS, HELP_QUEUE_ROLLUPS)) {
+            mongoTemplate.indexOps(collection).createIndex(
+                    new Index().on("labId", Sort.Direction.ASC).on("hour", Sort.Direction.ASC).named("lab_hour_idx"));
+        }
+    }
+
+    void rollUpSignoffs(Instant from, Instant to) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("timestamp",
+                        new Document("$gte", Date.from(from)).append("$lt", Date.from(to)))),
+                new Document("$group", new Document("_id", new Document("labId", "$labId")
+                        .append("performedBy", "$performedBy")
+                        .append("checkpointNumber", "$checkpointNumber")
+                        .append("hour", hourOf("$timestamp")))
+                        .append("total", new Document("$sum", 1))
+                        .append("passes", countWhere("$action", "PASS"))
+                        .append("returns", countWhere("$action", "RETURN"))),
+                new Document("$project", new Document("labId", "$_id.labId")
+                        .append("performedBy", "$_id.performedBy")
+                        .append("checkpointNumber", "$_id.checkpointNumber")
+                        .append("hour", "$_id.hour")
+                        .append("total", 1)
+                        .append("passes", 1)
+                        .append("returns", 1)),
+                merge(SIGNOFF_ROLLUPS));
+
+        aggregate(mongoTemplate.getCollectionName(SignoffEvent.class), pipeline);
+    }
+
+    void rollUpHelpQueue(Instant from, Instant to) {
+        Document waitSeconds = new Document("$cond", List.of(
+                new Document("$ifNull", List.of("$claimedAt", false)),
+                new Document("$divide", List.of(new Document("$subtract", List.of("$claimedAt", "$raisedAt")), 1000)),
+                "$$REMOVE"));
+
+        Document raisedInWindow = new Document("$match", new Document("raisedAt",
+                new Document("$gte", Date.from(from)).append("$lt", Date.from(to))));
+
+        List<Document> pipeline = List.of(
+                raisedInWindow,
+                // Closed items may already have been moved out of the hot collection
+                new Document("$unionWith", new Document("coll", HelpQueueArchiver.ARCHIVE_COLLECTION)
+                        .append("pipeline", List.of(raisedInWindow))),
+                new Document("$group", new Document("_id", new Document("labId", "$labId")
+                        .append("hour", hourOf("$raisedAt")))
+                        .append("raised", new Document("$sum", 1))
+                        .append("claimed", new Document("$sum",
+                                new Document("$cond", List.of(new Document("$ifNull", List.of("$claimedAt", false)), 1, 0))))
+                        .append("resolved", countWhere("$status", "RESOLVED"))
+                        .append("cancelled", countWhere("$status", "CANCELLED"))
+                        .append("urgent", countWhere("$priority", "URGENT"))
+                        .append("waits", new Document("$push", waitSeconds))),
+                new Document("$set", new Document("waits", new Document("$sortArray",
+                        new Document("input", "$waits").append("sortBy", 1)))),
+                new Document("$project", new Document("labId", "$_id.labId")
+                        .append("hour", "$_id.hour")
+                        .append("raised", 1)
+                        .append("claimed", 1)
+                        .append("resolved", 1)
+                        .append("cancelled", 1)
+                        .append("urgent", 1)
+                        .append("medianWaitSeconds", new Document("$cond", List.of(
+                                new Document("$gt", List.of(new Document("$size", "$waits"), 0)),
+                                new Document("$arrayElemAt", List.of("$waits",
+                                        new Document("$floor", new Document("$divide",
+                                                List.of(new Document("$size", "$waits"), 2))))),
+                                null)))),
+                merge(HELP_QUEUE_ROLLUPS));
+
+        aggregate(mongoTemplate.getCollectionName(HelpQueueItem.class), pipeline);
+    }
+
+    private void aggregate(String collection, List<Document> pipeline) {
+        // $merge writes server-side; iterating the (empty) cursor runs the pipeline
+        mongoTemplate.getCollection(collection).aggregate(pipeline).allowDiskUse(true).toCollection();
+    }
+
+    private static Document hourOf(String field) {
+        return new Document("$dateTrunc", new Document("date", field).append("unit", "hour"));
+    }
+
+    private static Document countWhere(String field, String value) {
+        return new Document("$sum", new Document("$cond", List.of(new Document("$eq", List.of(field, value)), 1, 0)));
+    }
+
+    private static Document merge(String collection) {
+        return new Document("$merge", new Document("into", collection)
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert"));
+    }
+}
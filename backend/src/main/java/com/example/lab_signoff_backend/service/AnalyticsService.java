@@ -0,0 +1,117 @@
+package com.example.lab_signoff_backend.service;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read side of the lab analytics.
+ *
+ * Every query here runs against the hourly rollup collections maintained by
+ * {@link AnalyticsRollupService}, never the raw event collections, so the cost
+ * grows with the number of hours in the range rather than the number of events.
+ * Results only cover closed hours up to the last rollup run.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Service
+public class AnalyticsService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AnalyticsService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Sign-offs per TA per hour for a lab.
+     *
+     * @param labId The lab identifier
+     * @param from  Inclusive start hour (null for unbounded)
+     * @param to    Exclusive end hour (null for unbounded)
+     * @return One row per TA and hour with total, passes and returns
+     */
+    public List<Document> getTaThroughput(String labId, Instant from, Instant to) {
+        return aggregate(AnalyticsRollupService.SIGNOFF_ROLLUPS, List.of(
+                new Document("$match", rangeFilter(labId, from, to)),
+                new Document("$group", new Document("_id", new Document("performedBy", "$performedBy").append("hour", "$hour"))
+                        .append("total", new Document("$sum", "$total"))
+                        .append("passes", new Document("$sum", "$passes"))
+                        .append("returns", new Document("$sum", "$returns"))),
+                new Document("$project", new Document("_id", 0)
+                        .append("performedBy", "$_id.performedBy")
+                        .append("hour", "$_id.hour")
+                        .append("total", 1)
+                        .append("passes", 1)
+                        .append("returns", 1)),
+                new Document("$sort", new Document("hour", 1).append("performedBy", 1))));
+    }
+
+    /**
+     * Per-checkpoint totals for a lab, to spot the checkpoints that get returned most.
+     *
+     * @param labId The lab identifier
+     * @param from  Inclusive start hour (null for unbounded)
+     * @param to    Exclusive end hour (null for unbounded)
+     * @return One row per checkpoint with total, passes, returns and passReturnRatio
+     *         (null when a checkpoint has no returns)
+     */
+    public List<Document> getCheckpointSummary(String labId, Instant from, Instant to) {
+        return aggregate(AnalyticsRollupService.SIGNOFF_ROLLUPS, List.of(
+                new Document("$match", rangeFilter(labId, from, to)),
+                new Document("$group", new Document("_id", "$checkpointNumber")
+                        .append("total", new Document("$sum", "$total"))
+                        .append("passes", new Document("$sum", "$passes"))
+                        .append("returns", new Document("$sum", "$returns"))),
+                new Document("$project", new Document("_id", 0)
+                        .append("checkpointNumber", "$_id")
+                        .append("total", 1)
+                        .append("passes", 1)
+                        .append("returns", 1)
+                        .append("passReturnRatio", new Document("$cond", List.of(
+                                new Document("$gt", List.of("$returns", 0)),
+                                new Document("$divide", List.of("$passes", "$returns")),
+                                null)))),
+                new Document("$sort", new Document("checkpointNumber", 1))));
+    }
+
+    /**
+     * Hourly help queue load and median wait for a lab.
+     *
+     * @param labId The lab identifier
+     * @param from  Inclusive start hour (null for unbounded)
+     * @param to    Exclusive end hour (null for unbounded)
+     * @return One row per hour in which requests were raised
+     */
+    public List<Document> getHelpQueueHourly(String labId, Instant from, Instant to) {
+        return aggregate(AnalyticsRollupService.HELP_QUEUE_ROLLUPS, List.of(
+                new Document("$match", rangeFilter(labId, from, to)),
+                new Document("$project", new Document("_id", 0)),
+                new Document("$sort", new Document("hour", 1))));
+    }
+
+    private static Document rangeFilter(String labId, Instant from, Instant to) {
+        Document filter = new Document("labId", labId);
+        Document hour = new Document();
+        if (from != null) {
+            hour.append("$gte", Date.from(from));
+        }
+        if (to != null) {
+            hour.append("$lt", Date.from(to));
+        }
+        if (!hour.isEmpty()) {
+            filter.append("hour", hour);
+        }
+        return filter;
+    }
+
+    private List<Document> aggregate(String collection, List<Document> pipeline) {
+        return mongoTemplate.getCollection(collection).aggregate(pipeline).into(new ArrayList<>());
+    }
+}
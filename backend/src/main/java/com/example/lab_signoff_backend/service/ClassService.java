@@ -1,24 +1,31 @@
 package com.example.lab_signoff_backend.service;
 
+import com.example.lab_signoff_backend.cache.DocumentCaches;
+import com.example.lab_signoff_backend.cache.ResourceVersions;
+import com.example.lab_signoff_backend.csv.CanvasRosterReader;
 import com.example.lab_signoff_backend.model.Class;
 import com.example.lab_signoff_backend.model.Lab;
 import com.example.lab_signoff_backend.model.enums.LabStatus;
 import com.example.lab_signoff_backend.repository.ClassRepository;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Service class for Class/Course management operations
@@ -32,6 +39,15 @@ public class ClassService {
     @Autowired
     private LabService labService;
 
+    @Autowired
+    private DocumentCaches documentCaches;
+
+    @Autowired
+    private ResourceVersions versions;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     /**
      * Create a new class
      */
@@ -40,10 +56,10 @@ public class ClassService {
     }
 
     /**
-     * Get class by ID
+     * Get class by ID (served from the document cache when enabled)
      */
     public Optional<Class> getClassById(String id) {
-        return classRepository.findById(id);
+        return documentCaches.classes().get(id, classRepository::findById);
     }
 
     /**
@@ -183,7 +199,8 @@ public class ClassService {
 
     /**
      * Import roster and labs from Canvas CSV export
-     * Parses the CSV and adds students to the roster and creates lab assignments
+     * Streams the CSV, upserts one lab per Canvas assignment and adds the students to the roster.
+     * Re-importing the same export updates the existing labs instead of creating duplicates.
      */
     public Class importRosterFromCsv(String classId, MultipartFile csvFile) {
         Optional<Class> classOpt = classRepository.findById(classId);
@@ -192,133 +209,92 @@ public class ClassService {
         }
 
         Class classEntity = classOpt.get();
-        List<String> rosterEntries = new ArrayList<>();
-        List<Lab> labsToCreate = new ArrayList<>();
-
-        try (InputStreamReader reader = new InputStreamReader(csvFile.getInputStream());
-             CSVParser parser = new CSVParser(reader, CSVFormat.RFC4180.builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true) // consume header row instead of returning it as a record
-                     .setTrim(true)
-                     .setIgnoreEmptyLines(true)
-                     .build())) {
-
-            List<String> headers = parser.getHeaderNames();
-            if (headers == null || headers.isEmpty()) {
-                throw new RuntimeException("CSV file missing header row");
-            }
-
-            // Map normalized header -> actual header name for case-insensitive/BOM tolerant lookups
-            Map<String, String> headerLookup = new HashMap<>();
-            for (String h : headers) {
-                headerLookup.putIfAbsent(normalizeHeader(h), h);
-            }
+        try (Reader reader = new BufferedReader(new InputStreamReader(csvFile.getInputStream()))) {
+            CanvasRosterReader.Result export = new CanvasRosterReader().read(reader);
 
-            String studentHeader = headerLookup.getOrDefault("student", headers.get(0));
-
-            // Pattern to match lab assignments like "Laboratory for Module 01 (9601577)"
-            Pattern labPattern = Pattern.compile("Laboratory for (.+?)\\s*\\((\\d+)\\)");
-
-            List<CSVRecord> records = parser.getRecords();
-            CSVRecord pointsRecord = records.stream()
-                    .filter(r -> {
-                        String studentCol = getValue(r, studentHeader, headerLookup);
-                        return studentCol != null && studentCol.toLowerCase().contains("points possible");
-                    })
-                    .findFirst()
-                    .orElse(null);
-
-            // Build labs from header definitions
-            for (int i = 4; i < headers.size(); i++) {
-                String header = headers.get(i).trim();
-                Matcher matcher = labPattern.matcher(header);
-
-                if (matcher.find()) {
-                    String labTitle = "Laboratory for " + matcher.group(1);
-
-                    Integer labPoints = 1; // Default to 1 point if parsing fails
-                    if (pointsRecord != null && i < pointsRecord.size()) {
-                        String pointsValue = pointsRecord.get(i);
-                        try {
-                            if (pointsValue != null && !pointsValue.trim().isEmpty()) {
-                                labPoints = (int) Double.parseDouble(pointsValue.trim());
-                            }
-                        } catch (NumberFormatException ignored) {
-                            // keep default
-                        }
-                    }
-
-                    Lab lab = new Lab(
-                            classId,
-                            labTitle,
-                            labPoints,
-                            classEntity.getInstructorId()
-                    );
-                    lab.setDescription("Imported from Canvas: " + header);
-                    lab.setStatus(LabStatus.DRAFT); // Start as draft, teacher can activate later
-
-                    labsToCreate.add(lab);
-                }
-            }
-
-            // Save all labs
-            for (Lab lab : labsToCreate) {
-                labService.upsert(lab);
-            }
-
-            // Parse student roster records (skip points row and empty Student values)
-            for (CSVRecord record : records) {
-                String studentName = getValue(record, studentHeader, headerLookup);
-                if (studentName == null) {
-                    continue;
-                }
-                String normalized = studentName.trim();
-                if (normalized.isEmpty() || normalized.toLowerCase().contains("points possible")) {
-                    continue;
-                }
-                rosterEntries.add(normalized);
-            }
-
-            for (String entry : rosterEntries) {
-                classEntity.addStudentToRoster(entry);
-            }
-
-            return classRepository.save(classEntity);
+            upsertImportedLabs(classEntity, export);
+            addStudentsToRoster(classId, export.students());
 
+            return classRepository.findById(classId).orElse(classEntity);
         } catch (Exception e) {
             throw new RuntimeException("Failed to import roster from CSV: " + e.getMessage(), e);
         }
     }
 
-    private String getValue(CSVRecord record, String logicalHeader, Map<String, String> headerLookup) {
-        if (record == null || logicalHeader == null) {
-            return null;
-        }
-        String key = headerLookup.get(normalizeHeader(logicalHeader));
-        if (key != null && record.isMapped(key)) {
-            return record.get(key);
+    /**
+     * Upsert every imported lab in one unordered bulk write keyed by
+     * (classId, canvasAssignmentId). A new lab starts as a draft with default
+     * checkpoints; an existing one only has its title and description refreshed
+     * so teacher edits (status, checkpoints, join code) survive a re-import.
+     */
+    private void upsertImportedLabs(Class classEntity, CanvasRosterReader.Result export) {
+        if (export.labColumns().isEmpty()) {
+            return;
         }
-        // Fallback: try any header that normalizes to the same value
-        for (var entry : headerLookup.entrySet()) {
-            if (normalizeHeader(logicalHeader).equals(entry.getKey()) && record.isMapped(entry.getValue())) {
-                return record.get(entry.getValue());
+
+        String classId = classEntity.getId();
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Lab.class);
+        List<String> assignmentIds = new ArrayList<>();
+        for (CanvasRosterReader.LabColumn column : export.labColumns()) {
+            Lab lab = new Lab(
+                    classId,
+                    column.title(),
+                    export.pointsFor(column),
+                    classEntity.getInstructorId()
+            );
+            lab.setDescription("Imported from Canvas: " + column.header());
+            lab.setStatus(LabStatus.DRAFT); // Start as draft, teacher can activate later
+            lab.setCanvasAssignmentId(column.canvasAssignmentId());
+
+            Update update = new Update()
+                    .set("title", lab.getTitle())
+                    .set("description", lab.getDescription())
+                    .set("updatedAt", now);
+            Document inserted = new Document();
+            mongoTemplate.getConverter().write(lab, inserted);
+            inserted.remove("_id");
+            for (Map.Entry<String, Object> field : inserted.entrySet()) {
+                if (!update.modifies(field.getKey())) {
+                    update.setOnInsert(field.getKey(), field.getValue());
+                }
             }
+
+            bulk.upsert(Query.query(Criteria.where("classId").is(classId)
+                    .and("canvasAssignmentId").is(column.canvasAssignmentId())), update);
+            assignmentIds.add(column.canvasAssignmentId());
         }
-        return null;
+        bulk.execute();
+
+        // Bulk writes bypass the repository events that keep caches and ETags current
+        Query imported = Query.query(Criteria.where("classId").is(classId).and("canvasAssignmentId").in(assignmentIds));
+        imported.fields().include("_id");
+        for (Lab lab : mongoTemplate.find(imported, Lab.class)) {
+            documentCaches.labs().invalidate(lab.getId());
+            versions.bump(ResourceVersions.LAB, lab.getId());
+        }
+        versions.bump(ResourceVersions.CLASS_LABS, classId);
     }
 
-    private String normalizeHeader(String header) {
-        if (header == null) {
-            return "";
+    /**
+     * Add students to the roster with a single {@code $addToSet $each} update
+     */
+    private void addStudentsToRoster(String classId, Collection<String> students) {
+        if (!students.isEmpty()) {
+            Update update = new Update()
+                    .addToSet("roster").each(students.toArray())
+                    .set("updatedAt", Instant.now());
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(classId)), update, Class.class);
         }
-        return header.replace("\uFEFF", "").trim().toLowerCase();
+        documentCaches.classes().invalidate(classId);
+        versions.bump(ResourceVersions.CLASS, classId);
     }
 
     /**
      * Check if a student is in the class roster
      */
     public boolean isStudentInRoster(String classId, String studentId) {
-        Optional<Class> classOpt = classRepository.findById(classId);
+        Optional<Class> classOpt = getClassById(classId);
         return classOpt.map(c -> c.isStudentInRoster(studentId)).orElse(false);
     }
 
@@ -326,7 +302,7 @@ public class ClassService {
      * Check if a user is a TA for the class
      */
     public boolean isTA(String classId, String userId) {
-        Optional<Class> classOpt = classRepository.findById(classId);
+        Optional<Class> classOpt = getClassById(classId);
         return classOpt.map(c -> c.isTA(userId)).orElse(false);
     }
 
@@ -334,7 +310,7 @@ public class ClassService {
      * Check if a user is the instructor for the class
      */
     public boolean isInstructor(String classId, String userId) {
-        Optional<Class> classOpt = classRepository.findById(classId);
+        Optional<Class> classOpt = getClassById(classId);
         return classOpt.map(c -> c.isInstructor(userId)).orElse(false);
     }
 
@@ -342,7 +318,7 @@ public class ClassService {
      * Check if a user is staff (instructor or TA) for the class
      */
     public boolean isStaff(String classId, String userId) {
-        Optional<Class> classOpt = classRepository.findById(classId);
+        Optional<Class> classOpt = getClassById(classId);
         return classOpt.map(c -> c.isStaff(userId)).orElse(false);
     }
 
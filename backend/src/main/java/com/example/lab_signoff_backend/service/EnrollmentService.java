@@ -1,14 +1,33 @@
 package com.example.lab_signoff_backend.service;
 
+import com.example.lab_signoff_backend.dto.BulkEnrollmentRequestDTO;
+import com.example.lab_signoff_backend.dto.BulkEnrollmentResultDTO;
 import com.example.lab_signoff_backend.model.Enrollment;
 import com.example.lab_signoff_backend.model.enums.EnrollmentRole;
 import com.example.lab_signoff_backend.model.enums.EnrollmentStatus;
 import com.example.lab_signoff_backend.repository.EnrollmentRepository;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for Enrollment management operations
@@ -16,9 +35,21 @@ import java.util.Optional;
 @Service
 public class EnrollmentService {
 
+    /**
+     * Largest batch accepted by {@link #bulkEnroll}
+     */
+    public static final int MAX_BULK_SIZE = 5000;
+
+    // Page size bounds for the keyset-paged roster
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     /**
      * Create a new enrollment
      */
@@ -51,6 +82,131 @@ public class EnrollmentService {
         return enrollmentRepository.save(enrollment);
     }
 
+    /**
+     * Enroll a batch of users, or change their role if already enrolled.
+     *
+     * Existing enrollments for the whole batch are found with one query
+     * ({@code userId $in} per class), then every insert and role change is sent
+     * in one unordered bulk write, so a rejected row does not stop the others.
+     * Dropped or completed enrollments listed in the batch are re-activated.
+     *
+     * @param request     Rows to apply; rows without a classId use the batch classId
+     * @return Per-row outcome in request order
+     */
+    public BulkEnrollmentResultDTO bulkEnroll(BulkEnrollmentRequestDTO request) {
+        List<BulkEnrollmentRequestDTO.Row> rows = request.getEnrollments() == null
+                ? List.of() : request.getEnrollments();
+        if (rows.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " enrollments per batch");
+        }
+
+        List<BulkEnrollmentResultDTO.RowResult> results = new ArrayList<>(rows.size());
+        List<EnrollmentRole> roles = new ArrayList<>(rows.size());
+        Map<String, Set<String>> userIdsByClass = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            BulkEnrollmentRequestDTO.Row row = rows.get(i);
+            String classId = row.getClassId() != null ? row.getClassId() : request.getClassId();
+            BulkEnrollmentResultDTO.RowResult result = new BulkEnrollmentResultDTO.RowResult(i, row.getUserId(), classId);
+            results.add(result);
+            roles.add(null);
+
+            if (row.getUserId() == null || row.getUserId().isBlank() || classId == null || classId.isBlank()) {
+                reject(result, BulkEnrollmentResultDTO.INVALID, "userId and classId are required");
+                continue;
+            }
+            try {
+                roles.set(i, row.getRole() == null ? EnrollmentRole.STUDENT : EnrollmentRole.valueOf(row.getRole().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                reject(result, BulkEnrollmentResultDTO.INVALID, "Unknown role: " + row.getRole());
+                continue;
+            }
+            if (!seen.add(classId + "|" + row.getUserId())) {
+                reject(result, BulkEnrollmentResultDTO.DUPLICATE, "Repeated earlier in the batch");
+                continue;
+            }
+            userIdsByClass.computeIfAbsent(classId, id -> new LinkedHashSet<>()).add(row.getUserId());
+        }
+
+        Map<String, Enrollment> existing = findExisting(userIdsByClass);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class);
+        // Row index of each queued operation, in the order the bulk write reports them
+        List<Integer> rowOfOperation = new ArrayList<>();
+        Instant now = Instant.now();
+
+        for (int i = 0; i < rows.size(); i++) {
+            BulkEnrollmentResultDTO.RowResult result = results.get(i);
+            if (result.getOutcome() != null) {
+                continue;
+            }
+            EnrollmentRole role = roles.get(i);
+            Enrollment current = existing.get(result.getClassId() + "|" + result.getUserId());
+
+            if (current == null) {
+                Enrollment enrollment = new Enrollment(result.getUserId(), result.getClassId(), role);
+                enrollment.setId(new ObjectId().toHexString());
+                bulk.insert(enrollment);
+                rowOfOperation.add(i);
+                result.setEnrollmentId(enrollment.getId());
+                result.setOutcome(BulkEnrollmentResultDTO.CREATED);
+                continue;
+            }
+
+            result.setEnrollmentId(current.getId());
+            if (current.getRole() == role && current.isActive()) {
+                result.setOutcome(BulkEnrollmentResultDTO.UNCHANGED);
+                continue;
+            }
+            Update update = new Update()
+                    .set("role", role)
+                    .set("status", EnrollmentStatus.ACTIVE)
+                    .set("updatedAt", now);
+            if (role == EnrollmentRole.TA && current.getRole() != EnrollmentRole.TA && request.getPerformedBy() != null) {
+                update.set("upgradeRequestedBy", request.getPerformedBy());
+            }
+            bulk.updateOne(Query.query(Criteria.where("id").is(current.getId())), update);
+            rowOfOperation.add(i);
+            result.setOutcome(BulkEnrollmentResultDTO.UPDATED);
+        }
+
+        if (!rowOfOperation.isEmpty()) {
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    BulkEnrollmentResultDTO.RowResult failed = results.get(rowOfOperation.get(error.getIndex()));
+                    failed.setEnrollmentId(null);
+                    reject(failed, BulkEnrollmentResultDTO.FAILED,
+                            error.getCode() == 11000 ? "User is already enrolled in this class" : error.getMessage());
+                }
+            }
+        }
+        return new BulkEnrollmentResultDTO(results);
+    }
+
+    private Map<String, Enrollment> findExisting(Map<String, Set<String>> userIdsByClass) {
+        if (userIdsByClass.isEmpty()) {
+            return Map.of();
+        }
+        List<Criteria> perClass = new ArrayList<>();
+        userIdsByClass.forEach((classId, userIds) ->
+                perClass.add(Criteria.where("classId").is(classId).and("userId").in(userIds)));
+        Query query = Query.query(perClass.size() == 1 ? perClass.get(0) : new Criteria().orOperator(perClass));
+
+        Map<String, Enrollment> byKey = new HashMap<>();
+        for (Enrollment enrollment : mongoTemplate.find(query, Enrollment.class)) {
+            byKey.put(enrollment.getClassId() + "|" + enrollment.getUserId(), enrollment);
+        }
+        return byKey;
+    }
+
+    private static void reject(BulkEnrollmentResultDTO.RowResult result, String outcome, String error) {
+        result.setOutcome(outcome);
+        result.setError(error);
+    }
+
     /**
      * Get enrollment by ID
      */
@@ -101,6 +257,34 @@ public class EnrollmentService {
                 classId, EnrollmentRole.STUDENT, EnrollmentStatus.ACTIVE);
     }
 
+    /**
+     * Get one page of a class's students, ordered by enrollment id.
+     * Pass the id of the last enrollment of the previous page as {@code afterId}.
+     *
+     * @param classId    The class identifier
+     * @param activeOnly Only ACTIVE enrollments when true
+     * @param afterId    Enrollment id to continue after, or null for the first page
+     * @param limit      Page size, clamped to {@link #MAX_PAGE_SIZE}
+     * @return Up to {@code limit + 1} enrollments; the extra row signals another page
+     * @throws IllegalArgumentException if {@code afterId} is not a valid id
+     */
+    public List<Enrollment> getStudentsSlice(String classId, boolean activeOnly, String afterId, int limit) {
+        Criteria filter = Criteria.where("classId").is(classId).and("role").is(EnrollmentRole.STUDENT);
+        if (activeOnly) {
+            filter = filter.and("status").is(EnrollmentStatus.ACTIVE);
+        }
+        if (afterId != null && !afterId.isBlank()) {
+            if (!ObjectId.isValid(afterId)) {
+                throw new IllegalArgumentException("Invalid cursor: " + afterId);
+            }
+            filter = filter.and("_id").gt(new ObjectId(afterId));
+        }
+        Query query = Query.query(filter)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)) + 1);
+        return mongoTemplate.find(query, Enrollment.class);
+    }
+
     /**
      * Get TAs for a class
      */
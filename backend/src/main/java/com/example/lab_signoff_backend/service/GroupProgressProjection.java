@@ -0,0 +1,345 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.cache.ResourceVersions;
+import com.example.lab_signoff_backend.dto.GroupProgressReportDTO;
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.ProjectionCheckpoint;
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
+import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import com.example.lab_signoff_backend.repository.SignoffEventCursor;
+import com.example.lab_signoff_backend.repository.SignoffEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Projection of group checkpoint progress from the signoff event log.
+ *
+ * Treats {@link SignoffEvent} as the source of truth for every checkpoint it
+ * mentions and keeps {@code Group.checkpointProgress} in step with it:
+ * <ul>
+ *   <li><b>Catch-up</b> (scheduled, opt-in): folds new events into groups in
+ *       {@code (timestamp, _id)} order, resuming from a watermark stored in
+ *       {@code projection_checkpoints}. Each update only applies when the event
+ *       is newer than the stored checkpoint, so replays are harmless.</li>
+ *   <li><b>Verify / rebuild</b>: recomputes the latest event per checkpoint for
+ *       every lab in parallel on a fork/join pool and reports (or repairs)
+ *       checkpoints whose stored state disagrees.</li>
+ * </ul>
+ *
+ * Events without a checkpoint number (group-level pass/return) do not affect
+ * checkpoint progress and are skipped. Events carry no display names, so a
+ * stored {@code signedOffByName} is kept while the signer stays the same and
+ * cleared when the projection changes the signer. Every write stamps the
+ * group's {@code lastUpdatedAt} with the write time rather than the event time,
+ * since readers such as {@link LabGradeExportCache} treat it as a change marker
+ * and a replayed or repaired event is usually older than the stored stamp.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Service
+public class GroupProgressProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupProgressProjection.class);
+
+    static final String PROJECTION_ID = "group-progress";
+
+    private static final Comparator<SignoffEvent> EVENT_ORDER = Comparator
+            .comparing(SignoffEvent::getTimestamp)
+            .thenComparing(SignoffEvent::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final MongoTemplate mongoTemplate;
+    private final SignoffEventRepository eventRepository;
+    private final ResourceVersions versions;
+    private final boolean enabled;
+    private final long safetyLagMs;
+    private final int batchSize;
+    private final int rebuildParallelism;
+
+    public GroupProgressProjection(MongoTemplate mongoTemplate,
+                                   SignoffEventRepository eventRepository,
+                                   ResourceVersions versions,
+                                   @Value("${app.projection.group-progress.enabled:false}") boolean enabled,
+                                   @Value("${app.projection.group-progress.safety-lag-ms:5000}") long safetyLagMs,
+                                   @Value("${app.projection.group-progress.batch-size:500}") int batchSize,
+                                   @Value("${app.projection.group-progress.rebuild-parallelism:4}") int rebuildParallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventRepository = eventRepository;
+        this.versions = versions;
+        this.enabled = enabled;
+        this.safetyLagMs = safetyLagMs;
+        this.batchSize = batchSize;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    @Scheduled(fixedDelayString = "${app.projection.group-progress.interval-ms:2000}")
+    public void scheduledCatchUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Group progress catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fold every event older than the safety lag that is past the watermark.
+     * The lag leaves room for events that are written slightly out of timestamp
+     * order (write-behind batches, clock skew between nodes).
+     *
+     * @return Number of events read
+     */
+    public int catchUp() {
+        ProjectionCheckpoint watermark = mongoTemplate.findById(PROJECTION_ID, ProjectionCheckpoint.class);
+        SignoffEventCursor cursor = watermark == null || watermark.getLastEventTimestamp() == null
+                ? null
+                : new SignoffEventCursor(watermark.getLastEventTimestamp(), watermark.getLastEventId());
+        Criteria horizon = Criteria.where("timestamp").lt(Instant.now().minusMillis(safetyLagMs));
+
+        int read = 0;
+        while (true) {
+            List<SignoffEvent> slice = eventRepository.findSlice(horizon, cursor, batchSize);
+            if (slice.isEmpty()) {
+                break;
+            }
+            fold(slice);
+
+            SignoffEvent last = slice.get(slice.size() - 1);
+            cursor = new SignoffEventCursor(last.getTimestamp(), last.getId());
+            mongoTemplate.save(new ProjectionCheckpoint(PROJECTION_ID, last.getTimestamp(), last.getId()));
+            read += slice.size();
+            if (slice.size() < batchSize) {
+                break;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Compare stored progress with the event log without writing anything.
+     *
+     * @param labId Lab to check, or null for every lab with events
+     */
+    public GroupProgressReportDTO verify(String labId) {
+        return run(labId, false);
+    }
+
+    /**
+     * Rewrite every divergent checkpoint to match its latest event.
+     *
+     * @param labId Lab to rebuild, or null for every lab with events
+     */
+    public GroupProgressReportDTO rebuild(String labId) {
+        return run(labId, true);
+    }
+
+    private GroupProgressReportDTO run(String labId, boolean repair) {
+        if (labId != null) {
+            return processLab(labId, repair);
+        }
+        List<String> labIds = mongoTemplate.findDistinct(new Query(), "labId", SignoffEvent.class, String.class);
+        ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+        try {
+            return pool.submit(() -> labIds.parallelStream()
+                            .map(id -> processLab(id, repair))
+                            .reduce(new GroupProgressReportDTO(), GroupProgressReportDTO::merge))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Projection run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Projection run failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Apply a slice of events in order, one guarded positional update each.
+     */
+    private void fold(List<SignoffEvent> events) {
+        Map<String, List<SignoffEvent>> byLab = new LinkedHashMap<>();
+        for (SignoffEvent event : events) {
+            if (isCheckpointEvent(event)) {
+                byLab.computeIfAbsent(event.getLabId(), k -> new ArrayList<>()).add(event);
+            }
+        }
+
+        byLab.forEach((labId, labEvents) -> {
+            // Ordered so two events for the same checkpoint land in sequence
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Group.class);
+            for (SignoffEvent event : labEvents) {
+                // Same signer keeps its display name; a new signer clears it. Whichever
+                // update applies moves the timestamp up, so the other no longer matches.
+                bulk.updateOne(foldQuery(labId, event, Criteria.where("signedOffBy").is(signer(event))),
+                        checkpointUpdate(event, false));
+                bulk.updateOne(foldQuery(labId, event, Criteria.where("signedOffBy").ne(signer(event))),
+                        checkpointUpdate(event, true));
+            }
+            if (bulk.execute().getModifiedCount() > 0) {
+                versions.bump(ResourceVersions.GROUPS, labId);
+            }
+        });
+    }
+
+    private GroupProgressReportDTO processLab(String labId, boolean repair) {
+        // Latest event per (group key, checkpoint); the key is whatever id the writer used
+        Map<String, Map<Integer, SignoffEvent>> latest = new HashMap<>();
+        long scanned = 0;
+        try (Stream<SignoffEvent> events = eventRepository.streamAll(Criteria.where("labId").is(labId))) {
+            for (SignoffEvent event : (Iterable<SignoffEvent>) events::iterator) {
+                scanned++;
+                if (isCheckpointEvent(event)) {
+                    latest.computeIfAbsent(event.getGroupId(), k -> new HashMap<>())
+                            .merge(event.getCheckpointNumber(), event,
+                                    (a, b) -> EVENT_ORDER.compare(a, b) >= 0 ? a : b);
+                }
+            }
+        }
+
+        GroupProgressReportDTO report = new GroupProgressReportDTO();
+        report.setLabsScanned(1);
+        report.setEventsScanned(scanned);
+
+        List<Group> groups = mongoTemplate.find(Query.query(Criteria.where("labId").is(labId)), Group.class);
+        BulkOperations bulk = repair ? mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Group.class) : null;
+        int repairs = 0;
+
+        for (Group group : groups) {
+            Map<Integer, SignoffEvent> expected = new HashMap<>();
+            for (String key : new String[]{group.getId(), group.getGroupId()}) {
+                if (key != null && latest.containsKey(key)) {
+                    latest.get(key).forEach((cp, event) ->
+                            expected.merge(cp, event, (a, b) -> EVENT_ORDER.compare(a, b) >= 0 ? a : b));
+                }
+            }
+
+            Map<Integer, CheckpointProgress> stored = new HashMap<>();
+            if (group.getCheckpointProgress() != null) {
+                group.getCheckpointProgress().forEach(cp -> stored.put(cp.getCheckpointNumber(), cp));
+            }
+
+            for (Map.Entry<Integer, SignoffEvent> entry : expected.entrySet()) {
+                SignoffEvent event = entry.getValue();
+                CheckpointProgress current = stored.get(entry.getKey());
+                if (current == null) {
+                    report.getDivergences().add(new GroupProgressReportDTO.Divergence(labId, group.getId(),
+                            entry.getKey(), "MISSING_CHECKPOINT", event.getAction(), null));
+                    if (repair) {
+                        bulk.updateOne(Query.query(Criteria.where("id").is(group.getId())
+                                        .and("checkpointProgress.checkpointNumber").ne(entry.getKey())),
+                                new Update().push("checkpointProgress", toProgress(event))
+                                        .set("lastUpdatedAt", Instant.now()));
+                        repairs++;
+                    }
+                } else if (diverges(current, event)) {
+                    report.getDivergences().add(new GroupProgressReportDTO.Divergence(labId, group.getId(),
+                            entry.getKey(), "STATUS_MISMATCH", event.getAction(), current.getStatus()));
+                    if (repair) {
+                        // Only overwrite the state we compared against, never a concurrent sign-off
+                        bulk.updateOne(Query.query(Criteria.where("id").is(group.getId())
+                                        .and("checkpointProgress").elemMatch(
+                                                Criteria.where("checkpointNumber").is(entry.getKey())
+                                                        .and("timestamp").is(current.getTimestamp()))),
+                                checkpointUpdate(event, !Objects.equals(current.getSignedOffBy(), signer(event))));
+                        repairs++;
+                    }
+                }
+            }
+
+            for (CheckpointProgress cp : stored.values()) {
+                if (cp.getStatus() != null && !expected.containsKey(cp.getCheckpointNumber())) {
+                    report.getDivergences().add(new GroupProgressReportDTO.Divergence(labId, group.getId(),
+                            cp.getCheckpointNumber(), "UNTRACKED", null, cp.getStatus()));
+                }
+            }
+        }
+
+        if (repair && repairs > 0) {
+            report.setRepaired(bulk.execute().getModifiedCount());
+            versions.bump(ResourceVersions.GROUPS, labId);
+        }
+        return report;
+    }
+
+    private static boolean isCheckpointEvent(SignoffEvent event) {
+        return event.getCheckpointNumber() != null
+                && event.getTimestamp() != null
+                && (event.getAction() == SignoffAction.PASS || event.getAction() == SignoffAction.RETURN);
+    }
+
+    private static boolean diverges(CheckpointProgress current, SignoffEvent event) {
+        if (current.getStatus() != event.getAction()) {
+            return true;
+        }
+        return event.getAction() == SignoffAction.PASS
+                && !Objects.equals(current.getSignedOffBy(), event.getPerformedBy());
+    }
+
+    /**
+     * Match a group by lab plus either its display groupId or its document id,
+     * since writers have recorded both in {@code SignoffEvent.groupId}.
+     */
+    private static Criteria groupCriteria(String labId, String groupKey) {
+        return Criteria.where("labId").is(labId)
+                .orOperator(Criteria.where("groupId").is(groupKey), Criteria.where("id").is(groupKey));
+    }
+
+    private static Query foldQuery(String labId, SignoffEvent event, Criteria signerCriteria) {
+        Criteria newerThanStored = new Criteria().orOperator(
+                Criteria.where("timestamp").lt(event.getTimestamp()),
+                Criteria.where("timestamp").is(null));
+        return new Query(groupCriteria(labId, event.getGroupId())
+                .and("checkpointProgress").elemMatch(
+                        Criteria.where("checkpointNumber").is(event.getCheckpointNumber())
+                                .andOperator(newerThanStored, signerCriteria)));
+    }
+
+    /**
+     * @return The user a checkpoint is signed off by after this event (null after a return)
+     */
+    private static String signer(SignoffEvent event) {
+        return event.getAction() == SignoffAction.PASS ? event.getPerformedBy() : null;
+    }
+
+    private static Update checkpointUpdate(SignoffEvent event, boolean clearName) {
+        Update update = new Update()
+                .set("checkpointProgress.$.status", event.getAction())
+                .set("checkpointProgress.$.signedOffBy", signer(event))
+                .set("checkpointProgress.$.timestamp", event.getTimestamp())
+                .set("checkpointProgress.$.notes", event.getNotes())
+                .set("lastUpdatedAt", Instant.now());
+        return clearName ? update.set("checkpointProgress.$.signedOffByName", null) : update;
+    }
+
+    private static CheckpointProgress toProgress(SignoffEvent event) {
+        CheckpointProgress progress = new CheckpointProgress(event.getCheckpointNumber(), event.getAction());
+        progress.setSignedOffBy(signer(event));
+        progress.setTimestamp(event.getTimestamp());
+        progress.setNotes(event.getNotes());
+        return progress;
+    }
+}
@@ -1,4 +1,6 @@
 package com.example.lab_signoff_backend.service;
+import com.example.lab_signoff_backend.cache.ResourceVersions;
+import com.example.lab_signoff_backend.cache.SingleFlight;
 import com.example.lab_signoff_backend.model.Group;
 import com.example.lab_signoff_backend.model.Lab;
 import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
@@ -9,6 +11,7 @@ import com.example.lab_signoff_backend.model.embedded.GroupMember;
 import com.example.lab_signoff_backend.model.enums.GroupStatus;
 import com.example.lab_signoff_backend.repository.GroupRepository;
 import com.example.lab_signoff_backend.repository.LabRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -23,6 +26,8 @@ public class GroupService {
     private final LabService labService;
     private final EnrollmentService enrollmentService;
     private final UserService userService;
+    private final ResourceVersions versions;
+    private final SingleFlight<String, List<Group>> groupsByLabFlight;
 
     /**
      * Constructor for GroupService.
@@ -32,20 +37,46 @@ public class GroupService {
      * @param labService The LabService for lab operations
      * @param enrollmentService The EnrollmentService for enrollment operations
      * @param userService The UserService for user operations
+     * @param versions Change counters used to keep coalesced reads fresh
+     * @param meterRegistry Registry for the request-coalescing metrics
      */
     public GroupService(GroupRepository repo, LabRepository labRepo, LabService labService,
-                       EnrollmentService enrollmentService, UserService userService) {
+                       EnrollmentService enrollmentService, UserService userService,
+                       ResourceVersions versions, MeterRegistry meterRegistry) {
         this.repo = repo;
         this.labRepo = labRepo;
         this.labService = labService;
         this.enrollmentService = enrollmentService;
         this.userService = userService;
+        this.versions = versions;
+        this.groupsByLabFlight = new SingleFlight<>("groups-by-lab", meterRegistry);
     }
 
+    /**
+     * Fetch all groups of a lab. Concurrent calls for the same lab share one query;
+     * the key includes the lab's group version so a call made after a write never
+     * joins a query that started before it. The returned groups may be shared with
+     * other callers and should not be mutated in place.
+     */
     public List<Group> getGroupsByLabId(String labId) {
-        List<Group> groups = repo.findByLabId(labId);
-        for (Group g : groups) {
+        String key = labId + "@" + versions.etag(ResourceVersions.GROUPS, labId, ResourceVersions.LAB, labId);
+        return new ArrayList<>(groupsByLabFlight.execute(key, () -> {
+            List<Group> groups = repo.findByLabId(labId);
+            for (Group g : groups) {
+                autoInitCheckpoints(g);
+            }
+            return groups;
+        }));
+    }
+
+    /**
+     * Fetch specific groups by id, e.g. only those that changed since a cached read.
+     */
+    public List<Group> getGroupsByIds(Collection<String> ids) {
+        List<Group> groups = new ArrayList<>();
+        for (Group g : repo.findAllById(ids)) {
             autoInitCheckpoints(g);
+            groups.add(g);
         }
         return groups;
     }
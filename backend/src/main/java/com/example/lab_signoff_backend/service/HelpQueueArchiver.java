@@ -0,0 +1,128 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.model.enums.HelpQueueStatus;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Moves closed (resolved or cancelled) help queue items out of the hot
+ * {@code help_queue_items} collection into {@code help_queue_archive}.
+ *
+ * Items are moved in batches of ids: one server-side {@code $merge} copies a
+ * compact form of the batch into the archive, then one {@code deleteMany}
+ * removes exactly those ids. Selecting by id keeps an item that closes between
+ * the two steps from being deleted without being archived, and re-running a
+ * batch is harmless because the archive is keyed by the original {@code _id}.
+ *
+ * When enabled, a scheduled sweep archives items closed longer than the
+ * configured delay; {@link #archiveClosed(String)} does the same for one lab
+ * on demand regardless of age.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class HelpQueueArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(HelpQueueArchiver.class);
+
+    public static final String ARCHIVE_COLLECTION = "help_queue_archive";
+    // Stored form of the closed statuses; the filters below run against raw documents
+    static final List<String> CLOSED_STATUSES = List.of(HelpQueueStatus.RESOLVED.name(), HelpQueueStatus.CANCELLED.name());
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Duration delay;
+
+    public HelpQueueArchiver(MongoTemplate mongoTemplate,
+                             @Value("${app.help-queue.archive.enabled:false}") boolean enabled,
+                             @Value("${app.help-queue.archive.delay-hours:24}") long delayHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.delay = Duration.ofHours(delayHours);
+    }
+
+    @Scheduled(fixedDelayString = "${app.help-queue.archive.interval-ms:600000}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long moved = archive(Criteria.where("status").in(CLOSED_STATUSES)
+                    .and("resolvedAt").lt(Date.from(Instant.now().minus(delay))));
+            if (moved > 0) {
+                log.info("Archived {} closed help queue items", moved);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Help queue archival failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archive every closed item of a lab.
+     *
+     * @return Number of items moved
+     */
+    public long archiveClosed(String labId) {
+        return archive(Criteria.where("labId").is(labId).and("status").in(CLOSED_STATUSES));
+    }
+
+    private long archive(Criteria filter) {
+        String collection = mongoTemplate.getCollectionName(HelpQueueItem.class);
+        long moved = 0;
+        while (true) {
+            Query batch = Query.query(filter).limit(BATCH_SIZE);
+            batch.fields().include("_id");
+            // Raw documents keep the stored _id type (ObjectId) for the pipeline below
+            List<Object> ids = mongoTemplate.find(batch, Document.class, collection).stream()
+                    .map(doc -> doc.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return moved;
+            }
+
+            copyToArchive(collection, ids);
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), HelpQueueItem.class);
+            moved += ids.size();
+            if (ids.size() < BATCH_SIZE) {
+                return moved;
+            }
+        }
+    }
+
+    private void copyToArchive(String collection, List<Object> ids) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("_id", new Document("$in", ids))),
+                // Drop free-text and queue-position fields the archive never needs
+                new Document("$project", new Document("labId", 1)
+                        .append("groupId", 1)
+                        .append("raisedBy", 1)
+                        .append("status", 1)
+                        .append("priority", 1)
+                        .append("raisedAt", 1)
+                        .append("claimedBy", 1)
+                        .append("claimedAt", 1)
+                        .append("resolvedAt", 1)
+                        .append("archivedAt", "$$NOW")),
+                new Document("$merge", new Document("into", ARCHIVE_COLLECTION)
+                        .append("on", "_id")
+                        .append("whenMatched", "keepExisting")
+                        .append("whenNotMatched", "insert")));
+
+        mongoTemplate.getCollection(collection).aggregate(pipeline).toCollection();
+    }
+}
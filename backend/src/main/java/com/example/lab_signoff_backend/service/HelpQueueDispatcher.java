@@ -0,0 +1,275 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.model.enums.HelpQueueStatus;
+import com.example.lab_signoff_backend.websocket.LabWebSocketController;
+import com.example.lab_signoff_backend.websocket.UserIdHandshakeHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional automatic dispatcher for the help queue.
+ *
+ * TAs mark themselves available for a lab; whenever the queue or the set of
+ * available TAs changes, waiting requests are handed out in queue order
+ * (urgent first, then FIFO) to the least-loaded available TA, where load is
+ * the number of requests the TA currently has claimed. A TA is not given the
+ * group they just helped while another TA with the same load can take it.
+ *
+ * Each assignment is an atomic claim ({@link HelpQueueService#claimIfWaiting}),
+ * so the dispatcher and TAs claiming by hand never claim the same request
+ * twice. Assignments are pushed to the TA on {@code /user/queue/help-assignments}
+ * and broadcast on the lab's help queue topic.
+ *
+ * Availability is held in memory on the node that received it. A periodic
+ * sweep catches up on any change the event-driven dispatch missed.
+ *
+ * Availability marked while the TA has an authenticated WebSocket session open
+ * on this node is tied to their sessions and is dropped when the last of them
+ * closes; other tabs, reconnects and sessions named only by the unverified
+ * {@code userId} query parameter never remove it.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class HelpQueueDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(HelpQueueDispatcher.class);
+
+    private final HelpQueueService helpQueueService;
+    private final LabWebSocketController wsController;
+    private final boolean enabled;
+    private final int maxClaimsPerTa;
+    private final Map<String, LabDispatch> labs = new ConcurrentHashMap<>();
+    // Open authenticated WebSocket session ids per user on this node
+    private final Map<String, Set<String>> sessions = new ConcurrentHashMap<>();
+
+    public HelpQueueDispatcher(HelpQueueService helpQueueService,
+                               LabWebSocketController wsController,
+                               @Value("${app.help-queue.dispatch.enabled:false}") boolean enabled,
+                               @Value("${app.help-queue.dispatch.max-claims-per-ta:1}") int maxClaimsPerTa) {
+        this.helpQueueService = helpQueueService;
+        this.wsController = wsController;
+        this.enabled = enabled;
+        this.maxClaimsPerTa = maxClaimsPerTa;
+    }
+
+    /**
+     * @return true when requests are assigned automatically
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Mark a TA available or unavailable for a lab, then dispatch.
+     *
+     * @return The TAs now available for the lab
+     */
+    public List<String> setAvailable(String labId, String userId, boolean available) {
+        LabDispatch lab = labs.computeIfAbsent(labId, id -> new LabDispatch());
+        boolean connected = sessions.containsKey(userId);
+        synchronized (lab) {
+            if (available) {
+                lab.tas.computeIfAbsent(userId, id -> new TaState()).socketBound = connected;
+            } else {
+                lab.tas.remove(userId);
+            }
+        }
+        dispatch(labId);
+        return getAvailableTas(labId);
+    }
+
+    /**
+     * @return The TAs currently available for a lab
+     */
+    public List<String> getAvailableTas(String labId) {
+        LabDispatch lab = labs.get(labId);
+        if (lab == null) {
+            return List.of();
+        }
+        synchronized (lab) {
+            return new ArrayList<>(lab.tas.keySet());
+        }
+    }
+
+    /**
+     * Assign waiting requests to available TAs until either runs out.
+     *
+     * @return The requests assigned by this call
+     */
+    public List<HelpQueueItem> dispatch(String labId) {
+        LabDispatch lab = labs.get(labId);
+        if (!enabled || lab == null) {
+            return List.of();
+        }
+
+        List<HelpQueueItem> assigned = new ArrayList<>();
+        synchronized (lab) {
+            if (lab.tas.isEmpty()) {
+                return assigned;
+            }
+            Map<String, Integer> load = new HashMap<>();
+            for (HelpQueueItem claimed : helpQueueService.getClaimedQueue(labId)) {
+                if (claimed.getClaimedBy() != null) {
+                    load.merge(claimed.getClaimedBy(), 1, Integer::sum);
+                }
+            }
+
+            for (HelpQueueItem waiting : helpQueueService.getWaitingQueue(labId)) {
+                Optional<String> ta = pickTa(lab, load, waiting.getGroupId());
+                if (ta.isEmpty()) {
+                    break;
+                }
+                Optional<HelpQueueItem> claimed = helpQueueService.claimIfWaiting(waiting.getId(), ta.get());
+                if (claimed.isEmpty()) {
+                    // Claimed by hand in the meantime
+                    continue;
+                }
+                load.merge(ta.get(), 1, Integer::sum);
+                TaState state = lab.tas.get(ta.get());
+                state.lastGroupId = waiting.getGroupId();
+                state.lastAssignedAt = Instant.now();
+                assigned.add(claimed.get());
+            }
+        }
+
+        for (HelpQueueItem item : assigned) {
+            notifyAssignment(item);
+        }
+        return assigned;
+    }
+
+    /**
+     * Safety net for changes that did not trigger a dispatch (e.g. made on another node).
+     */
+    @Scheduled(fixedDelayString = "${app.help-queue.dispatch.sweep-interval-ms:5000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        for (String labId : labs.keySet()) {
+            try {
+                dispatch(labId);
+            } catch (RuntimeException e) {
+                log.warn("Help queue dispatch for lab {} failed: {}", labId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Track authenticated WebSocket sessions so availability can follow them.
+     */
+    @EventListener
+    public void onConnect(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (isVerified(event.getUser()) && sessionId != null) {
+            sessions.compute(event.getUser().getName(), (user, open) -> {
+                Set<String> ids = open == null ? ConcurrentHashMap.newKeySet() : open;
+                ids.add(sessionId);
+                return ids;
+            });
+        }
+    }
+
+    /**
+     * A TA whose last WebSocket session closes stops receiving assignments in
+     * the labs where their availability was tied to a session.
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (!isVerified(event.getUser())) {
+            return;
+        }
+        String userId = event.getUser().getName();
+        boolean lastSession = sessions.computeIfPresent(userId, (user, open) -> {
+            open.remove(event.getSessionId());
+            return open.isEmpty() ? null : open;
+        }) == null;
+        if (!lastSession) {
+            return;
+        }
+        for (LabDispatch lab : labs.values()) {
+            synchronized (lab) {
+                TaState ta = lab.tas.get(userId);
+                if (ta != null && ta.socketBound) {
+                    lab.tas.remove(userId);
+                }
+            }
+        }
+    }
+
+    private static boolean isVerified(Principal user) {
+        return user != null && !UserIdHandshakeHandler.isSelfAsserted(user);
+    }
+
+    /**
+     * Least-loaded TA with spare capacity, longest since their last assignment
+     * first, preferring one who did not just help this group.
+     */
+    private Optional<String> pickTa(LabDispatch lab, Map<String, Integer> load, String groupId) {
+        Comparator<Map.Entry<String, TaState>> order = Comparator
+                .comparing((Map.Entry<String, TaState> ta) -> load.getOrDefault(ta.getKey(), 0))
+                .thenComparing(ta -> ta.getValue().lastAssignedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        List<Map.Entry<String, TaState>> candidates = lab.tas.entrySet().stream()
+                .filter(ta -> load.getOrDefault(ta.getKey(), 0) < maxClaimsPerTa)
+                .sorted(order)
+                .toList();
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int lowestLoad = load.getOrDefault(candidates.get(0).getKey(), 0);
+        return candidates.stream()
+                .filter(ta -> load.getOrDefault(ta.getKey(), 0) == lowestLoad)
+                .filter(ta -> !groupId.equals(ta.getValue().lastGroupId))
+                .findFirst()
+                .or(() -> Optional.of(candidates.get(0)))
+                .map(Map.Entry::getKey);
+    }
+
+    private void notifyAssignment(HelpQueueItem item) {
+        try {
+            wsController.sendHelpQueueAssignment(item.getClaimedBy(),
+                    helpQueueService.buildUpdate(item, HelpQueueStatus.WAITING));
+            wsController.broadcastHelpQueueUpdate(item.getLabId(),
+                    helpQueueService.buildUpdate(item, HelpQueueStatus.WAITING));
+        } catch (RuntimeException e) {
+            log.warn("Could not push assignment of {} to {}: {}", item.getId(), item.getClaimedBy(), e.getMessage());
+        }
+    }
+
+    private static final class LabDispatch {
+        // Insertion order breaks ties between TAs that were never assigned
+        private final Map<String, TaState> tas = new LinkedHashMap<>();
+    }
+
+    private static final class TaState {
+        // Marked available while connected; dropped when the TA's last session closes
+        private boolean socketBound;
+        private String lastGroupId;
+        private Instant lastAssignedAt;
+    }
+}
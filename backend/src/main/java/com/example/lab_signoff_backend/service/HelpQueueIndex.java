@@ -0,0 +1,412 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.cache.InvalidationBus;
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.model.enums.HelpQueueStatus;
+import com.example.lab_signoff_backend.repository.HelpQueueItemRepository;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of the active (waiting or claimed) help queue of every lab.
+ *
+ * Waiting items are kept in queue order: urgent requests first, then by
+ * position (FIFO). Two Fenwick trees over positions, one for urgent and one
+ * for normal requests, answer "how many are ahead of me" in O(log n), and the
+ * head of the ordered set is the next group to help.
+ *
+ * The mirror is write-through: every {@link HelpQueueItem} saved or deleted via
+ * Spring Data is applied after the database write succeeds, so reads never
+ * query MongoDB once a lab is loaded. All active items are loaded at startup;
+ * a lab is reloaded from MongoDB on its next read whenever its state cannot be
+ * updated precisely (deletes by id of an unknown item, bulk deletes, or a
+ * change announced by another node over the {@link InvalidationBus}).
+ * The mirror is off by default: without the bus ({@code app.cache.enabled})
+ * a node never hears about another node's writes, so enable it only on a
+ * single node or together with the bus.
+ *
+ * Writes that bypass repository events must call {@link #apply(HelpQueueItem)}
+ * with the stored item (findAndModify) or {@link #refresh(String)} for the
+ * affected lab (bulk updates).
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class HelpQueueIndex extends AbstractMongoEventListener<HelpQueueItem> {
+
+    private static final Logger log = LoggerFactory.getLogger(HelpQueueIndex.class);
+
+    static final String BUS_NAMESPACE = "help-queue";
+    private static final String ALL_LABS = "*";
+    private static final List<HelpQueueStatus> ACTIVE_STATUSES =
+            Arrays.asList(HelpQueueStatus.WAITING, HelpQueueStatus.CLAIMED);
+
+    /**
+     * Queue order: urgent first, then by position, then by id for a stable total order.
+     */
+    public static final Comparator<HelpQueueItem> QUEUE_ORDER = Comparator
+            .comparing((HelpQueueItem item) -> !item.isUrgent())
+            .thenComparing(HelpQueueIndex::positionOf)
+            .thenComparing(HelpQueueItem::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final HelpQueueItemRepository repository;
+    private final InvalidationBus bus;
+    private final boolean enabled;
+    private final Map<String, LabQueue> labs = new ConcurrentHashMap<>();
+
+    public HelpQueueIndex(HelpQueueItemRepository repository,
+                          InvalidationBus bus,
+                          @Value("${app.help-queue.in-memory.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.bus = bus;
+        this.enabled = enabled;
+        if (enabled && !bus.isEnabled()) {
+            log.warn("Help queue in-memory mirror is enabled without the invalidation bus; "
+                    + "this is only safe with a single backend node");
+        }
+    }
+
+    @PostConstruct
+    void registerInvalidation() {
+        bus.register(BUS_NAMESPACE, labId -> {
+            if (ALL_LABS.equals(labId)) {
+                labs.clear();
+            } else {
+                labs.remove(labId);
+            }
+        });
+    }
+
+    /**
+     * Load every active queue item so the first reads after startup are served from memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, LabQueue> loaded = new HashMap<>();
+        for (HelpQueueItem item : repository.findByStatusIn(ACTIVE_STATUSES)) {
+            loaded.computeIfAbsent(item.getLabId(), id -> new LabQueue()).upsert(item);
+        }
+        labs.clear();
+        labs.putAll(loaded);
+        log.info("Help queue index loaded {} labs", loaded.size());
+    }
+
+    /**
+     * @return true when queue reads should be served from this index
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drop a lab from the mirror (null drops every lab); it reloads on next read.
+     */
+    public void refresh(String labId) {
+        if (labId == null) {
+            labs.clear();
+        } else {
+            labs.remove(labId);
+        }
+        bus.publish(BUS_NAMESPACE, labId == null ? ALL_LABS : labId);
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<HelpQueueItem> event) {
+        apply(event.getSource());
+    }
+
+    /**
+     * Mirror a stored item. Called for repository saves, and directly by code
+     * that writes with findAndModify.
+     */
+    public void apply(HelpQueueItem item) {
+        if (!enabled) {
+            return;
+        }
+        // computeIfPresent() waits for a concurrent load of the same lab, so the item is never lost
+        labs.computeIfPresent(item.getLabId(), (labId, queue) -> {
+            queue.upsert(item);
+            return queue;
+        });
+        bus.publish(BUS_NAMESPACE, item.getLabId());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<HelpQueueItem> event) {
+        if (!enabled) {
+            return;
+        }
+        Document query = event.getSource();
+        List<String> ids = idsFrom(query);
+        if (ids != null) {
+            for (String id : ids) {
+                for (Map.Entry<String, LabQueue> entry : labs.entrySet()) {
+                    if (entry.getValue().remove(id)) {
+                        bus.publish(BUS_NAMESPACE, entry.getKey());
+                        break;
+                    }
+                }
+            }
+            // Ids that were not active anywhere change nothing mirrored
+            return;
+        }
+        if (query != null && query.get("labId") instanceof String labId) {
+            refresh(labId);
+            return;
+        }
+        refresh(null);
+    }
+
+    /**
+     * @return The ids a delete by {@code _id} or {@code _id: {$in: [...]}} targets, or null for other deletes
+     */
+    private static List<String> idsFrom(Document query) {
+        Object id = query == null ? null : query.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (!(id instanceof Document operator)) {
+            return List.of(id.toString());
+        }
+        if (operator.size() == 1 && operator.get("$in") instanceof List<?> in) {
+            return in.stream().map(Object::toString).toList();
+        }
+        return null;
+    }
+
+    /**
+     * @return Waiting items in queue order (urgent first, then FIFO)
+     */
+    public List<HelpQueueItem> waiting(String labId) {
+        return queue(labId).waiting();
+    }
+
+    /**
+     * @return Claimed items in position order
+     */
+    public List<HelpQueueItem> claimed(String labId) {
+        return queue(labId).claimed();
+    }
+
+    /**
+     * @return Waiting items in queue order followed by claimed items
+     */
+    public List<HelpQueueItem> active(String labId) {
+        LabQueue queue = queue(labId);
+        synchronized (queue) {
+            List<HelpQueueItem> active = new ArrayList<>(queue.waiting());
+            active.addAll(queue.claimed());
+            return active;
+        }
+    }
+
+    /**
+     * @return The waiting item that should be helped next
+     */
+    public Optional<HelpQueueItem> next(String labId) {
+        return queue(labId).first();
+    }
+
+    /**
+     * @return 1-based place of the item among waiting items, or empty if it is not waiting
+     */
+    public Optional<Integer> rankOf(String labId, String itemId) {
+        return queue(labId).rankOf(itemId);
+    }
+
+    /**
+     * @return The waiting or claimed item of a group, if any
+     */
+    public Optional<HelpQueueItem> activeForGroup(String labId, String groupId) {
+        return queue(labId).forGroup(groupId);
+    }
+
+    public long countWaiting(String labId) {
+        return queue(labId).waitingCount();
+    }
+
+    public long countActive(String labId) {
+        return queue(labId).activeCount();
+    }
+
+    private LabQueue queue(String labId) {
+        return labs.computeIfAbsent(labId, id -> {
+            LabQueue queue = new LabQueue();
+            repository.findByLabIdAndStatusIn(id, ACTIVE_STATUSES).forEach(queue::upsert);
+            return queue;
+        });
+    }
+
+    private static int positionOf(HelpQueueItem item) {
+        return item.getPosition() == null ? 0 : Math.max(item.getPosition(), 0);
+    }
+
+    /**
+     * Active items of one lab. All access is synchronized on the instance.
+     *
+     * Items are held in {@link Slot}s that snapshot the fields the ordering
+     * depends on, so a caller mutating a returned item cannot corrupt the set.
+     */
+    static final class LabQueue {
+        private static final Comparator<Slot> SLOT_ORDER = Comparator
+                .comparing((Slot slot) -> !slot.urgent())
+                .thenComparingInt(Slot::position)
+                .thenComparing(Slot::id);
+
+        private final TreeSet<Slot> waiting = new TreeSet<>(SLOT_ORDER);
+        private final Map<String, Slot> byId = new HashMap<>();
+        private final Map<String, String> idByGroup = new HashMap<>();
+        private final Fenwick urgent = new Fenwick();
+        private final Fenwick normal = new Fenwick();
+
+        synchronized void upsert(HelpQueueItem item) {
+            remove(item.getId());
+            if (!item.isActive()) {
+                return;
+            }
+            Slot slot = new Slot(item.getId(), item.getGroupId(), item.isWaiting(), item.isUrgent(), positionOf(item), item);
+            byId.put(slot.id(), slot);
+            idByGroup.put(slot.groupId(), slot.id());
+            if (slot.waiting()) {
+                waiting.add(slot);
+                (slot.urgent() ? urgent : normal).add(slot.position(), 1);
+            }
+        }
+
+        synchronized boolean remove(String id) {
+            Slot existing = byId.remove(id);
+            if (existing == null) {
+                return false;
+            }
+            idByGroup.remove(existing.groupId(), id);
+            if (waiting.remove(existing)) {
+                (existing.urgent() ? urgent : normal).add(existing.position(), -1);
+            }
+            return true;
+        }
+
+        synchronized List<HelpQueueItem> waiting() {
+            List<HelpQueueItem> items = new ArrayList<>(waiting.size());
+            waiting.forEach(slot -> items.add(slot.item()));
+            return items;
+        }
+
+        synchronized List<HelpQueueItem> claimed() {
+            List<Slot> claimed = new ArrayList<>();
+            for (Slot slot : byId.values()) {
+                if (!slot.waiting()) {
+                    claimed.add(slot);
+                }
+            }
+            claimed.sort(Comparator.comparingInt(Slot::position));
+            return claimed.stream().map(Slot::item).toList();
+        }
+
+        synchronized Optional<HelpQueueItem> first() {
+            return waiting.isEmpty() ? Optional.empty() : Optional.of(waiting.first().item());
+        }
+
+        synchronized Optional<Integer> rankOf(String id) {
+            Slot slot = byId.get(id);
+            if (slot == null || !slot.waiting()) {
+                return Optional.empty();
+            }
+            long ahead = slot.urgent()
+                    ? urgent.prefix(slot.position() - 1)
+                    : urgent.total() + normal.prefix(slot.position() - 1);
+            return Optional.of((int) ahead + 1);
+        }
+
+        synchronized Optional<HelpQueueItem> forGroup(String groupId) {
+            String id = idByGroup.get(groupId);
+            Slot slot = id == null ? null : byId.get(id);
+            return slot == null ? Optional.empty() : Optional.of(slot.item());
+        }
+
+        synchronized long waitingCount() {
+            return waiting.size();
+        }
+
+        synchronized long activeCount() {
+            return byId.size();
+        }
+    }
+
+    private record Slot(String id, String groupId, boolean waiting, boolean urgent, int position, HelpQueueItem item) {
+    }
+
+    /**
+     * Binary indexed tree of item counts per queue position, grown on demand.
+     */
+    static final class Fenwick {
+        // Length stays a power of two so grow() only has to fill in one node
+        private long[] tree = new long[64];
+        private long total;
+
+        void add(int position, long delta) {
+            int index = position + 1;
+            while (index >= tree.length) {
+                grow();
+            }
+            total += delta;
+            for (; index < tree.length; index += index & -index) {
+                tree[index] += delta;
+            }
+        }
+
+        /**
+         * @return Number of items at positions 0..position (inclusive)
+         */
+        long prefix(int position) {
+            long sum = 0;
+            for (int index = Math.min(position + 1, tree.length - 1); index > 0; index -= index & -index) {
+                sum += tree[index];
+            }
+            return sum;
+        }
+
+        long total() {
+            return total;
+        }
+
+        private void grow() {
+            // With a power-of-two length, the only new node covering old entries is the
+            // one at the old length, whose range is every old position
+            int oldLength = tree.length;
+            long sum = prefixAt(oldLength - 1);
+            tree = Arrays.copyOf(tree, oldLength * 2);
+            tree[oldLength] = sum;
+        }
+
+        private long prefixAt(int index) {
+            long sum = 0;
+            for (; index > 0; index -= index & -index) {
+                sum += tree[index];
+            }
+            return sum;
+        }
+    }
+}
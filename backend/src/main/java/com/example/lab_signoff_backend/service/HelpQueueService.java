@@ -1,13 +1,23 @@
 package com.example.lab_signoff_backend.service;
 
+import com.example.lab_signoff_backend.cache.ResourceVersions;
 import com.example.lab_signoff_backend.model.HelpQueueItem;
 import com.example.lab_signoff_backend.model.enums.HelpQueueStatus;
+import com.example.lab_signoff_backend.model.websocket.HelpQueueUpdate;
 import com.example.lab_signoff_backend.repository.HelpQueueItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,24 +26,35 @@ import java.util.Optional;
 @Service
 public class HelpQueueService {
 
+    private static final List<HelpQueueStatus> ACTIVE_STATUSES = Arrays.asList(
+            HelpQueueStatus.WAITING,
+            HelpQueueStatus.CLAIMED
+    );
+
     @Autowired
     private HelpQueueItemRepository helpQueueItemRepository;
 
+    @Autowired
+    private HelpQueueIndex helpQueueIndex;
+
+    @Autowired
+    private HelpQueueWaitEstimator waitEstimator;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ResourceVersions versions;
+
+    @Autowired
+    private HelpQueueArchiver helpQueueArchiver;
+
     /**
      * Raise hand - Add a new help request to the queue
      */
     public HelpQueueItem raiseHand(String labId, String groupId, String raisedBy, String description) {
         // Check if group already has an active request
-        List<HelpQueueStatus> activeStatuses = Arrays.asList(
-                HelpQueueStatus.WAITING,
-                HelpQueueStatus.CLAIMED
-        );
-
-        List<HelpQueueItem> existingRequests = helpQueueItemRepository.findByLabIdAndStatusIn(labId, activeStatuses);
-        boolean groupHasActiveRequest = existingRequests.stream()
-                .anyMatch(item -> item.getGroupId().equals(groupId));
-
-        if (groupHasActiveRequest) {
+        if (hasActiveRequest(labId, groupId)) {
             throw new RuntimeException("Group already has an active help request");
         }
 
@@ -64,8 +85,33 @@ public class HelpQueueService {
             throw new RuntimeException("Can only claim waiting requests. Current status: " + queueItem.getStatus());
         }
 
-        queueItem.claim(userId);
-        return helpQueueItemRepository.save(queueItem);
+        return claimIfWaiting(queueItemId, userId)
+                .orElseThrow(() -> new RuntimeException("Request was already claimed"));
+    }
+
+    /**
+     * Atomically claim a request only if it is still waiting, so two TAs (or a
+     * TA and the dispatcher) can never claim the same request
+     *
+     * @return The claimed item, or empty if it was no longer waiting
+     */
+    public Optional<HelpQueueItem> claimIfWaiting(String queueItemId, String userId) {
+        Query waiting = Query.query(Criteria.where("id").is(queueItemId).and("status").is(HelpQueueStatus.WAITING));
+        Update claim = new Update()
+                .set("status", HelpQueueStatus.CLAIMED)
+                .set("claimedBy", userId)
+                .set("claimedAt", Instant.now());
+        HelpQueueItem claimed = mongoTemplate.findAndModify(waiting, claim,
+                FindAndModifyOptions.options().returnNew(true), HelpQueueItem.class);
+        if (claimed == null) {
+            return Optional.empty();
+        }
+
+        // findAndModify publishes no save event; update the mirrors by hand
+        helpQueueIndex.apply(claimed);
+        versions.bump(ResourceVersions.QUEUE, claimed.getLabId());
+        waitEstimator.recordClaim(claimed);
+        return Optional.of(claimed);
     }
 
     /**
@@ -84,7 +130,9 @@ public class HelpQueueService {
         }
 
         queueItem.resolve();
-        return helpQueueItemRepository.save(queueItem);
+        HelpQueueItem saved = helpQueueItemRepository.save(queueItem);
+        waitEstimator.recordResolve(saved);
+        return saved;
     }
 
     /**
@@ -103,7 +151,9 @@ public class HelpQueueService {
         }
 
         queueItem.cancel();
-        return helpQueueItemRepository.save(queueItem);
+        HelpQueueItem saved = helpQueueItemRepository.save(queueItem);
+        waitEstimator.recordCancel(saved);
+        return saved;
     }
 
     /**
@@ -114,28 +164,64 @@ public class HelpQueueService {
     }
 
     /**
-     * Get waiting queue items for a lab (ordered by position)
+     * Get waiting queue items for a lab (urgent first, then by position)
      */
     public List<HelpQueueItem> getWaitingQueue(String labId) {
-        return helpQueueItemRepository.findWaitingByLab(labId);
+        if (helpQueueIndex.isEnabled()) {
+            return helpQueueIndex.waiting(labId);
+        }
+        List<HelpQueueItem> waiting = new ArrayList<>(helpQueueItemRepository.findWaitingByLab(labId));
+        waiting.sort(HelpQueueIndex.QUEUE_ORDER);
+        return waiting;
     }
 
     /**
      * Get claimed queue items for a lab
      */
     public List<HelpQueueItem> getClaimedQueue(String labId) {
+        if (helpQueueIndex.isEnabled()) {
+            return helpQueueIndex.claimed(labId);
+        }
         return helpQueueItemRepository.findClaimedByLab(labId);
     }
 
     /**
      * Get active (waiting or claimed) queue items for a lab
+     * Waiting items come first in queue order, followed by claimed items
      */
     public List<HelpQueueItem> getActiveQueue(String labId) {
-        List<HelpQueueStatus> activeStatuses = Arrays.asList(
-                HelpQueueStatus.WAITING,
-                HelpQueueStatus.CLAIMED
-        );
-        return helpQueueItemRepository.findByLabIdAndStatusIn(labId, activeStatuses);
+        if (helpQueueIndex.isEnabled()) {
+            return helpQueueIndex.active(labId);
+        }
+        List<HelpQueueItem> active = new ArrayList<>(getWaitingQueue(labId));
+        active.addAll(getClaimedQueue(labId));
+        return active;
+    }
+
+    /**
+     * Get the waiting request that should be helped next (urgent first, then FIFO)
+     */
+    public Optional<HelpQueueItem> getNextInQueue(String labId) {
+        if (helpQueueIndex.isEnabled()) {
+            return helpQueueIndex.next(labId);
+        }
+        return getWaitingQueue(labId).stream().findFirst();
+    }
+
+    /**
+     * Get the 1-based place of a waiting request in its lab's queue
+     */
+    public Optional<Integer> getQueuePosition(String labId, String queueItemId) {
+        if (helpQueueIndex.isEnabled()) {
+            return helpQueueIndex.rankOf(labId, queueItemId);
+        }
+        List<HelpQueueItem> waiting = getWaitingQueue(labId);
+        for (int i = 0; i < waiting.size(); i++) {
+            if (waiting.get(i).getId().equals(queueItemId)) {
+                return Optional.of(i + 1);
+            }
+        }
+        return Optional.empty();
     }
 
     /**
@@ -180,19 +266,91 @@ public class HelpQueueService {
         return helpQueueItemRepository.save(queueItem);
     }
 
+    /**
+     * Estimate how long a waiting request will wait before a TA claims it
+     *
+     * @return Seconds, or empty if the request is not waiting or no TA is active
+     */
+    public Optional<Long> getEstimatedWaitSeconds(String labId, String queueItemId) {
+        return getQueuePosition(labId, queueItemId)
+                .map(position -> waitEstimator.estimateWaitSeconds(labId, position));
+    }
+
+    /**
+     * Estimate how long a request raised now would wait
+     *
+     * @return Seconds, or null if no TA is active
+     */
+    public Long getEstimatedWaitSecondsForNewRequest(String labId) {
+        return getEstimatedWaitSecondsForNewRequest(labId, countWaitingItems(labId));
+    }
+
+    /**
+     * Estimate how long a request raised now would wait, given the current waiting count
+     */
+    public Long getEstimatedWaitSecondsForNewRequest(String labId, long waiting) {
+        return waitEstimator.estimateWaitSeconds(labId, waiting + 1);
+    }
+
+    /**
+     * Get the current service time average and active TA count for a lab
+     */
+    public HelpQueueWaitEstimator.Snapshot getWaitStats(String labId) {
+        return waitEstimator.snapshot(labId);
+    }
+
+    /**
+     * Build the WebSocket update for a queue change, including the lab's current wait estimate
+     */
+    public HelpQueueUpdate buildUpdate(HelpQueueItem item, HelpQueueStatus previousStatus) {
+        HelpQueueUpdate update = new HelpQueueUpdate(item.getId(), item.getLabId(), item.getGroupId(), item.getStatus());
+        update.setPreviousStatus(previousStatus);
+        update.setPriority(item.getPriority());
+        update.setPosition(item.getPosition());
+        update.setRequestedBy(item.getRaisedBy());
+        update.setClaimedBy(item.getClaimedBy());
+        update.setDescription(item.getDescription());
+
+        HelpQueueWaitEstimator.Snapshot wait = getWaitStats(item.getLabId());
+        update.setWaitingCount(countWaitingItems(item.getLabId()));
+        update.setActiveTas(wait.activeTas());
+        update.setAverageServiceSeconds(Math.round(wait.serviceSeconds()));
+        if (item.isWaiting()) {
+            update.setEstimatedWaitSeconds(getEstimatedWaitSeconds(item.getLabId(), item.getId()).orElse(null));
+        }
+        return update;
+    }
+
+    /**
+     * Count waiting and claimed items for a lab in one lookup
+     *
+     * @return Count per active status (WAITING, CLAIMED)
+     */
+    public Map<HelpQueueStatus, Long> getActiveCounts(String labId) {
+        if (helpQueueIndex.isEnabled()) {
+            long waiting = helpQueueIndex.countWaiting(labId);
+            return Map.of(
+                    HelpQueueStatus.WAITING, waiting,
+                    HelpQueueStatus.CLAIMED, helpQueueIndex.countActive(labId) - waiting);
+        }
+        return helpQueueItemRepository.countActiveByStatus(labId);
+    }
+
     /**
      * Count active queue items for a lab
      */
     public long countActiveItems(String labId) {
-        long waiting = helpQueueItemRepository.countByLabIdAndStatus(labId, HelpQueueStatus.WAITING);
-        long claimed = helpQueueItemRepository.countByLabIdAndStatus(labId, HelpQueueStatus.CLAIMED);
-        return waiting + claimed;
+        Map<HelpQueueStatus, Long> counts = getActiveCounts(labId);
+        return counts.get(HelpQueueStatus.WAITING) + counts.get(HelpQueueStatus.CLAIMED);
     }
 
     /**
      * Count waiting queue items for a lab
      */
     public long countWaitingItems(String labId) {
+        if (helpQueueIndex.isEnabled()) {
+            return helpQueueIndex.countWaiting(labId);
+        }
         return helpQueueItemRepository.countByLabIdAndStatus(labId, HelpQueueStatus.WAITING);
     }
 
@@ -208,38 +366,26 @@ public class HelpQueueService {
      * Check if a group has an active help request
      */
     public boolean hasActiveRequest(String labId, String groupId) {
-        List<HelpQueueStatus> activeStatuses = Arrays.asList(
-                HelpQueueStatus.WAITING,
-                HelpQueueStatus.CLAIMED
-        );
-
-        List<HelpQueueItem> items = helpQueueItemRepository.findByLabIdAndStatusIn(labId, activeStatuses);
-        return items.stream().anyMatch(item -> item.getGroupId().equals(groupId));
+        return getActiveRequestForGroup(labId, groupId).isPresent();
     }
 
     /**
      * Get active request for a group (if exists)
+     * A group has at most one active request, found with a single (labId, groupId, status) index lookup
      */
     public Optional<HelpQueueItem> getActiveRequestForGroup(String labId, String groupId) {
-        // Try waiting first
-        Optional<HelpQueueItem> waiting = helpQueueItemRepository
-                .findByLabIdAndGroupIdAndStatus(labId, groupId, HelpQueueStatus.WAITING);
-        if (waiting.isPresent()) {
-            return waiting;
+        if (helpQueueIndex.isEnabled()) {
+            return helpQueueIndex.activeForGroup(labId, groupId);
         }
-
-        // Try claimed
-        return helpQueueItemRepository
-                .findByLabIdAndGroupIdAndStatus(labId, groupId, HelpQueueStatus.CLAIMED);
+        return helpQueueItemRepository.findFirstByLabIdAndGroupIdAndStatusIn(labId, groupId, ACTIVE_STATUSES);
     }
 
     /**
-     * Clear all resolved/cancelled items for a lab (cleanup)
+     * Move all resolved/cancelled items of a lab to the archive (cleanup)
+     *
+     * @return Number of items archived
      */
-    public void clearClosedItems(String labId) {
-        List<HelpQueueItem> allItems = helpQueueItemRepository.findByLabId(labId);
-        allItems.stream()
-                .filter(item -> item.isResolved() || item.isCancelled())
-                .forEach(item -> helpQueueItemRepository.delete(item));
+    public long clearClosedItems(String labId) {
+        return helpQueueArchiver.archiveClosed(labId);
     }
 }
@@ -0,0 +1,172 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-lab help queue wait-time estimator.
+ *
+ * Keeps an exponentially weighted moving average of service time (claim to
+ * resolve) and of observed wait (raise to claim) for each lab, plus the set of
+ * TAs who hold a claim or claimed or resolved a request recently. Each claim or resolve
+ * updates the averages in O(1); nothing re-reads queue history.
+ *
+ * A request with {@code r} groups at or ahead of it in the queue is expected
+ * to wait roughly {@code r * serviceTime / activeTas}. Until a lab has its
+ * first resolved request the configured default service time is used.
+ *
+ * Estimates are node-local: each backend node learns from the claims and
+ * resolves it handles itself.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class HelpQueueWaitEstimator {
+
+    private final double alpha;
+    private final double defaultServiceSeconds;
+    private final Duration taWindow;
+    private final Map<String, LabStats> labs = new ConcurrentHashMap<>();
+
+    public HelpQueueWaitEstimator(@Value("${app.help-queue.estimator.alpha:0.2}") double alpha,
+                                  @Value("${app.help-queue.estimator.default-service-seconds:300}") double defaultServiceSeconds,
+                                  @Value("${app.help-queue.estimator.ta-window-minutes:15}") long taWindowMinutes) {
+        this.alpha = alpha;
+        this.defaultServiceSeconds = defaultServiceSeconds;
+        this.taWindow = Duration.ofMinutes(taWindowMinutes);
+    }
+
+    /**
+     * Record a claim: the claiming TA becomes active and the wait sample is folded in.
+     */
+    public void recordClaim(HelpQueueItem item) {
+        if (item.getClaimedBy() == null || item.getClaimedAt() == null) {
+            return;
+        }
+        LabStats stats = labs.computeIfAbsent(item.getLabId(), id -> new LabStats());
+        synchronized (stats) {
+            stats.seen(item.getClaimedBy(), item.getClaimedAt());
+            stats.openClaims.merge(item.getClaimedBy(), 1, Integer::sum);
+            if (item.getRaisedAt() != null) {
+                stats.waitSeconds = fold(stats.waitSeconds, seconds(item.getRaisedAt(), item.getClaimedAt()));
+            }
+        }
+    }
+
+    /**
+     * Record a resolve: the claim-to-resolve time is folded into the service time average.
+     */
+    public void recordResolve(HelpQueueItem item) {
+        if (item.getClaimedAt() == null || item.getResolvedAt() == null) {
+            return;
+        }
+        LabStats stats = labs.computeIfAbsent(item.getLabId(), id -> new LabStats());
+        synchronized (stats) {
+            if (item.getClaimedBy() != null) {
+                stats.seen(item.getClaimedBy(), item.getResolvedAt());
+                stats.release(item.getClaimedBy());
+            }
+            stats.serviceSeconds = fold(stats.serviceSeconds, seconds(item.getClaimedAt(), item.getResolvedAt()));
+            stats.resolved++;
+        }
+    }
+
+    /**
+     * Record a cancel: a cancelled claimed request no longer keeps its TA busy.
+     */
+    public void recordCancel(HelpQueueItem item) {
+        LabStats stats = item.getClaimedBy() == null ? null : labs.get(item.getLabId());
+        if (stats == null) {
+            return;
+        }
+        synchronized (stats) {
+            stats.release(item.getClaimedBy());
+        }
+    }
+
+    /**
+     * Estimate how long a request waits before being claimed.
+     *
+     * @param labId The lab identifier
+     * @param ahead Number of waiting requests served before this one, plus one for itself
+     * @return Estimated wait in seconds, or null when no TA has been active recently
+     */
+    public Long estimateWaitSeconds(String labId, long ahead) {
+        Snapshot snapshot = snapshot(labId);
+        if (snapshot.activeTas() == 0) {
+            return null;
+        }
+        return Math.round(ahead * snapshot.serviceSeconds() / snapshot.activeTas());
+    }
+
+    /**
+     * @return Current averages and active TA count for a lab
+     */
+    public Snapshot snapshot(String labId) {
+        LabStats stats = labs.get(labId);
+        if (stats == null) {
+            return new Snapshot(defaultServiceSeconds, null, 0, 0);
+        }
+        synchronized (stats) {
+            return new Snapshot(
+                    Double.isNaN(stats.serviceSeconds) ? defaultServiceSeconds : stats.serviceSeconds,
+                    Double.isNaN(stats.waitSeconds) ? null : stats.waitSeconds,
+                    stats.activeTas(Instant.now().minus(taWindow)),
+                    stats.resolved);
+        }
+    }
+
+    private double fold(double average, double sample) {
+        return Double.isNaN(average) ? sample : alpha * sample + (1 - alpha) * average;
+    }
+
+    private static double seconds(Instant from, Instant to) {
+        return Math.max(0, Duration.between(from, to).toMillis() / 1000.0);
+    }
+
+    /**
+     * @param serviceSeconds  Average claim-to-resolve time
+     * @param waitSeconds     Average observed raise-to-claim time (null before the first claim)
+     * @param activeTas       TAs holding a claim or who claimed or resolved a request within the window
+     * @param resolvedSamples Resolved requests folded into the service time so far
+     */
+    public record Snapshot(double serviceSeconds, Double waitSeconds, int activeTas, long resolvedSamples) {
+    }
+
+    private static final class LabStats {
+        private double serviceSeconds = Double.NaN;
+        private double waitSeconds = Double.NaN;
+        private long resolved;
+        private final Map<String, Instant> taLastSeen = new HashMap<>();
+        private final Map<String, Integer> openClaims = new HashMap<>();
+
+        void seen(String taId, Instant at) {
+            taLastSeen.merge(taId, at, (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        void release(String taId) {
+            openClaims.computeIfPresent(taId, (id, open) -> open > 1 ? open - 1 : null);
+        }
+
+        int activeTas(Instant cutoff) {
+            // Bounded by the number of TAs in the lab, not by queue history
+            Iterator<Map.Entry<String, Instant>> lastSeen = taLastSeen.entrySet().iterator();
+            while (lastSeen.hasNext()) {
+                Map.Entry<String, Instant> entry = lastSeen.next();
+                if (entry.getValue().isBefore(cutoff) && !openClaims.containsKey(entry.getKey())) {
+                    lastSeen.remove();
+                }
+            }
+            return taLastSeen.size();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.Class;
+import com.example.lab_signoff_backend.model.Enrollment;
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.Lab;
+import com.example.lab_signoff_backend.model.User;
+import com.example.lab_signoff_backend.model.embedded.CheckpointDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-lab cache of finished grade exports, kept as files on local disk.
+ *
+ * Each request re-checks a fingerprint of the export's inputs: the lab's
+ * checkpoint setup, the class roster, the active enrollments, and the
+ * {@code lastUpdatedAt} of every group (read with a projection, so no
+ * checkpoint progress is loaded). When nothing changed the existing file is
+ * served as is. When only groups changed, just those groups are reloaded and
+ * the rows are rebuilt from the cached copies of the rest; roster or
+ * enrollment changes (or an entry older than the max age, which also picks up
+ * user profile edits) trigger a full reload.
+ *
+ * Every version is written to its own file ({@code lab_<id>_<version>.csv}),
+ * so a download always reads the content its ETag and Content-Length describe,
+ * even when the connector opens the file after the response is committed.
+ * Superseded files are deleted once they have been retired for
+ * {@link #RETIRED_GRACE}, long enough for any download already started.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class LabGradeExportCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LabGradeExportCache.class);
+
+    static final Duration RETIRED_GRACE = Duration.ofMinutes(10);
+
+    private final LabGradeExportService exportService;
+    private final LabService labService;
+    private final ClassService classService;
+    private final GroupService groupService;
+    private final EnrollmentService enrollmentService;
+    private final UserService userService;
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration maxAge;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Versions from before a restart never match afterwards
+    private final String epoch = Long.toHexString(System.nanoTime() ^ System.currentTimeMillis());
+    private final AtomicLong generations = new AtomicLong();
+
+    public LabGradeExportCache(LabGradeExportService exportService,
+                               LabService labService,
+                               ClassService classService,
+                               GroupService groupService,
+                               EnrollmentService enrollmentService,
+                               UserService userService,
+                               MongoTemplate mongoTemplate,
+                               @Value("${app.grade-export.cache.enabled:false}") boolean enabled,
+                               @Value("${app.grade-export.cache.dir:data/export-cache}") String directory,
+                               @Value("${app.grade-export.cache.max-age-minutes:30}") long maxAgeMinutes) {
+        this.exportService = exportService;
+        this.labService = labService;
+        this.classService = classService;
+        this.groupService = groupService;
+        this.enrollmentService = enrollmentService;
+        this.userService = userService;
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    /**
+     * @return true when exports should be served through this cache
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Return the current export for a lab, rebuilding only what changed.
+     *
+     * @throws NoSuchElementException if the lab or its class does not exist
+     */
+    public CachedExport get(String labId) {
+        Lab lab = labService.getById(labId)
+                .orElseThrow(() -> new NoSuchElementException("Lab not found"));
+        Class classEntity = classService.getClassById(lab.getClassId())
+                .orElseThrow(() -> new NoSuchElementException("Class not found for lab " + labId));
+        List<Enrollment> enrollments = enrollmentService.getActiveStudents(classEntity.getId());
+        long inputs = fingerprint(lab, classEntity, enrollments);
+        Map<String, Instant> stamps = groupStamps(labId);
+
+        Entry entry = entries.computeIfAbsent(labId, id -> new Entry());
+        synchronized (entry) {
+            boolean fresh = entry.export != null
+                    && entry.builtAt.plus(maxAge).isAfter(Instant.now())
+                    && entry.inputs == inputs;
+            if (fresh && entry.stamps.equals(stamps)) {
+                return entry.export;
+            }
+
+            if (fresh) {
+                refreshGroups(entry, stamps);
+            } else {
+                Set<String> userIds = enrollments.stream().map(Enrollment::getUserId).collect(Collectors.toSet());
+                entry.users = userService.findByIds(userIds);
+                entry.groups = new LinkedHashMap<>();
+                for (Group group : groupService.getGroupsByLabId(labId)) {
+                    entry.groups.put(group.getId(), group);
+                }
+                entry.builtAt = Instant.now();
+            }
+            entry.inputs = inputs;
+            entry.stamps = stamps;
+
+            byte[] csv = exportService.buildCsv(lab, classEntity, new ArrayList<>(entry.groups.values()),
+                    enrollments, entry.users);
+            CachedExport previous = entry.export;
+            entry.export = write(labId, csv, epoch + "-" + generations.incrementAndGet());
+            if (previous != null) {
+                entry.retired.add(new Retired(previous.file(), Instant.now()));
+            } else {
+                deleteStale(labId, entry.export.file());
+            }
+            deleteRetired(entry, Instant.now().minus(RETIRED_GRACE));
+            return entry.export;
+        }
+    }
+
+    /**
+     * Drop a lab's cached export (e.g. after a destructive change made outside the app).
+     */
+    public void evict(String labId) {
+        Entry entry = entries.remove(labId);
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            // Downloads that already hold the file keep reading it; new ones rebuild
+            if (entry.export != null) {
+                entry.retired.add(new Retired(entry.export.file(), Instant.now()));
+            }
+            deleteRetired(entry, Instant.MAX);
+        }
+    }
+
+    /**
+     * Remove files a previous run left behind for this lab.
+     */
+    private void deleteStale(String labId, Path current) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "lab_" + labId + "_*.csv")) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not clean up old exports for lab {}: {}", labId, e.getMessage());
+        }
+    }
+
+    private static void deleteRetired(Entry entry, Instant retiredBefore) {
+        entry.retired.removeIf(retired -> {
+            if (!retired.at().isBefore(retiredBefore)) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(retired.file());
+            } catch (IOException e) {
+                log.debug("Could not delete cached export {}: {}", retired.file(), e.getMessage());
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Reload changed and new groups; drop deleted ones.
+     */
+    private void refreshGroups(Entry entry, Map<String, Instant> stamps) {
+        entry.groups.keySet().retainAll(stamps.keySet());
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, Instant> stamp : stamps.entrySet()) {
+            if (!entry.groups.containsKey(stamp.getKey())
+                    || !Objects.equals(entry.stamps.get(stamp.getKey()), stamp.getValue())) {
+                changed.add(stamp.getKey());
+            }
+        }
+        for (Group group : groupService.getGroupsByIds(changed)) {
+            entry.groups.put(group.getId(), group);
+        }
+        log.debug("Refreshed {} of {} groups for cached export", changed.size(), stamps.size());
+    }
+
+    private Map<String, Instant> groupStamps(String labId) {
+        Query query = Query.query(Criteria.where("labId").is(labId));
+        query.fields().include("_id").include("lastUpdatedAt");
+        Map<String, Instant> stamps = new HashMap<>();
+        for (Group group : mongoTemplate.find(query, Group.class)) {
+            stamps.put(group.getId(), group.getLastUpdatedAt());
+        }
+        return stamps;
+    }
+
+    /**
+     * Everything the export depends on besides the groups and user profiles
+     */
+    private static long fingerprint(Lab lab, Class classEntity, List<Enrollment> enrollments) {
+        long hash = Objects.hash(lab.getTitle(), lab.getDescription(), lab.getPoints(),
+                classEntity.getSection(), classEntity.getRoster());
+        if (lab.getCheckpoints() != null) {
+            for (CheckpointDefinition def : lab.getCheckpoints()) {
+                hash = hash * 1_000_003 + (def == null ? 0 : Objects.hash(def.getNumber(), def.getPoints()));
+            }
+        }
+        for (Enrollment enrollment : enrollments) {
+            hash = hash * 1_000_003 + Objects.hash(enrollment.getId(), enrollment.getUserId(),
+                    enrollment.getStatus(), enrollment.getUpdatedAt());
+        }
+        return hash;
+    }
+
+    private CachedExport write(String labId, byte[] csv, String version) {
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve("lab_" + labId + "_" + version + ".csv");
+            Path temp = Files.createTempFile(directory, "lab_" + labId, ".tmp");
+            Files.write(temp, csv);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new CachedExport(target, csv.length, LabGradeExportService.fileName(labId), version);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cached export for lab " + labId, e);
+        }
+    }
+
+    /**
+     * A finished export on disk.
+     *
+     * @param file     The CSV file
+     * @param size     File size in bytes
+     * @param fileName Download file name
+     * @param version  Changes whenever the content may have changed (usable as an ETag)
+     */
+    public record CachedExport(Path file, long size, String fileName, String version) {
+    }
+
+    private record Retired(Path file, Instant at) {
+    }
+
+    private static final class Entry {
+        private long inputs;
+        private Map<String, Instant> stamps = Map.of();
+        private Map<String, Group> groups = new LinkedHashMap<>();
+        private Map<String, User> users = Map.of();
+        private Instant builtAt = Instant.EPOCH;
+        private CachedExport export;
+        private final List<Retired> retired = new ArrayList<>();
+    }
+}
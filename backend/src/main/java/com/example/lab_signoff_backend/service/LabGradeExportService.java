@@ -9,6 +9,7 @@ import com.example.lab_signoff_backend.model.embedded.CheckpointDefinition;
 import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
 import com.example.lab_signoff_backend.model.embedded.GroupMember;
 import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import com.example.lab_signoff_backend.csv.GradebookMatrix;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.stereotype.Service;
@@ -16,7 +17,6 @@ import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.io.StringWriter;
-import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
@@ -74,8 +74,26 @@ public class LabGradeExportService {
                 .collect(Collectors.toSet());
         Map<String, User> users = userService.findByIds(enrollmentUserIds);
 
+        byte[] csvBytes = buildCsv(lab, classEntity, groups, enrollments, users);
+
+        return new ExportResult(fileName(labId), csvBytes);
+    }
+
+    static String fileName(String labId) {
+        return "lab_" + labId + "_grades.csv";
+    }
+
+    /**
+     * Build the CSV for already-loaded data: roster rows, group scores, then the file.
+     * Package-private so it can be exercised without the repositories behind it.
+     */
+    byte[] buildCsv(Lab lab,
+                    Class classEntity,
+                    List<Group> groups,
+                    List<Enrollment> enrollments,
+                    Map<String, User> users) {
         Map<Integer, Integer> checkpointPoints = buildCheckpointPointMap(lab);
-        BigDecimal pointsPossible = calculatePointsPossible(checkpointPoints, lab);
+        long pointsPossible = calculatePointsPossible(checkpointPoints, lab);
 
         RowSet rowSet = buildInitialRows(classEntity, enrollments, users);
         applyGroupResults(
@@ -89,13 +107,11 @@ public class LabGradeExportService {
         );
         finalizeRosterZeros(rowSet.orderedRows.values());
 
-        byte[] csvBytes = writeCsv(
+        return writeCsv(
                 determineCanvasColumnName(lab),
                 pointsPossible,
                 rowSet.orderedRows.values()
         );
-
-        return new ExportResult("lab_" + labId + "_grades.csv", csvBytes);
     }
 
     private Map<Integer, Integer> buildCheckpointPointMap(Lab lab) {
@@ -122,17 +138,19 @@ public class LabGradeExportService {
         return points;
     }
 
-    private BigDecimal calculatePointsPossible(Map<Integer, Integer> checkpointPoints, Lab lab) {
-        BigDecimal total = checkpointPoints.values().stream()
-                .map(BigDecimal::valueOf)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        if (total.compareTo(BigDecimal.ZERO) <= 0) {
+    // Scores are carried as hundredths (see GradebookMatrix) and formatted only when written
+    private long calculatePointsPossible(Map<Integer, Integer> checkpointPoints, Lab lab) {
+        long total = 0;
+        for (int points : checkpointPoints.values()) {
+            total += points * GradebookMatrix.SCALE;
+        }
+        if (total <= 0) {
             Integer fallback = lab.getPoints();
             if (fallback != null && fallback > 0) {
-                total = BigDecimal.valueOf(fallback);
+                total = fallback * GradebookMatrix.SCALE;
             }
         }
-        return total.compareTo(BigDecimal.ZERO) > 0 ? total : BigDecimal.ONE;
+        return total > 0 ? total : GradebookMatrix.SCALE;
     }
 
     private RowSet buildInitialRows(Class classEntity,
@@ -188,7 +206,7 @@ public class LabGradeExportService {
 
     private void applyGroupResults(List<Group> groups,
                                    Map<Integer, Integer> checkpointPoints,
-                                   BigDecimal pointsPossible,
+                                   long pointsPossible,
                                    LinkedHashMap<String, StudentRow> orderedRows,
                                    Map<String, StudentRow> rowsByUserId,
                                    Map<String, User> users,
@@ -200,7 +218,7 @@ public class LabGradeExportService {
         AtomicInteger extraCounter = new AtomicInteger(0);
 
         for (Group group : groups) {
-            BigDecimal groupScore = clampScore(
+            long groupScore = clampScore(
                     calculateGroupScore(group, checkpointPoints),
                     pointsPossible
             );
@@ -255,28 +273,28 @@ public class LabGradeExportService {
                 }
 
                 boolean present = member.getPresent() == null || Boolean.TRUE.equals(member.getPresent());
-                row.score = present ? groupScore : BigDecimal.ZERO;
+                row.score = present ? groupScore : 0;
                 row.hasScore = true;
             }
         }
     }
 
-    private BigDecimal calculateGroupScore(Group group, Map<Integer, Integer> checkpointPoints) {
+    private long calculateGroupScore(Group group, Map<Integer, Integer> checkpointPoints) {
         if (group.getCheckpointProgress() == null) {
-            return BigDecimal.ZERO;
+            return 0;
         }
-        BigDecimal total = BigDecimal.ZERO;
+        long total = 0;
         for (CheckpointProgress progress : group.getCheckpointProgress()) {
             if (progress == null) {
                 continue;
             }
             if (progress.getPointsAwarded() != null) {
-                total = total.add(BigDecimal.valueOf(progress.getPointsAwarded()));
+                total += progress.getPointsAwarded() * GradebookMatrix.SCALE;
                 continue;
             }
             if (progress.getStatus() == SignoffAction.PASS) {
                 int points = checkpointPoints.getOrDefault(progress.getCheckpointNumber(), 1);
-                total = total.add(BigDecimal.valueOf(points));
+                total += points * GradebookMatrix.SCALE;
             }
         }
         return total;
@@ -285,14 +303,14 @@ public class LabGradeExportService {
     private void finalizeRosterZeros(Collection<StudentRow> rows) {
         for (StudentRow row : rows) {
             if (row.onRoster && !row.hasScore) {
-                row.score = BigDecimal.ZERO;
+                row.score = 0;
                 row.hasScore = true;
             }
         }
     }
 
     private byte[] writeCsv(String labColumnName,
-                            BigDecimal pointsPossible,
+                            long pointsPossible,
                             Collection<StudentRow> rows) {
         try (StringWriter writer = new StringWriter();
              CSVPrinter csv = new CSVPrinter(writer, CSVFormat.RFC4180)) {
@@ -304,7 +322,7 @@ public class LabGradeExportService {
                     "",
                     "",
                     "",
-                    formatDecimal(pointsPossible)
+                    GradebookMatrix.formatHundredths(pointsPossible)
             );
 
             for (StudentRow row : rows) {
@@ -391,31 +409,18 @@ public class LabGradeExportService {
         return buildCanvasName(user);
     }
 
-    private BigDecimal clampScore(BigDecimal score, BigDecimal max) {
-        if (score == null) {
-            return BigDecimal.ZERO;
-        }
-        if (score.compareTo(BigDecimal.ZERO) < 0) {
-            return BigDecimal.ZERO;
+    private long clampScore(long score, long max) {
+        if (score < 0) {
+            return 0;
         }
-        if (max != null && score.compareTo(max) > 0) {
-            return max;
-        }
-        return score;
+        return Math.min(score, max);
     }
 
     private String gradeCell(StudentRow row) {
-        if (row.score == null) {
-            return "";
-        }
-        return formatDecimal(row.score);
-    }
-
-    private String formatDecimal(BigDecimal value) {
-        if (value == null) {
+        if (!row.hasScore) {
             return "";
         }
-        return value.stripTrailingZeros().toPlainString();
+        return GradebookMatrix.formatHundredths(row.score);
     }
 
     private String safe(String value) {
@@ -482,7 +487,7 @@ public class LabGradeExportService {
         private String section;
         private boolean onRoster;
         private boolean hasScore;
-        private BigDecimal score;
+        private long score;  // hundredths, meaningful when hasScore
 
         StudentRow(String key) {
             this.key = key;
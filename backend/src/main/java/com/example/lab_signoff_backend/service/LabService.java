@@ -1,10 +1,14 @@
 package com.example.lab_signoff_backend.service;
 
+import com.example.lab_signoff_backend.cache.DocumentCaches;
+import com.example.lab_signoff_backend.cache.SingleFlight;
 import com.example.lab_signoff_backend.model.Lab;
 import com.example.lab_signoff_backend.repository.LabRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -19,14 +23,20 @@ import java.util.Optional;
 @Service
 public class LabService {
     private final LabRepository repo;
+    private final DocumentCaches caches;
+    private final SingleFlight<String, Optional<Lab>> joinCodeFlight;
 
     /**
      * Constructor for LabService.
      *
-     * @param repo The LabRepository for database operations
+     * @param repo          The LabRepository for database operations
+     * @param caches        Second-level caches used for lookups by id
+     * @param meterRegistry Registry for the request-coalescing metrics
      */
-    public LabService(LabRepository repo) {
+    public LabService(LabRepository repo, DocumentCaches caches, MeterRegistry meterRegistry) {
         this.repo = repo;
+        this.caches = caches;
+        this.joinCodeFlight = new SingleFlight<>("lab-by-join-code", meterRegistry);
     }
 
     /**
@@ -69,7 +79,8 @@ public class LabService {
     }
 
     /**
-     * Find a lab using its public join code.
+     * Find a lab using its public join code. A whole section joining at once
+     * shares a single lookup per code.
      *
      * @param joinCode The join code provided by students
      * @return Optional containing the lab if it exists
@@ -78,11 +89,12 @@ public class LabService {
         if (joinCode == null) {
             return Optional.empty();
         }
-        return repo.findByJoinCodeIgnoreCase(joinCode.trim());
+        String code = joinCode.trim();
+        return joinCodeFlight.execute(code.toUpperCase(Locale.ROOT), () -> repo.findByJoinCodeIgnoreCase(code));
     }
 
     /**
-     * Find a lab by its identifier.
+     * Find a lab by its identifier. Served from the document cache when enabled.
      *
      * @param id The lab id
      * @return Optional containing the lab if found
@@ -91,6 +103,6 @@ public class LabService {
         if (id == null) {
             return Optional.empty();
         }
-        return repo.findById(id);
+        return caches.labs().get(id, repo::findById);
     }
 }
@@ -0,0 +1,448 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.ags.ActivityProgress;
+import com.example.lab_signoff_backend.ags.AgsGradesClient;
+import com.example.lab_signoff_backend.ags.CheckpointState;
+import com.example.lab_signoff_backend.ags.GradingProgress;
+import com.example.lab_signoff_backend.ags.MockAgsController;
+import com.example.lab_signoff_backend.ags.ScoreFormulaService;
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.Lab;
+import com.example.lab_signoff_backend.model.ScoreOutboxEntry;
+import com.example.lab_signoff_backend.model.embedded.CheckpointDefinition;
+import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
+import com.example.lab_signoff_backend.model.embedded.GroupMember;
+import com.example.lab_signoff_backend.model.enums.ScoreOutboxStatus;
+import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable outbox between checkpoint signoffs and the LMS gradebook.
+ *
+ * Signoffs only write the students' current scores to {@code score_outbox};
+ * no LMS call happens on the request path. Each (line item, student) pair is
+ * one document, so a student signed off on several checkpoints in a row has a
+ * single pending update holding the latest score.
+ *
+ * When enabled, a scheduled worker claims due entries in batches, publishes
+ * each batch with one call to the grades endpoint and records the outcome per
+ * entry. Throughput is capped at {@code max-scores-per-second} by a budget that
+ * carries over between runs: a run stops once it has used up its share and the
+ * next scheduled run continues, so the worker never sleeps on a scheduler
+ * thread. Failed entries
+ * are retried with exponential backoff and jitter until {@code max-attempts};
+ * scores the LMS rejects outright (4xx other than 408/429) fail immediately.
+ *
+ * Claims are leases: a claimed entry is not due again until the lease runs
+ * out, so several nodes can run the worker and a crashed node's batch is
+ * picked up later. Results are only recorded against the revision that was
+ * sent; a score changed while its batch was in flight stays pending and goes
+ * out in a later batch.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class ScorePublishOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(ScorePublishOutbox.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final LabService labService;
+    private final GroupService groupService;
+    private final AgsGradesClient client;
+    private final ScoreFormulaService formula = new ScoreFormulaService();
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final double maxScoresPerSecond;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final long burstNanos;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    // Rate budget: no batch starts before this nanoTime (only touched by the scheduled drain)
+    private long nextSendNanos;
+
+    public ScorePublishOutbox(MongoTemplate mongoTemplate,
+                              LabService labService,
+                              GroupService groupService,
+                              AgsGradesClient client,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.ags.publish.enabled:false}") boolean enabled,
+                              @Value("${app.ags.publish.batch-size:50}") int batchSize,
+                              @Value("${app.ags.publish.max-batches-per-run:20}") int maxBatchesPerRun,
+                              @Value("${app.ags.publish.max-scores-per-second:100}") double maxScoresPerSecond,
+                              @Value("${app.ags.publish.max-attempts:8}") int maxAttempts,
+                              @Value("${app.ags.publish.initial-backoff-ms:1000}") long initialBackoffMs,
+                              @Value("${app.ags.publish.max-backoff-ms:600000}") long maxBackoffMs,
+                              @Value("${app.ags.publish.lease-seconds:60}") long leaseSeconds,
+                              @Value("${app.ags.publish.interval-ms:2000}") long intervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.labService = labService;
+        this.groupService = groupService;
+        this.client = client;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxScoresPerSecond = maxScoresPerSecond;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        // Unused budget is kept for at most one interval, so an idle worker can catch up one run's worth
+        this.burstNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        this.nextSendNanos = System.nanoTime() - burstNanos;
+        this.sent = outcomes(meterRegistry, "sent");
+        this.retried = outcomes(meterRegistry, "retried");
+        this.failed = outcomes(meterRegistry, "failed");
+    }
+
+    /**
+     * @return true when signoffs queue scores for the LMS
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue the current score of every member of a group. Never throws, so a
+     * signoff is not failed by the outbox.
+     *
+     * @return Number of scores queued
+     */
+    public int enqueueGroup(String labId, Group group) {
+        if (!enabled) {
+            return 0;
+        }
+        try {
+            return labService.getById(labId)
+                    .map(lab -> enqueue(lab, List.of(group)))
+                    .orElse(0);
+        } catch (RuntimeException e) {
+            log.warn("Could not queue scores for group {} in lab {}: {}", group.getId(), labId, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Queue the current score of every student in a lab, e.g. when it closes.
+     *
+     * @return Number of scores queued
+     */
+    public int enqueueLab(String labId) {
+        if (!enabled) {
+            return 0;
+        }
+        return labService.getById(labId)
+                .map(lab -> enqueue(lab, groupService.getGroupsByLabId(labId)))
+                .orElse(0);
+    }
+
+    /**
+     * Score every member of the groups in one batch and upsert them with one bulk write.
+     */
+    int enqueue(Lab lab, List<Group> groups) {
+        List<CheckpointDefinition> definitions = new ArrayList<>(lab.getCheckpoints() == null ? List.of() : lab.getCheckpoints());
+        definitions.removeIf(definition -> definition == null || definition.getNumber() == null);
+        if (definitions.isEmpty()) {
+            return 0;
+        }
+        definitions.sort(Comparator.comparing(CheckpointDefinition::getNumber));
+
+        int checkpoints = definitions.size();
+        double[] weights = new double[checkpoints];
+        boolean[] required = new boolean[checkpoints];
+        for (int c = 0; c < checkpoints; c++) {
+            CheckpointDefinition definition = definitions.get(c);
+            weights[c] = definition.getPoints() == null ? Double.NaN : definition.getPoints();
+            required[c] = definition.getRequired() == null || definition.getRequired();
+        }
+
+        // One row per student; group members share their group's states
+        List<Group> rowGroups = new ArrayList<>();
+        List<String> rowUsers = new ArrayList<>();
+        List<Byte> codes = new ArrayList<>();
+        for (Group group : groups) {
+            byte[] groupCodes = stateCodes(definitions, group);
+            for (GroupMember member : group.getMembers() == null ? List.<GroupMember>of() : group.getMembers()) {
+                if (member == null || member.getUserId() == null) {
+                    continue;
+                }
+                rowGroups.add(group);
+                rowUsers.add(member.getUserId());
+                for (byte code : groupCodes) {
+                    codes.add(code);
+                }
+            }
+        }
+        int students = rowUsers.size();
+        if (students == 0) {
+            return 0;
+        }
+        byte[] states = new byte[codes.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = codes.get(i);
+        }
+        ScoreFormulaService.BatchResult scores = formula.computeBatch(
+                new ScoreFormulaService.ScoreBatch(students, weights, required, states, null));
+
+        String lineItemId = lineItemId(lab);
+        Instant now = Instant.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ScoreOutboxEntry.class);
+        for (int s = 0; s < students; s++) {
+            ScoreFormulaService.Result score = scores.get(s);
+            Update update = new Update()
+                    .set("courseId", lab.getClassId())
+                    .set("lineItemId", lineItemId)
+                    .set("labId", lab.getId())
+                    .set("groupId", rowGroups.get(s).getId())
+                    .set("userId", rowUsers.get(s))
+                    .set("scoreGiven", score.scoreGiven())
+                    .set("scoreMaximum", score.scoreMaximum())
+                    .set("activityProgress", score.activityProgress())
+                    .set("gradingProgress", score.gradingProgress())
+                    .set("status", ScoreOutboxStatus.PENDING)
+                    .set("attempts", 0)
+                    .set("nextAttemptAt", now)
+                    .set("updatedAt", now)
+                    .unset("lastError")
+                    .inc("revision", 1)
+                    .setOnInsert("createdAt", now);
+            ops.upsert(Query.query(Criteria.where("_id").is(ScoreOutboxEntry.idFor(lineItemId, rowUsers.get(s)))), update);
+        }
+        ops.execute();
+        return students;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ags.publish.interval-ms:2000}")
+    public void scheduledDrain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int published = drain();
+            if (published > 0) {
+                log.debug("Published {} scores", published);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Score publishing failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publish due entries batch by batch until none are left, the per-run cap is
+     * reached or the rate budget is used up.
+     *
+     * @return Number of scores the LMS accepted
+     */
+    public int drain() {
+        int published = 0;
+        for (int run = 0; run < maxBatchesPerRun && withinRate(); run++) {
+            List<ScoreOutboxEntry> batch = claim();
+            if (batch.isEmpty()) {
+                break;
+            }
+            published += publish(batch);
+            spend(batch.size());
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return published;
+    }
+
+    private List<ScoreOutboxEntry> claim() {
+        Instant now = Instant.now();
+        Criteria due = Criteria.where("status").is(ScoreOutboxStatus.PENDING).and("nextAttemptAt").lte(now);
+        Query candidates = Query.query(due).with(Sort.by("nextAttemptAt")).limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, ScoreOutboxEntry.class).stream()
+                .map(ScoreOutboxEntry::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Only entries still due take the lease; another node may have claimed some in between
+        String owner = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).and("status").is(ScoreOutboxStatus.PENDING).and("nextAttemptAt").lte(now)),
+                new Update().set("leaseOwner", owner).set("nextAttemptAt", now.plus(lease)),
+                ScoreOutboxEntry.class);
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(ids).and("leaseOwner").is(owner)), ScoreOutboxEntry.class);
+    }
+
+    private int publish(List<ScoreOutboxEntry> batch) {
+        List<MockAgsController.BatchItemResult> results;
+        try {
+            results = client.publish(batch.stream().map(ScorePublishOutbox::toRequest).toList());
+        } catch (RestClientException e) {
+            log.warn("Score batch of {} failed: {}", batch.size(), e.getMessage());
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ScoreOutboxEntry.class);
+            for (ScoreOutboxEntry entry : batch) {
+                retry(ops, entry, e.getMessage());
+            }
+            ops.execute();
+            return 0;
+        }
+
+        int accepted = 0;
+        Instant now = Instant.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ScoreOutboxEntry.class);
+        for (int i = 0; i < batch.size(); i++) {
+            ScoreOutboxEntry entry = batch.get(i);
+            MockAgsController.BatchItemResult result = i < results.size() ? results.get(i) : null;
+            if (result == null) {
+                retry(ops, entry, "No result returned");
+            } else if (result.status >= 200 && result.status < 300) {
+                String resultId = result.response == null || result.response.resultIds == null || result.response.resultIds.isEmpty()
+                        ? null : result.response.resultIds.get(0);
+                ops.updateOne(sentRevision(entry), new Update()
+                        .set("status", ScoreOutboxStatus.SENT)
+                        .set("sentAt", now)
+                        .set("resultId", resultId)
+                        .set("attempts", 0)
+                        .unset("lastError")
+                        .unset("leaseOwner"));
+                sent.increment();
+                accepted++;
+            } else if (result.status == 408 || result.status == 429 || result.status >= 500) {
+                retry(ops, entry, result.status + " " + result.error);
+            } else {
+                fail(ops, entry, result.status + " " + result.error);
+            }
+        }
+        ops.execute();
+        return accepted;
+    }
+
+    private void retry(BulkOperations ops, ScoreOutboxEntry entry, String error) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            fail(ops, entry, error);
+            return;
+        }
+        ops.updateOne(sentRevision(entry), new Update()
+                .set("attempts", attempts)
+                .set("nextAttemptAt", Instant.now().plus(backoff(attempts)))
+                .set("lastError", error)
+                .unset("leaseOwner"));
+        retried.increment();
+    }
+
+    private void fail(BulkOperations ops, ScoreOutboxEntry entry, String error) {
+        ops.updateOne(sentRevision(entry), new Update()
+                .set("status", ScoreOutboxStatus.FAILED)
+                .inc("attempts", 1)
+                .set("lastError", error)
+                .unset("leaseOwner"));
+        failed.increment();
+        log.warn("Giving up on score {} after {} attempts: {}", entry.getId(), entry.getAttempts() + 1, error);
+    }
+
+    /**
+     * Exponential backoff with +/-20% jitter, capped at the configured maximum.
+     */
+    Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        long capped = Math.min(base < 0 ? Long.MAX_VALUE : base, maxBackoff.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis(Math.round(capped * jitter));
+    }
+
+    private boolean withinRate() {
+        return maxScoresPerSecond <= 0 || System.nanoTime() - nextSendNanos >= 0;
+    }
+
+    /**
+     * Charge a published batch against the rate budget.
+     */
+    private void spend(int scores) {
+        if (maxScoresPerSecond <= 0) {
+            return;
+        }
+        long cost = (long) (scores * TimeUnit.SECONDS.toNanos(1) / maxScoresPerSecond);
+        long earliest = System.nanoTime() - burstNanos;
+        nextSendNanos = (nextSendNanos - earliest > 0 ? nextSendNanos : earliest) + cost;
+    }
+
+    private static Query sentRevision(ScoreOutboxEntry entry) {
+        // A newer enqueue bumped the revision: leave that score pending for the next batch
+        return Query.query(Criteria.where("_id").is(entry.getId()).and("revision").is(entry.getRevision()));
+    }
+
+    private static MockAgsController.ScorePublishRequest toRequest(ScoreOutboxEntry entry) {
+        MockAgsController.ScorePublishRequest request = new MockAgsController.ScorePublishRequest();
+        request.courseId = entry.getCourseId();
+        request.checkpointId = entry.getLabId();
+        request.lineItemId = entry.getLineItemId();
+        request.userIds = List.of(entry.getUserId());
+        request.scoreGiven = entry.getScoreGiven();
+        request.scoreMaximum = entry.getScoreMaximum();
+        request.activityProgress = entry.getActivityProgress() == null ? null : ActivityProgress.valueOf(entry.getActivityProgress());
+        request.gradingProgress = entry.getGradingProgress() == null ? null : GradingProgress.valueOf(entry.getGradingProgress());
+        // The LMS ignores scores older than the one it holds, so a late retry cannot overwrite a newer score
+        request.timestamp = entry.getUpdatedAt() == null ? null : entry.getUpdatedAt().toString();
+        return request;
+    }
+
+    static String lineItemId(Lab lab) {
+        return lab.getCanvasAssignmentId() != null ? lab.getCanvasAssignmentId() : "lab-" + lab.getId();
+    }
+
+    private static byte[] stateCodes(List<CheckpointDefinition> definitions, Group group) {
+        Map<Integer, SignoffAction> progress = new HashMap<>();
+        if (group.getCheckpointProgress() != null) {
+            for (CheckpointProgress checkpoint : group.getCheckpointProgress()) {
+                if (checkpoint != null && checkpoint.getCheckpointNumber() != null) {
+                    progress.put(checkpoint.getCheckpointNumber(), checkpoint.getStatus());
+                }
+            }
+        }
+        byte[] codes = new byte[definitions.size()];
+        for (int c = 0; c < codes.length; c++) {
+            SignoffAction action = progress.get(definitions.get(c).getNumber());
+            CheckpointState state = action == null ? CheckpointState.NotStarted : switch (action) {
+                case PASS, COMPLETE -> CheckpointState.Passed;
+                case RETURN -> CheckpointState.Returned;
+            };
+            codes[c] = ScoreFormulaService.ScoreBatch.code(state);
+        }
+        return codes;
+    }
+
+    private static Counter outcomes(MeterRegistry registry, String outcome) {
+        return Counter.builder("app.ags.publish.scores")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
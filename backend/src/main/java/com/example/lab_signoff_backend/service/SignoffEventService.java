@@ -9,23 +9,44 @@
 
 package com.example.lab_signoff_backend.service;
 
+import com.example.lab_signoff_backend.config.SignoffEventStorage;
+import com.example.lab_signoff_backend.dto.SignoffEventPageDTO;
 import com.example.lab_signoff_backend.model.SignoffEvent;
 import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import com.example.lab_signoff_backend.repository.SignoffEventCursor;
 import com.example.lab_signoff_backend.repository.SignoffEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class SignoffEventService {
 
+    // Page size bounds for the cursor-paged queries
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final SignoffEventRepository repository;
+    private final SignoffEventWriteBehind writeBehind;
+    private final SignoffEventStorage storage;
 
     // Constructor injection of repository
     public SignoffEventService(SignoffEventRepository repository) {
+        this(repository, null, null);
+    }
+
+    // Constructor injection with the optional write-behind audit writer and storage settings
+    @Autowired
+    public SignoffEventService(SignoffEventRepository repository, SignoffEventWriteBehind writeBehind,
+                               SignoffEventStorage storage) {
         this.repository = repository;
+        this.writeBehind = writeBehind;
+        this.storage = storage;
     }
 
     // Save a new signoff event
@@ -33,7 +54,7 @@ public class SignoffEventService {
         if (signoffEvent.getTimestamp() == null) {
             signoffEvent.setTimestamp(Instant.now()); // set current time if missing
         }
-        return repository.save(signoffEvent); // persist to MongoDB
+        return persist(signoffEvent);
     }
 
     // Convenience method with basic info
@@ -43,7 +64,7 @@ public class SignoffEventService {
         event.setGroupId(groupId);
         event.setAction(SignoffAction.valueOf(action));
         event.setPerformedBy(performedBy);
-        return repository.save(event);
+        return persist(event);
     }
 
     // Extended creation method with notes and checkpoint number
@@ -56,6 +77,19 @@ public class SignoffEventService {
         event.setPerformedBy(performedBy);
         event.setNotes(notes);
         event.setCheckpointNumber(checkpointNumber);
+        return persist(event);
+    }
+
+    // Hand the event to the write-behind writer when enabled, otherwise persist to MongoDB now
+    private SignoffEvent persist(SignoffEvent event) {
+        if (writeBehind != null && writeBehind.isEnabled()) {
+            SignoffEventWriteBehind.assignId(event);
+            if (writeBehind.enqueue(event)) {
+                return event;
+            }
+            // Pre-assigned id: insert explicitly, since save() would upsert (unsupported on time-series storage)
+            return repository.insert(event);
+        }
         return repository.save(event);
     }
 
@@ -99,13 +133,101 @@ public class SignoffEventService {
         return repository.findById(id);
     }
 
-    // Delete event by ID
+    // Delete event by ID; time-series storage is append-only (deletes by non-meta fields
+    // need MongoDB 7 and rewrite whole buckets), so events there only leave through expiry.
+    // Throws IllegalStateException in that mode, which the controller answers with 409.
     public void deleteEvent(String id) {
+        if (storage != null && storage.isTimeSeries()) {
+            throw new IllegalStateException("Signoff events cannot be deleted in time-series storage");
+        }
         repository.deleteById(id);
     }
 
-    // Count events for a lab
+    // Count events for a lab (counted in MongoDB, nothing is loaded)
     public long countEventsByLabId(String labId) {
-        return repository.findByLabId(labId).size();
+        return repository.countByLabId(labId);
+    }
+
+    // Count events for a group
+    public long countEventsByGroupId(String groupId) {
+        return repository.countByGroupId(groupId);
+    }
+
+    // Count events for a specific lab and group
+    public long countEventsByLabIdAndGroupId(String labId, String groupId) {
+        return repository.countByLabIdAndGroupId(labId, groupId);
+    }
+
+    // Count events performed by a specific user
+    public long countEventsByPerformedBy(String performedBy) {
+        return repository.countByPerformedBy(performedBy);
+    }
+
+    // Count events within a time range
+    public long countEventsByTimeRange(Instant start, Instant end) {
+        return repository.countByTimestampBetween(start, end);
+    }
+
+    // Count events by action type
+    public long countEventsByAction(String action) {
+        return repository.countByAction(action);
+    }
+
+    // ---- Cursor-paged variants, ordered by (timestamp, _id) ----
+
+    // Page through events for a lab
+    public SignoffEventPageDTO getEventsByLabId(String labId, String cursor, Integer limit) {
+        return page(Criteria.where("labId").is(labId), cursor, limit);
+    }
+
+    // Page through events for a group
+    public SignoffEventPageDTO getEventsByGroupId(String groupId, String cursor, Integer limit) {
+        return page(Criteria.where("groupId").is(groupId), cursor, limit);
+    }
+
+    // Page through events for a specific lab and group
+    public SignoffEventPageDTO getEventsByLabIdAndGroupId(String labId, String groupId, String cursor, Integer limit) {
+        return page(Criteria.where("labId").is(labId).and("groupId").is(groupId), cursor, limit);
+    }
+
+    // Page through events performed by a specific user
+    public SignoffEventPageDTO getEventsByPerformedBy(String performedBy, String cursor, Integer limit) {
+        return page(Criteria.where("performedBy").is(performedBy), cursor, limit);
+    }
+
+    // Page through events within a time range (bounds exclusive, like findByTimestampBetween)
+    public SignoffEventPageDTO getEventsByTimeRange(Instant start, Instant end, String cursor, Integer limit) {
+        return page(Criteria.where("timestamp").gt(start).lt(end), cursor, limit);
+    }
+
+    // Page through events by action type
+    public SignoffEventPageDTO getEventsByAction(String action, String cursor, Integer limit) {
+        return page(Criteria.where("action").is(SignoffAction.valueOf(action)), cursor, limit);
+    }
+
+    // Page through all events
+    public SignoffEventPageDTO getAllEvents(String cursor, Integer limit) {
+        return page(new Criteria(), cursor, limit);
+    }
+
+    // Stream events (optionally for one lab) for export; caller must close the stream
+    public Stream<SignoffEvent> streamEvents(String labId) {
+        Criteria filter = labId == null ? new Criteria() : Criteria.where("labId").is(labId);
+        return repository.streamAll(filter);
+    }
+
+    // Fetch one page plus one extra row to know whether another page exists
+    private SignoffEventPageDTO page(Criteria filter, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<SignoffEvent> rows = repository.findSlice(filter, SignoffEventCursor.decode(cursor), size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<SignoffEvent> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            SignoffEvent last = items.get(items.size() - 1);
+            nextCursor = new SignoffEventCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new SignoffEventPageDTO(List.copyOf(items), nextCursor, hasMore);
     }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.config.SignoffEventStorage;
+import com.example.lab_signoff_backend.model.ProjectionCheckpoint;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sets up and back-fills the time-series storage mode for signoff events.
+ *
+ * When time-series mode is enabled the collection is created on startup,
+ * before anything can write to it (MongoDB would otherwise create an ordinary
+ * collection on first insert). The migration copies the standard collection
+ * into the time-series one in {@code _id} order, recording its position in
+ * {@code projection_checkpoints} after every batch so an interrupted run
+ * resumes where it stopped. Documents already present in the target are
+ * skipped, which keeps re-runs idempotent even though time-series collections
+ * have no unique {@code _id} index.
+ *
+ * Buckets are keyed by {@code labId}, the only metaField (MongoDB allows one).
+ * Group timelines read many labs' buckets without help, so {@code groupId} and
+ * {@code timestamp} get a secondary index, and {@code _id} gets a non-unique
+ * one for lookups by id and the migration's existence checks.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Service
+public class SignoffEventTimeSeriesService {
+
+    private static final Logger log = LoggerFactory.getLogger(SignoffEventTimeSeriesService.class);
+
+    static final String MIGRATION_ID = "signoff-events-time-series-migration";
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SignoffEventStorage storage;
+
+    public SignoffEventTimeSeriesService(MongoTemplate mongoTemplate, SignoffEventStorage storage) {
+        this.mongoTemplate = mongoTemplate;
+        this.storage = storage;
+    }
+
+    @PostConstruct
+    void ensureCollection() {
+        if (storage.isTimeSeries()) {
+            createTimeSeriesCollection();
+            ensureIndexes();
+        }
+    }
+
+    /**
+     * Create the time-series collection if it does not exist yet.
+     *
+     * @return true if the collection was created by this call
+     */
+    public boolean createTimeSeriesCollection() {
+        String name = storage.getTimeSeriesCollection();
+        if (mongoTemplate.collectionExists(name)) {
+            return false;
+        }
+        CollectionOptions options = CollectionOptions.timeSeries("timestamp", ts -> {
+            CollectionOptions.TimeSeriesOptions configured = ts.metaField("labId").granularity(storage.getGranularity());
+            return storage.getExpireAfter() == null ? configured : configured.expireAfter(storage.getExpireAfter());
+        });
+        mongoTemplate.createCollection(name, options);
+        log.info("Created time-series collection {} (granularity {}, expireAfter {})",
+                name, storage.getGranularity(), storage.getExpireAfter());
+        return true;
+    }
+
+    /**
+     * Create the secondary indexes of the time-series collection (no-op when present).
+     */
+    public void ensureIndexes() {
+        String name = storage.getTimeSeriesCollection();
+        mongoTemplate.indexOps(name).createIndex(
+                new Index().on("groupId", Sort.Direction.ASC).on("timestamp", Sort.Direction.ASC).named("group_timestamp_idx"));
+        mongoTemplate.indexOps(name).createIndex(
+                new Index().on("_id", Sort.Direction.ASC).named("id_idx"));
+    }
+
+    /**
+     * Copy every event from the standard collection into the time-series collection.
+     *
+     * @return Counts of copied and skipped documents and the last migrated id
+     */
+    public Map<String, Object> migrate() {
+        createTimeSeriesCollection();
+        ensureIndexes();
+        String source = SignoffEventStorage.STANDARD_COLLECTION;
+        String target = storage.getTimeSeriesCollection();
+
+        ProjectionCheckpoint marker = mongoTemplate.findById(MIGRATION_ID, ProjectionCheckpoint.class);
+        Object lastId = marker == null ? null : toObjectIdIfValid(marker.getLastEventId());
+
+        long copied = 0;
+        long skipped = 0;
+        while (true) {
+            Query page = new Query(lastId == null ? new Criteria() : Criteria.where("_id").gt(lastId))
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(BATCH_SIZE);
+            List<Document> batch = mongoTemplate.find(page, Document.class, source);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<Object> ids = batch.stream().map(doc -> doc.get("_id")).toList();
+            Set<Object> existing = new HashSet<>();
+            mongoTemplate.getCollection(target)
+                    .find(new Document("_id", new Document("$in", ids)))
+                    .projection(new Document("_id", 1))
+                    .forEach(doc -> existing.add(doc.get("_id")));
+
+            List<Document> toInsert = new ArrayList<>();
+            for (Document doc : batch) {
+                // Time-series documents must carry a date in the timeField
+                if (existing.contains(doc.get("_id")) || !(doc.get("timestamp") instanceof java.util.Date)) {
+                    skipped++;
+                } else {
+                    toInsert.add(doc);
+                }
+            }
+            if (!toInsert.isEmpty()) {
+                mongoTemplate.getCollection(target).insertMany(toInsert);
+                copied += toInsert.size();
+            }
+
+            lastId = batch.get(batch.size() - 1).get("_id");
+            mongoTemplate.save(new ProjectionCheckpoint(MIGRATION_ID, null, lastId.toString()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("source", source);
+        result.put("target", target);
+        result.put("copied", copied);
+        result.put("skipped", skipped);
+        result.put("lastId", lastId == null ? null : lastId.toString());
+        log.info("Signoff event migration to {}: copied {}, skipped {}", target, copied, skipped);
+        return result;
+    }
+
+    private static Object toObjectIdIfValid(String id) {
+        if (id == null) {
+            return null;
+        }
+        return org.bson.types.ObjectId.isValid(id) ? new org.bson.types.ObjectId(id) : id;
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in write-behind path for signoff audit events.
+ *
+ * When enabled, {@link SignoffEventService#createEvent(SignoffEvent)} assigns the
+ * event id up front, appends the event to a local journal file and hands it to
+ * this writer instead of waiting for MongoDB. A single flusher thread drains the
+ * queue every few milliseconds and inserts whatever has accumulated with one
+ * {@code insertMany}, so a burst of sign-offs costs one round trip.
+ *
+ * The journal is split into numbered segment files next to
+ * {@code journal-path} ({@code signoff-events.journal.1}, {@code .2}, ...). Once
+ * the active segment reaches {@code segment-bytes} a new one is started, and a
+ * sealed segment is deleted as soon as every event in it has been written, so
+ * the journal stays bounded even when the queue never fully drains. The
+ * active segment is truncated whenever it has nothing pending. On startup any
+ * leftover segments (from a crash) are replayed, skipping ids that already
+ * reached the database. On shutdown the queue is drained before the
+ * application context closes.
+ *
+ * Trade-off: an event can take up to one flush interval to become visible to
+ * queries. The journal is flushed to the OS on every append, which survives a
+ * JVM crash; set {@code app.audit.write-behind.fsync=true} to also survive a
+ * host crash at the cost of an fsync per event.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@Component
+public class SignoffEventWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(SignoffEventWriteBehind.class);
+    private static final long MAX_RETRY_DELAY_MS = 5000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SignoffEventTimeSeriesService timeSeries;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final boolean fsync;
+    private final long segmentBytes;
+    private final Path journalPath;
+    private final BlockingQueue<Journaled> queue;
+
+    // Guards the journal segments and pending counts so deletion never races an append
+    private final Object journalLock = new Object();
+    private final Map<Long, Long> pendingBySegment = new TreeMap<>();
+    private long segment;
+    private FileChannel journalChannel;
+    private BufferedWriter journal;
+
+    /**
+     * A queued event and the journal segment holding it.
+     */
+    private record Journaled(SignoffEvent event, long segment) {
+    }
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public SignoffEventWriteBehind(MongoTemplate mongoTemplate,
+                                   SignoffEventTimeSeriesService timeSeries,
+                                   ObjectMapper objectMapper,
+                                   @Value("${app.audit.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${app.audit.write-behind.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.audit.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${app.audit.write-behind.flush-interval-ms:5}") long flushIntervalMs,
+                                   @Value("${app.audit.write-behind.fsync:false}") boolean fsync,
+                                   @Value("${app.audit.write-behind.segment-bytes:4194304}") long segmentBytes,
+                                   @Value("${app.audit.write-behind.journal-path:data/signoff-events.journal}") String journalPath) {
+        this.mongoTemplate = mongoTemplate;
+        this.timeSeries = timeSeries;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.fsync = fsync;
+        this.segmentBytes = segmentBytes;
+        this.journalPath = Path.of(journalPath);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * @return true when events should be handed to this writer
+     */
+    public boolean isEnabled() {
+        return enabled && running;
+    }
+
+    /**
+     * Journal the event and queue it for the next batch insert.
+     *
+     * @param event Event with its id and timestamp already assigned
+     * @return false if the queue is full or the journal is unavailable; the
+     *         caller must then persist the event synchronously
+     */
+    public boolean enqueue(SignoffEvent event) {
+        synchronized (journalLock) {
+            if (!running || queue.remainingCapacity() == 0) {
+                return false;
+            }
+            try {
+                journal.write(objectMapper.writeValueAsString(event));
+                journal.newLine();
+                journal.flush();
+                if (fsync) {
+                    journalChannel.force(false);
+                }
+            } catch (IOException e) {
+                log.warn("Audit journal append failed, writing event synchronously: {}", e.getMessage());
+                return false;
+            }
+            queue.add(new Journaled(event, segment));
+            pendingBySegment.merge(segment, 1L, Long::sum);
+            rotateIfFull();
+            return true;
+        }
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+        // Replay must not insert first: MongoDB would create an ordinary collection under the time-series name
+        timeSeries.ensureCollection();
+        replayJournal();
+
+        openSegment(1);
+        running = true;
+        flusher = new Thread(this::flushLoop, "signoff-event-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        synchronized (journalLock) {
+            running = false;
+        }
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Drain whatever the flusher did not get to; leftovers stay journaled for the next start
+        List<Journaled> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                break;
+            }
+            batch.clear();
+        }
+        closeJournal();
+    }
+
+    private void flushLoop() {
+        List<Journaled> batch = new ArrayList<>(batchSize);
+        long retryDelay = flushIntervalMs;
+        while (running || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Journaled first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    // Give concurrent sign-offs a moment to join this batch
+                    Thread.sleep(flushIntervalMs);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                if (write(batch)) {
+                    batch.clear();
+                    retryDelay = flushIntervalMs;
+                } else {
+                    Thread.sleep(retryDelay);
+                    retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: the remaining batch is put back for stop() to drain
+                batch.forEach(queue::offer);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Insert one batch, falling back to inserting only the missing ids if part of it was already written.
+     */
+    private boolean write(List<Journaled> batch) {
+        List<SignoffEvent> events = batch.stream().map(Journaled::event).toList();
+        try {
+            mongoTemplate.insert(events, SignoffEvent.class);
+        } catch (org.springframework.dao.DuplicateKeyException e) {
+            try {
+                insertMissing(events);
+            } catch (RuntimeException retry) {
+                log.warn("Audit batch re-insert of {} events failed: {}", batch.size(), retry.getMessage());
+                return false;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Audit batch insert of {} events failed, will retry: {}", batch.size(), e.getMessage());
+            return false;
+        }
+        markWritten(batch);
+        return true;
+    }
+
+    /**
+     * Insert the events whose ids are not stored yet. Avoids upserts so replay
+     * also works against time-series collections, which do not support them.
+     */
+    private void insertMissing(List<SignoffEvent> events) {
+        List<String> ids = events.stream().map(SignoffEvent::getId).toList();
+        Query existingQuery = Query.query(Criteria.where("id").in(ids));
+        existingQuery.fields().include("id");
+        Set<String> existing = new HashSet<>();
+        mongoTemplate.find(existingQuery, SignoffEvent.class).forEach(e -> existing.add(e.getId()));
+
+        List<SignoffEvent> missing = events.stream().filter(e -> !existing.contains(e.getId())).toList();
+        if (!missing.isEmpty()) {
+            mongoTemplate.insert(missing, SignoffEvent.class);
+        }
+    }
+
+    private void markWritten(List<Journaled> batch) {
+        synchronized (journalLock) {
+            for (Journaled written : batch) {
+                pendingBySegment.merge(written.segment(), -1L, Long::sum);
+            }
+            List<Long> done = pendingBySegment.entrySet().stream()
+                    .filter(entry -> entry.getValue() == 0)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            for (long finished : done) {
+                pendingBySegment.remove(finished);
+                try {
+                    if (finished != segment) {
+                        Files.deleteIfExists(segmentPath(finished));
+                    } else if (journal != null) {
+                        journal.flush();
+                        journalChannel.truncate(0);
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not clean up audit journal segment {}: {}", finished, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Seal the active segment once it is full and continue in a new one.
+     * Called with the journal lock held.
+     */
+    private void rotateIfFull() {
+        try {
+            if (journalChannel.size() < segmentBytes) {
+                return;
+            }
+            journal.close();
+            openSegment(segment + 1);
+        } catch (IOException e) {
+            // Appends fail until a segment opens; callers fall back to synchronous writes
+            log.warn("Could not rotate audit journal: {}", e.getMessage());
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        journalChannel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        journal = new BufferedWriter(Channels.newWriter(journalChannel, StandardCharsets.UTF_8));
+        segment = number;
+    }
+
+    private Path segmentPath(long number) {
+        return journalPath.resolveSibling(journalPath.getFileName() + "." + number);
+    }
+
+    /**
+     * Replay every leftover segment, plus a single-file journal from older versions.
+     */
+    private void replayJournal() throws IOException {
+        Map<Long, Path> leftovers = new TreeMap<>();
+        String prefix = journalPath.getFileName() + ".";
+        Path dir = journalPath.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    leftovers.put(Long.parseLong(suffix), file);
+                }
+            }
+        }
+        List<Path> journals = new ArrayList<>();
+        if (Files.exists(journalPath)) {
+            journals.add(journalPath);
+        }
+        journals.addAll(leftovers.values());
+
+        int replayed = 0;
+        for (Path file : journals) {
+            replayed += replay(file);
+            Files.delete(file);
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} journaled signoff events", replayed);
+        }
+    }
+
+    private int replay(Path file) throws IOException {
+        List<SignoffEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    events.add(objectMapper.readValue(line, SignoffEvent.class));
+                } catch (IOException e) {
+                    // A torn final line from a crash mid-append
+                    log.warn("Skipping unreadable audit journal entry: {}", e.getMessage());
+                }
+            }
+        }
+        for (int from = 0; from < events.size(); from += batchSize) {
+            insertMissing(events.subList(from, Math.min(from + batchSize, events.size())));
+        }
+        return events.size();
+    }
+
+    private void closeJournal() {
+        synchronized (journalLock) {
+            try {
+                if (journal != null) {
+                    journal.close();
+                }
+            } catch (IOException e) {
+                log.warn("Could not close audit journal: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Assign the id the event will be stored under, so callers can return it
+     * before the insert happens and replays stay idempotent.
+     */
+    static void assignId(SignoffEvent event) {
+        if (event.getId() == null) {
+            event.setId(new ObjectId().toHexString());
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.lab_signoff_backend.service;
 
+import com.example.lab_signoff_backend.cache.DocumentCaches;
 import com.example.lab_signoff_backend.model.User;
 import com.example.lab_signoff_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
@@ -18,28 +21,25 @@ import java.util.stream.Collectors;
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
+    private final DocumentCaches caches;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, DocumentCaches caches) {
         this.userRepository = userRepository;
+        this.caches = caches;
     }
 
     /**
-     * Find a user by their Auth0 ID
+     * Find a user by their Auth0 ID (served from the document cache when enabled)
      *
      * @param auth0Id The Auth0 user ID
      * @return Optional containing the user if found
      */
     public Optional<User> findByAuth0Id(String auth0Id) {
-        System.out.println("📊 UserService: Querying MongoDB for user with auth0Id: " + auth0Id);
-        Optional<User> result = userRepository.findByAuth0Id(auth0Id);
-        System.out.println("📊 UserService: Query result - User " + (result.isPresent() ? "FOUND" : "NOT FOUND"));
-        if (result.isPresent()) {
-            User user = result.get();
-            System.out.println("   - MongoDB ID: " + user.getId());
-            System.out.println("   - Email: " + user.getEmail());
-            System.out.println("   - Roles: " + user.getRoles());
-        }
+        Optional<User> result = caches.usersByAuth0Id().get(auth0Id, userRepository::findByAuth0Id);
+        log.debug("User lookup by Auth0 ID: {}", result.map(user -> "found " + user.getId()).orElse("not found"));
         return result;
     }
 
@@ -76,6 +76,21 @@ public class UserService {
                 .collect(Collectors.toMap(User::getId, user -> user));
     }
 
+    /**
+     * Fetch roster profiles (name, email, picture) by MongoDB identifiers.
+     * Other fields of the returned users are not loaded.
+     *
+     * @param userIds Collection of user IDs
+     * @return Map of userId -> User for fast lookups
+     */
+    public Map<String, User> findProfilesByIds(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userRepository.findProfilesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+    }
+
     /**
      * Get all users with a specific role
      *
@@ -158,6 +173,8 @@ public class UserService {
      */
     public void deleteByAuth0Id(String auth0Id) {
         userRepository.findByAuth0Id(auth0Id).ifPresent(userRepository::delete);
+        // Delete events only carry the MongoDB id, so evict the Auth0 id entry here
+        caches.usersByAuth0Id().invalidate(auth0Id);
     }
 
     /**
@@ -69,6 +69,15 @@ public class LabWebSocketController {
                 labId, update.getId(), update.getStatus());
     }
 
+    /**
+     * Send a help queue assignment to the TA it was dispatched to
+     */
+    public void sendHelpQueueAssignment(String userId, HelpQueueUpdate update) {
+        messagingTemplate.convertAndSendToUser(userId, "/queue/help-assignments", update);
+
+        logger.info("Sent help queue assignment -> User: {}, Queue Item: {}", userId, update.getId());
+    }
+
     /**
      * Legacy method - kept for backward compatibility
      * @deprecated Use broadcastCheckpointUpdate with CheckpointUpdate object instead
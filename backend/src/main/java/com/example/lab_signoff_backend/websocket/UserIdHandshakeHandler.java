@@ -0,0 +1,56 @@
+package com.example.lab_signoff_backend.websocket;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Names each WebSocket session after the connecting user so the server can
+ * address a single user with {@code convertAndSendToUser}.
+ *
+ * An authenticated principal is used when present; otherwise the client
+ * identifies itself with a {@code userId} query parameter on the connect URL
+ * (e.g. {@code /ws?userId=...}), matching how the REST endpoints take user ids.
+ * Such a name is unverified: it is good enough for addressing messages, but
+ * anything that changes another user's state must check
+ * {@link #isSelfAsserted(Principal)} first.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+public class UserIdHandshakeHandler extends DefaultHandshakeHandler {
+
+    @Override
+    protected Principal determineUser(@NonNull ServerHttpRequest request,
+                                      @NonNull WebSocketHandler wsHandler,
+                                      @NonNull Map<String, Object> attributes) {
+        Principal authenticated = super.determineUser(request, wsHandler, attributes);
+        if (authenticated != null) {
+            return authenticated;
+        }
+        String userId = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("userId");
+        if (userId == null || userId.isBlank()) {
+            return null;
+        }
+        return new UserPrincipal(userId);
+    }
+
+    /**
+     * @return true if the principal came from the unverified {@code userId} query parameter
+     */
+    public static boolean isSelfAsserted(Principal principal) {
+        return principal instanceof UserPrincipal;
+    }
+
+    record UserPrincipal(String name) implements Principal {
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.lab_signoff_backend.Csv;
+
+import com.example.lab_signoff_backend.csv.CanvasBatchConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanvasBatchConverterTest {
+
+  private static Path resource(String name) {
+    try { return Paths.get(CanvasBatchConverterTest.class.getClassLoader().getResource(name).toURI()); }
+    catch (URISyntaxException e) { throw new RuntimeException("Missing test resource: "+name, e); }
+  }
+
+  @TempDir Path tmp;
+
+  @Test
+  void convertDirectory_convertsEveryFileAndIsolatesFailures() throws Exception {
+    Path in = Files.createDirectories(tmp.resolve("in"));
+    Path sample = resource("2025-10-30T1841_Grades-LabSignoffProject.SANDBOX.csv");
+    for (int i = 1; i <= 6; i++) {
+      Files.copy(sample, in.resolve("section-" + i + ".csv"));
+    }
+    // not valid UTF-8
+    Files.write(in.resolve("broken.csv"), new byte[] {'S', 't', (byte) 0xC3, 0x28, '\n'});
+    Files.writeString(in.resolve("notes.txt"), "ignored");
+
+    List<String> progress = new CopyOnWriteArrayList<>();
+    var summary = new CanvasBatchConverter(3).convertDirectory(in, tmp.resolve("out"),
+        (result, done, total) -> progress.add(done + "/" + total));
+
+    assertEquals(7, summary.files().size());
+    assertEquals(7, progress.size());
+    assertTrue(progress.contains("7/7"));
+    assertEquals(1, summary.failed());
+
+    var broken = summary.files().get(0);
+    assertEquals("broken.csv", broken.source().getFileName().toString());
+    assertFalse(broken.succeeded());
+
+    long rowsPerFile = summary.files().get(1).rows();
+    assertTrue(rowsPerFile > 0);
+    assertEquals(6 * rowsPerFile, summary.rows());
+    for (int i = 1; i <= 6; i++) {
+      var wide = tmp.resolve("out").resolve("section-" + i + ".wide.csv");
+      assertEquals(Files.readAllLines(tmp.resolve("out").resolve("section-1.wide.csv")), Files.readAllLines(wide));
+      assertTrue(Files.exists(tmp.resolve("out").resolve("section-" + i + ".normalized.csv")));
+    }
+  }
+}
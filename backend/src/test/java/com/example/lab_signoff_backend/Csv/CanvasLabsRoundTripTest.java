@@ -52,4 +52,46 @@ class CanvasLabsRoundTripTest {
       );
     }
 }
-}
\ No newline at end of file
+
+  @Test
+  void streamingExport_matchesMaterializedExport() throws Exception {
+    Path csv = resource("2025-10-30T1841_Grades-LabSignoffProject.SANDBOX.csv");
+    var importer = new CanvasLabsImporter();
+    var norm = importer.normalize(csv);
+    var header = importer.readHeader(csv);
+    assertEquals(norm.labColumns, header.labColumns());
+
+    Path listLong = tmp.resolve("list-long.csv"), streamLong = tmp.resolve("stream-long.csv");
+    new NormalizedLabsExporter().export(listLong, norm.rows);
+    try (var rows = importer.stream(csv, header)) {
+      new NormalizedLabsExporter().export(streamLong, rows);
+    }
+    assertEquals(Files.readAllLines(listLong), Files.readAllLines(streamLong));
+
+    Path listWide = tmp.resolve("list-wide.csv"), streamWide = tmp.resolve("stream-wide.csv");
+    new WideWithPointsExporter().export(listWide, norm.rows, norm.labColumns, norm.pointsPossibleMap);
+    try (var rows = importer.stream(csv, header)) {
+      new WideWithPointsExporter().export(streamWide, rows, header.labColumns(), header.pointsPossibleMap());
+    }
+    assertEquals(Files.readAllLines(listWide), Files.readAllLines(streamWide));
+  }
+
+  @Test
+  void matrixExport_matchesRowExport() throws Exception {
+    Path csv = resource("2025-10-30T1841_Grades-LabSignoffProject.SANDBOX.csv");
+    var importer = new CanvasLabsImporter();
+    var norm = importer.normalize(csv);
+    var matrix = importer.matrix(csv);
+    assertEquals(norm.labColumns, matrix.labColumns());
+
+    Path rowsLong = tmp.resolve("rows-long.csv"), matrixLong = tmp.resolve("matrix-long.csv");
+    new NormalizedLabsExporter().export(rowsLong, norm.rows);
+    new NormalizedLabsExporter().export(matrixLong, matrix);
+    assertEquals(Files.readAllLines(rowsLong), Files.readAllLines(matrixLong));
+
+    Path rowsWide = tmp.resolve("rows-wide.csv"), matrixWide = tmp.resolve("matrix-wide.csv");
+    new WideWithPointsExporter().export(rowsWide, norm.rows, norm.labColumns, norm.pointsPossibleMap);
+    new WideWithPointsExporter().export(matrixWide, matrix);
+    assertEquals(Files.readAllLines(rowsWide), Files.readAllLines(matrixWide));
+  }
+}
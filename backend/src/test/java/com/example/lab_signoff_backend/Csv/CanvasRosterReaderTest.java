@@ -0,0 +1,66 @@
+package com.example.lab_signoff_backend.Csv;
+
+import com.example.lab_signoff_backend.csv.CanvasRosterReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanvasRosterReaderTest {
+
+  static final int STUDENTS = 2000;
+  static final int ASSIGNMENTS = 30;
+
+  /** Canvas-shaped export: header, Points Possible row, then one row per student. */
+  static String syntheticExport(int students, int assignments) {
+    StringBuilder csv = new StringBuilder("\uFEFFStudent,ID,SIS User ID,Section");
+    for (int a = 1; a <= assignments; a++) {
+      csv.append(",Laboratory for Module ").append(String.format("%02d", a)).append(" (").append(9600000 + a).append(')');
+    }
+    csv.append(",Current Score\n    Points Possible,,,");
+    for (int a = 1; a <= assignments; a++) {
+      csv.append(',').append(a % 5 + 1).append(".00");
+    }
+    csv.append(",\n");
+    for (int s = 1; s <= students; s++) {
+      csv.append("\"Student, ").append(s).append("\",").append(s).append(",sis").append(s).append(",Section 1");
+      for (int a = 1; a <= assignments; a++) {
+        csv.append(',').append((s + a) % 3 == 0 ? "" : "1");
+      }
+      csv.append(",95\n");
+    }
+    return csv.toString();
+  }
+
+  @Test
+  void read_detectsLabsPointsAndDistinctStudents() throws Exception {
+    String csv = syntheticExport(STUDENTS, ASSIGNMENTS)
+        // a repeated row must not duplicate the roster entry
+        + "\"Student, 1\",1,sis1,Section 2" + ",".repeat(ASSIGNMENTS) + ",\n";
+
+    var result = new CanvasRosterReader().read(new StringReader(csv));
+
+    assertEquals(ASSIGNMENTS, result.labColumns().size());
+    assertEquals(STUDENTS, result.students().size());
+    assertEquals(STUDENTS + 2, result.records());
+
+    var first = result.labColumns().get(0);
+    assertEquals("Laboratory for Module 01", first.title());
+    assertEquals("9600001", first.canvasAssignmentId());
+    assertEquals(2, result.pointsFor(first));
+    assertEquals("Student, 1", result.students().iterator().next());
+  }
+
+  @Test
+  void read_defaultsPointsWhenRowMissing() throws Exception {
+    String csv = "Student,ID,SIS User ID,Section,Laboratory for Intro (42),Laboratory for Intro (42)\n"
+        + "Ada,1,a,S1,1,1\n";
+
+    var result = new CanvasRosterReader().read(new StringReader(csv));
+
+    assertEquals(1, result.labColumns().size());
+    assertEquals(1, result.pointsFor(result.labColumns().get(0)));
+    assertTrue(result.students().contains("Ada"));
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.lab_signoff_backend.Csv;
+
+import com.example.lab_signoff_backend.csv.GradebookMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradebookMatrixTest {
+
+  @Test
+  void parseAndFormat_matchBigDecimalAtHundredths() {
+    long[] out = new long[1];
+    SplittableRandom random = new SplittableRandom(7);
+    for (int i = 0; i < 10_000; i++) {
+      BigDecimal value = BigDecimal.valueOf(random.nextLong(-1_000_000, 1_000_000), random.nextInt(0, 4));
+      assertTrue(GradebookMatrix.parseHundredths(value.toPlainString(), out), value.toPlainString());
+
+      BigDecimal expected = value.setScale(2, RoundingMode.HALF_UP);
+      assertEquals(expected.unscaledValue().longValueExact(), out[0], value.toPlainString());
+      assertEquals(expected.stripTrailingZeros().toPlainString(), GradebookMatrix.formatHundredths(out[0]));
+    }
+  }
+
+  @Test
+  void parse_rejectsBlankAndText() {
+    long[] out = new long[1];
+    assertFalse(GradebookMatrix.parseHundredths("", out));
+    assertFalse(GradebookMatrix.parseHundredths("   ", out));
+    assertFalse(GradebookMatrix.parseHundredths(null, out));
+    assertFalse(GradebookMatrix.parseHundredths("(read only)", out));
+    assertFalse(GradebookMatrix.parseHundredths(".", out));
+    assertFalse(GradebookMatrix.parseHundredths("1.2.3", out));
+    assertFalse(GradebookMatrix.parseHundredths("1E+1", out));
+    assertTrue(GradebookMatrix.parseHundredths(" .5 ", out));
+    assertEquals(50, out[0]);
+  }
+
+  @Test
+  void cells_trackBlanksAcrossGrowth() {
+    var matrix = new GradebookMatrix(List.of("Lab A (1)", "Lab B (2)", "Lab C (3)"), 1);
+    for (int s = 0; s < 100; s++) {
+      int row = matrix.addStudent("Student " + s, String.valueOf(s));
+      if (s % 3 != 0) matrix.set(row, s % 3, s * 100L + 25);
+    }
+    assertEquals(100, matrix.studentCount());
+    assertFalse(matrix.has(0, 0));
+    assertTrue(matrix.has(98, 2));
+    assertEquals(9825, matrix.get(98, 2));
+    assertFalse(matrix.has(98, 1));
+
+    StringBuilder cell = new StringBuilder();
+    matrix.appendCell(cell, 98, 2);
+    assertEquals("98.25", cell.toString());
+
+    matrix.clear(98, 2);
+    assertFalse(matrix.has(98, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(100, 0));
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.lab_signoff_backend.ags;
+
+import com.example.lab_signoff_backend.ags.dto.ScorePublishResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AgsHistoryRing
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class AgsHistoryRingTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long LIVE = NOW + 60_000;
+
+    /**
+     * Test: Capacity rounds up to a power of two and old syncs are overwritten
+     */
+    @Test
+    void testPut_OverwritesOldestWhenFull() {
+        AgsHistoryRing ring = new AgsHistoryRing(6);
+        assertEquals(8, ring.capacity());
+
+        for (int i = 0; i < 20; i++) {
+            put(ring, "c" + (i % 2), "u" + (i % 3), LIVE);
+        }
+
+        assertNull(ring.get(12, NOW));
+        assertEquals(13, ring.get(13, NOW).seq());
+        assertEquals(20, ring.get(20, NOW).seq());
+        assertEquals(List.of(20L, 19L, 18L, 17L, 16L, 15L, 14L, 13L), seqs(ring.query(null, null, 0, null, 100, NOW)));
+    }
+
+    /**
+     * Test: Course and user lookups follow their chains and honour filters and paging
+     */
+    @Test
+    void testQuery_ByCourseAndUser() {
+        AgsHistoryRing ring = new AgsHistoryRing(64);
+        for (int i = 0; i < 30; i++) {
+            put(ring, "c" + (i % 2), "u" + (i % 3), LIVE);
+        }
+
+        assertEquals(30, ring.latestForCourse("c1", NOW).seq());
+        assertEquals(List.of(29L, 27L, 25L), seqs(ring.query("c0", null, 0, null, 3, NOW)));
+        assertEquals(List.of(28L, 25L, 22L, 19L), seqs(ring.query(null, "u0", 0, null, 4, NOW)));
+        // Every sixth sync is course c0 and user u0
+        assertEquals(List.of(19L, 13L, 7L, 1L), seqs(ring.query("c0", "u0", 20, null, 10, NOW)));
+        assertEquals(List.of(27L), seqs(ring.query("c0", null, 0, resp -> resp.scoreGiven == 27, 10, NOW)));
+        assertTrue(ring.query(null, "nobody", 0, null, 10, NOW).isEmpty());
+    }
+
+    /**
+     * Test: Expired syncs are skipped without being pruned
+     */
+    @Test
+    void testQuery_SkipsExpired() {
+        AgsHistoryRing ring = new AgsHistoryRing(16);
+        for (int i = 0; i < 5; i++) {
+            put(ring, "c", "u", NOW - 1);
+        }
+        for (int i = 0; i < 3; i++) {
+            put(ring, "c", "u", LIVE);
+        }
+
+        assertNull(ring.get(5, NOW));
+        assertEquals(List.of(8L, 7L, 6L), seqs(ring.query(null, null, 0, null, 100, NOW)));
+        assertEquals(List.of(8L, 7L, 6L), seqs(ring.query("c", null, 0, null, 100, NOW)));
+        assertEquals(List.of(8L, 7L, 6L), seqs(ring.query(null, "u", 0, null, 100, NOW)));
+        assertNull(ring.latestForCourse("c", LIVE + 1));
+    }
+
+    /**
+     * Test: Concurrent writers never lose a slot
+     */
+    @Test
+    void testPut_ConcurrentWriters() throws Exception {
+        AgsHistoryRing ring = new AgsHistoryRing(1024);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 8; t++) {
+                int writer = t;
+                executor.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        put(ring, "c" + writer, "u" + writer + "-" + i, LIVE);
+                    }
+                });
+            }
+        }
+
+        List<AgsHistoryRing.Entry> all = ring.query(null, null, 0, null, 2000, NOW);
+        assertEquals(1024, all.size());
+        Set<Long> unique = new HashSet<>(seqs(all));
+        assertEquals(1024, unique.size());
+        assertTrue(unique.stream().allMatch(seq -> seq > 40000 - 1024));
+    }
+
+    /**
+     * Test: A sync stored late under an older sequence does not move the course head back
+     */
+    @Test
+    void testPut_OlderSequenceKeepsNewestHead() {
+        AgsHistoryRing ring = new AgsHistoryRing(16);
+        long older = ring.nextSequence();
+        put(ring, "c1", "u1", LIVE);
+
+        ScorePublishResponse resp = new ScorePublishResponse();
+        resp.courseId = "c1";
+        ring.put(older, resp, List.of("u1"), LIVE);
+
+        assertEquals(2, ring.latestForCourse("c1", NOW).seq());
+        assertEquals(List.of(2L), seqs(ring.query(null, "u1", 0, null, 10, NOW)));
+        assertEquals(older, ring.get(older, NOW).seq());
+    }
+
+    private static void put(AgsHistoryRing ring, String courseId, String userId, long expiresAtMs) {
+        long seq = ring.nextSequence();
+        ScorePublishResponse resp = new ScorePublishResponse();
+        resp.courseId = courseId;
+        resp.scoreGiven = seq;
+        ring.put(seq, resp, List.of(userId), expiresAtMs);
+    }
+
+    private static List<Long> seqs(List<AgsHistoryRing.Entry> entries) {
+        List<Long> seqs = new ArrayList<>();
+        entries.forEach(entry -> seqs.add(entry.seq()));
+        return seqs;
+    }
+}
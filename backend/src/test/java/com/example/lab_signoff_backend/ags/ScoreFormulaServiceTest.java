@@ -0,0 +1,109 @@
+package com.example.lab_signoff_backend.ags;
+
+import com.example.lab_signoff_backend.ags.dto.CheckpointDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScoreFormulaService
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class ScoreFormulaServiceTest {
+
+    private static final Double[] WEIGHTS = {null, 1.0, 0.5, 2.0, 0.1, 1.0 / 3, 0.0, -1.0, 7.25};
+    private static final Double[] LATE = {null, 1.0, 0.9, 0.333, 0.0, -0.5, 1.5};
+
+    private final ScoreFormulaService service = new ScoreFormulaService();
+
+    /**
+     * Property: for random labs and classes the batch path returns exactly the
+     * single-request result for every student
+     */
+    @Test
+    void testComputeBatch_MatchesComputeFrom() {
+        SplittableRandom random = new SplittableRandom(2024);
+        CheckpointState[] states = CheckpointState.values();
+
+        for (int trial = 0; trial < 500; trial++) {
+            int checkpoints = 1 + random.nextInt(15);
+            int students = random.nextInt(40);
+
+            Double[] weights = new Double[checkpoints];
+            Boolean[] required = new Boolean[checkpoints];
+            double[] batchWeights = new double[checkpoints];
+            boolean[] batchRequired = new boolean[checkpoints];
+            for (int c = 0; c < checkpoints; c++) {
+                weights[c] = WEIGHTS[random.nextInt(WEIGHTS.length)];
+                required[c] = random.nextInt(4) == 0 ? null : random.nextBoolean();
+                batchWeights[c] = weights[c] == null ? Double.NaN : weights[c];
+                batchRequired[c] = required[c] == null || required[c];
+            }
+
+            List<ScoreFormulaService.ScorePublishRequest> requests = new ArrayList<>();
+            byte[] codes = new byte[students * checkpoints];
+            double[] late = new double[students];
+            for (int s = 0; s < students; s++) {
+                ScoreFormulaService.ScorePublishRequest request = new ScoreFormulaService.ScorePublishRequest();
+                request.checkpoints = new ArrayList<>();
+                for (int c = 0; c < checkpoints; c++) {
+                    CheckpointState state = random.nextInt(10) == 0 ? null : states[random.nextInt(states.length)];
+                    CheckpointDto dto = new CheckpointDto();
+                    dto.weight = weights[c];
+                    dto.required = required[c];
+                    dto.state = state;
+                    request.checkpoints.add(dto);
+                    codes[s * checkpoints + c] = ScoreFormulaService.ScoreBatch.code(state);
+                }
+                request.lateMultiplier = LATE[random.nextInt(LATE.length)];
+                late[s] = request.lateMultiplier == null ? Double.NaN : request.lateMultiplier;
+                requests.add(request);
+            }
+
+            ScoreFormulaService.BatchResult batch = service.computeBatch(
+                    new ScoreFormulaService.ScoreBatch(students, batchWeights, batchRequired, codes, late));
+
+            assertEquals(students, batch.size());
+            for (int s = 0; s < students; s++) {
+                assertEquals(service.computeFrom(requests.get(s)), batch.get(s), "trial " + trial + " student " + s);
+            }
+        }
+    }
+
+    /**
+     * Test: Optional and exempt checkpoints do not count towards the maximum
+     */
+    @Test
+    void testComputeBatch_OptionalAndExempt() {
+        byte passed = ScoreFormulaService.ScoreBatch.code(CheckpointState.Passed);
+        byte exempt = ScoreFormulaService.ScoreBatch.code(CheckpointState.Exempt);
+        byte returned = ScoreFormulaService.ScoreBatch.code(CheckpointState.Returned);
+        byte[] codes = {
+                passed, passed, exempt,
+                passed, returned, passed
+        };
+
+        ScoreFormulaService.BatchResult result = service.computeBatch(new ScoreFormulaService.ScoreBatch(
+                2, new double[] {2.0, 1.0, 1.0}, new boolean[] {true, false, true}, codes, new double[] {Double.NaN, 0.5}));
+
+        assertEquals(new ScoreFormulaService.Result(2.0, 2.0, "Completed", "FullyGraded"), result.get(0));
+        assertEquals(new ScoreFormulaService.Result(1.5, 3.0, "InProgress", "Pending"), result.get(1));
+    }
+
+    /**
+     * Test: Mismatched column sizes are rejected
+     */
+    @Test
+    void testScoreBatch_RejectsMismatchedColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ScoreFormulaService.ScoreBatch(2, new double[] {1.0}, null, new byte[3], null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ScoreFormulaService.ScoreBatch(1, new double[0], null, new byte[0], null));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.lab_signoff_backend.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResourceVersions
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class ResourceVersionsTest {
+
+    private ResourceVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        versions = new ResourceVersions(new InvalidationBus(null, false, "localhost", 6379), false);
+    }
+
+    /**
+     * Test: Tag is stable until its scope changes
+     */
+    @Test
+    void testEtag_ChangesOnlyWhenScopeBumped() {
+        String before = versions.etag(ResourceVersions.GROUPS, "lab1");
+
+        versions.bump(ResourceVersions.GROUPS, "lab2");
+        assertEquals(before, versions.etag(ResourceVersions.GROUPS, "lab1"));
+
+        versions.bump(ResourceVersions.GROUPS, "lab1");
+        assertNotEquals(before, versions.etag(ResourceVersions.GROUPS, "lab1"));
+    }
+
+    /**
+     * Test: Type-wide bumps change every tag of that type
+     */
+    @Test
+    void testEtag_TypeWideBump() {
+        String lab = versions.etag(ResourceVersions.QUEUE, "lab1");
+        String classLabs = versions.etag(ResourceVersions.CLASS_LABS, "class1");
+
+        versions.bumpAll(ResourceVersions.QUEUE);
+
+        assertNotEquals(lab, versions.etag(ResourceVersions.QUEUE, "lab1"));
+        assertEquals(classLabs, versions.etag(ResourceVersions.CLASS_LABS, "class1"));
+    }
+
+    /**
+     * Test: If-None-Match parsing handles lists, weak tags and wildcards
+     */
+    @Test
+    void testMatches() {
+        String etag = versions.etag(ResourceVersions.LAB, "lab1");
+
+        assertTrue(ResourceVersions.matches("\"" + etag + "\"", etag));
+        assertTrue(ResourceVersions.matches("\"other\", W/\"" + etag + "\"", etag));
+        assertTrue(ResourceVersions.matches("*", etag));
+        assertFalse(ResourceVersions.matches("\"other\"", etag));
+        assertFalse(ResourceVersions.matches(null, etag));
+    }
+
+    /**
+     * Test: Without the invalidation bus, 304s are only served when local-only tags are allowed
+     */
+    @Test
+    void testNotModified_RequiresBusOrLocalOnly() {
+        String etag = versions.etag(ResourceVersions.LAB, "lab1");
+        assertFalse(versions.notModified("\"" + etag + "\"", etag));
+
+        ResourceVersions localOnly = new ResourceVersions(new InvalidationBus(null, false, "localhost", 6379), true);
+        String localEtag = localOnly.etag(ResourceVersions.LAB, "lab1");
+        assertTrue(localOnly.notModified("\"" + localEtag + "\"", localEtag));
+        assertFalse(localOnly.notModified("\"other\"", localEtag));
+    }
+
+    /**
+     * Test: With the bus enabled, 304s are only served while the subscriber is connected
+     */
+    @Test
+    void testNotModified_OnlyWhileSubscribed() {
+        InvalidationBus bus = mock(InvalidationBus.class);
+        ResourceVersions shared = new ResourceVersions(bus, false);
+        String etag = shared.etag(ResourceVersions.LAB, "lab1");
+
+        assertFalse(shared.notModified("\"" + etag + "\"", etag));
+        when(bus.isSubscribed()).thenReturn(true);
+        assertTrue(shared.notModified("\"" + etag + "\"", etag));
+    }
+
+    /**
+     * Test: Every tag changes when the subscriber reconnects or a peer asks for a reset
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEpoch_RotatesOnResubscribeAndPeerReset() {
+        InvalidationBus bus = mock(InvalidationBus.class);
+        ResourceVersions shared = new ResourceVersions(bus, false);
+        ArgumentCaptor<Runnable> resubscribe = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(bus).onSubscribe(resubscribe.capture());
+        verify(bus).register(eq(ResourceVersions.NAMESPACE), listener.capture());
+
+        String initial = shared.etag(ResourceVersions.QUEUE, "lab1");
+        resubscribe.getValue().run();
+        String afterReconnect = shared.etag(ResourceVersions.QUEUE, "lab1");
+        assertNotEquals(initial, afterReconnect);
+
+        listener.getValue().accept(ResourceVersions.RESET);
+        assertNotEquals(afterReconnect, shared.etag(ResourceVersions.QUEUE, "lab1"));
+    }
+
+    /**
+     * Test: After a failed publish the next bump first tells peers to reset, once
+     */
+    @Test
+    void testBump_FailedPublishSendsResetFirst() {
+        InvalidationBus bus = mock(InvalidationBus.class);
+        when(bus.publish(anyString(), anyString())).thenReturn(false, true);
+        ResourceVersions shared = new ResourceVersions(bus, false);
+
+        shared.bump(ResourceVersions.GROUPS, "lab1");
+        shared.bump(ResourceVersions.GROUPS, "lab2");
+        shared.bump(ResourceVersions.GROUPS, "lab3");
+
+        InOrder order = inOrder(bus);
+        order.verify(bus).publish(ResourceVersions.NAMESPACE, "groups:lab1");
+        order.verify(bus).publish(ResourceVersions.NAMESPACE, ResourceVersions.RESET);
+        order.verify(bus).publish(ResourceVersions.NAMESPACE, "groups:lab2");
+        order.verify(bus).publish(ResourceVersions.NAMESPACE, "groups:lab3");
+        verify(bus, times(1)).publish(ResourceVersions.NAMESPACE, ResourceVersions.RESET);
+    }
+}
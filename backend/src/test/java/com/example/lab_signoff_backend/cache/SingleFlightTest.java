@@ -0,0 +1,81 @@
+package com.example.lab_signoff_backend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class SingleFlightTest {
+
+    /**
+     * Test: Concurrent calls for one key run the loader once and share its result
+     */
+    @Test
+    void testExecute_CollapsesConcurrentCalls() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight<String, String> flight = new SingleFlight<>("test", registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> flight.execute("lab1", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "groups";
+                })));
+            }
+            // Let every caller reach the flight before the leader finishes
+            while (registry.counter("app.singleflight.requests", "flight", "test", "result", "collapsed").count()
+                    + loads.get() < callers) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("groups", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Test: Loader exceptions propagate and are not remembered
+     */
+    @Test
+    void testExecute_ExceptionNotCached() {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class,
+                () -> flight.execute("lab1", () -> { throw new IllegalStateException("boom"); }));
+        assertEquals("ok", flight.execute("lab1", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.lab_signoff_backend.cache;
+
+import com.example.lab_signoff_backend.model.Lab;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TwoTierCache
+ *
+ * Redis is mocked, so these cover the local tier, invalidation and the
+ * fallback behaviour when Redis is unavailable.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    @Mock
+    private JedisPool jedisPool;
+
+    @Mock
+    private Jedis jedis;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        loads.set(0);
+    }
+
+    private TwoTierCache<Lab> cache(boolean enabled) {
+        CacheSettings settings = new CacheSettings(enabled, 100, 60, 600);
+        InvalidationBus bus = new InvalidationBus(jedisPool, enabled, "localhost", 6379);
+        ObjectMapper mapper = DocumentCaches.cacheMapper(new ObjectMapper().findAndRegisterModules());
+        return new TwoTierCache<>("labs", Lab.class, settings, jedisPool, mapper, bus, new SimpleMeterRegistry());
+    }
+
+    private Optional<Lab> load(String id) {
+        loads.incrementAndGet();
+        Lab lab = new Lab("class1", "Lab " + id, 3, "teacher1");
+        lab.setId(id);
+        return Optional.of(lab);
+    }
+
+    /**
+     * Test: Second lookup is served locally without hitting the loader
+     */
+    @Test
+    void testGet_SecondLookupServedLocally() {
+        when(jedisPool.getResource()).thenReturn(jedis);
+        TwoTierCache<Lab> cache = cache(true);
+
+        Optional<Lab> first = cache.get("lab1", this::load);
+        Optional<Lab> second = cache.get("lab1", this::load);
+
+        assertTrue(second.isPresent());
+        assertEquals("Lab lab1", second.get().getTitle());
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.hitRatio(), 0.0001);
+        verify(jedis).setex(any(byte[].class), eq(600L), any(byte[].class));
+        assertNotSame(first.get(), second.get());
+    }
+
+    /**
+     * Test: Callers mutating a returned value do not affect the cached copy
+     */
+    @Test
+    void testGet_ReturnsIndependentCopies() {
+        when(jedisPool.getResource()).thenReturn(jedis);
+        TwoTierCache<Lab> cache = cache(true);
+
+        cache.get("lab1", this::load).get().setTitle("changed");
+
+        assertEquals("Lab lab1", cache.get("lab1", this::load).get().getTitle());
+    }
+
+    /**
+     * Test: Invalidation forces the next lookup back to the loader
+     */
+    @Test
+    void testInvalidate_ForcesReload() {
+        when(jedisPool.getResource()).thenReturn(jedis);
+        TwoTierCache<Lab> cache = cache(true);
+
+        cache.get("lab1", this::load);
+        cache.invalidate("lab1");
+        cache.get("lab1", this::load);
+
+        assertEquals(2, loads.get());
+        verify(jedis).del(any(byte[].class));
+        verify(jedis).publish(eq(InvalidationBus.CHANNEL), any(String.class));
+    }
+
+    /**
+     * Test: Redis outages fall back to the loader instead of failing
+     */
+    @Test
+    void testGet_RedisUnavailable() {
+        when(jedisPool.getResource()).thenThrow(new JedisConnectionException("down"));
+        TwoTierCache<Lab> cache = cache(true);
+
+        Optional<Lab> result = cache.get("lab1", this::load);
+
+        assertTrue(result.isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test: Disabled cache always delegates to the loader
+     */
+    @Test
+    void testGet_Disabled() {
+        TwoTierCache<Lab> cache = cache(false);
+
+        cache.get("lab1", this::load);
+        cache.get("lab1", this::load);
+
+        assertEquals(2, loads.get());
+        verifyNoInteractions(jedisPool);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.lab_signoff_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StateNonceStore
+ *
+ * Redis is mocked, so these cover the commands issued per launch.
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class StateNonceStoreTest {
+
+    @Mock
+    private JedisPool jedisPool;
+
+    @Mock
+    private Jedis jedis;
+
+    private StateNonceStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(jedisPool.getResource()).thenReturn(jedis);
+        store = new StateNonceStore(jedisPool);
+    }
+
+    /**
+     * Test: The nonce is stored bare with the state TTL
+     */
+    @Test
+    void testIssueState_StoresBareNonce() {
+        String state = store.issueState("nonce-1");
+
+        verify(jedis).setex("state:" + state, 300, "nonce-1");
+        verify(jedis).close();
+    }
+
+    /**
+     * Test: Consuming is one GETDEL; a second launch with the same state gets nothing
+     */
+    @Test
+    void testConsumeNonce_SingleGetDel() {
+        when(jedis.getDel("state:abc")).thenReturn("nonce-1", (String) null);
+
+        assertEquals(Optional.of("nonce-1"), store.consumeNonce("abc"));
+        assertEquals(Optional.empty(), store.consumeNonce("abc"));
+
+        verify(jedis, times(2)).getDel("state:abc");
+        verify(jedis, never()).get(anyString());
+        verify(jedis, never()).del(anyString());
+    }
+
+    /**
+     * Test: Servers without GETDEL fall back to MULTI/GET/DEL, and stop trying GETDEL
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConsumeNonce_FallsBackToTransaction() {
+        when(jedis.getDel(anyString())).thenThrow(new JedisDataException("ERR unknown command 'GETDEL'"));
+        Transaction tx = mock(Transaction.class);
+        Response<String> response = mock(Response.class);
+        when(jedis.multi()).thenReturn(tx);
+        when(tx.get(anyString())).thenReturn(response);
+        when(response.get()).thenReturn("nonce-1", "nonce-2");
+
+        assertEquals(Optional.of("nonce-1"), store.consumeNonce("a"));
+        assertEquals(Optional.of("nonce-2"), store.consumeNonce("b"));
+
+        verify(jedis, times(1)).getDel(anyString());
+        ArgumentCaptor<String> deleted = ArgumentCaptor.forClass(String.class);
+        verify(tx, times(2)).del(deleted.capture());
+        assertEquals("state:b", deleted.getValue());
+        verify(tx, times(2)).exec();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.dto.BulkEnrollmentRequestDTO;
+import com.example.lab_signoff_backend.dto.BulkEnrollmentResultDTO;
+import com.example.lab_signoff_backend.model.Enrollment;
+import com.example.lab_signoff_backend.model.enums.EnrollmentRole;
+import com.example.lab_signoff_backend.repository.EnrollmentRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EnrollmentService bulk enrollment
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class EnrollmentServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulk;
+
+    @InjectMocks
+    private EnrollmentService service;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Enrollment.class)).thenReturn(bulk);
+    }
+
+    /**
+     * Test: One lookup for existing rows, then inserts and role changes in a single bulk write
+     */
+    @Test
+    void testBulkEnroll_InsertsUpdatesAndSkips() {
+        Enrollment existingStudent = enrollment("e1", "u1", EnrollmentRole.STUDENT);
+        Enrollment existingTa = enrollment("e2", "u2", EnrollmentRole.STUDENT);
+        when(mongoTemplate.find(any(Query.class), eq(Enrollment.class))).thenReturn(List.of(existingStudent, existingTa));
+
+        BulkEnrollmentResultDTO result = service.bulkEnroll(request(
+                new BulkEnrollmentRequestDTO.Row("u1", null, "STUDENT"),
+                new BulkEnrollmentRequestDTO.Row("u2", null, "ta"),
+                new BulkEnrollmentRequestDTO.Row("u3", null, null),
+                new BulkEnrollmentRequestDTO.Row("u3", null, null),
+                new BulkEnrollmentRequestDTO.Row("u4", null, "OWNER"),
+                new BulkEnrollmentRequestDTO.Row(null, null, null)));
+
+        assertEquals(List.of("UNCHANGED", "UPDATED", "CREATED", "DUPLICATE", "INVALID", "INVALID"),
+                result.getRows().stream().map(BulkEnrollmentResultDTO.RowResult::getOutcome).toList());
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(3, result.getRejected());
+        assertEquals("e2", result.getRows().get(1).getEnrollmentId());
+        assertNotNull(result.getRows().get(2).getEnrollmentId());
+
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Enrollment.class));
+        verify(bulk, times(1)).insert(any(Object.class));
+        verify(bulk, times(1)).updateOne(any(Query.class), any(Update.class));
+        verify(bulk, times(1)).execute();
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    /**
+     * Test: A row rejected by the database is reported without failing the rest of the batch
+     */
+    @Test
+    void testBulkEnroll_ReportsRowFailures() {
+        when(mongoTemplate.find(any(Query.class), eq(Enrollment.class))).thenReturn(List.of());
+        BulkWriteError duplicate = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+        MongoBulkWriteException cause = new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), List.of(duplicate), null, new ServerAddress(), Set.of());
+        when(bulk.execute()).thenThrow(new BulkOperationException("bulk failed", cause));
+
+        BulkEnrollmentResultDTO result = service.bulkEnroll(request(
+                new BulkEnrollmentRequestDTO.Row("u1", null, null),
+                new BulkEnrollmentRequestDTO.Row("u2", null, null)));
+
+        assertEquals("CREATED", result.getRows().get(0).getOutcome());
+        assertEquals("FAILED", result.getRows().get(1).getOutcome());
+        assertNull(result.getRows().get(1).getEnrollmentId());
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getRejected());
+    }
+
+    private static BulkEnrollmentRequestDTO request(BulkEnrollmentRequestDTO.Row... rows) {
+        BulkEnrollmentRequestDTO request = new BulkEnrollmentRequestDTO();
+        request.setClassId("class1");
+        request.setPerformedBy("teacher1");
+        request.setEnrollments(List.of(rows));
+        return request;
+    }
+
+    private static Enrollment enrollment(String id, String userId, EnrollmentRole role) {
+        Enrollment enrollment = new Enrollment(userId, "class1", role);
+        enrollment.setId(id);
+        return enrollment;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.cache.ResourceVersions;
+import com.example.lab_signoff_backend.dto.GroupProgressReportDTO;
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.ProjectionCheckpoint;
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
+import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import com.example.lab_signoff_backend.repository.SignoffEventRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GroupProgressProjection
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class GroupProgressProjectionTest {
+
+    private static final Instant T0 = Instant.parse("2025-10-01T10:00:00Z");
+
+    private MongoTemplate mongoTemplate;
+    private SignoffEventRepository eventRepository;
+    private ResourceVersions versions;
+    private BulkOperations bulk;
+    private GroupProgressProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        eventRepository = mock(SignoffEventRepository.class);
+        versions = mock(ResourceVersions.class);
+        bulk = mock(BulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getModifiedCount()).thenReturn(1);
+        when(bulk.execute()).thenReturn(result);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Group.class))).thenReturn(bulk);
+
+        projection = new GroupProgressProjection(mongoTemplate, eventRepository, versions, true, 0, 100, 1);
+    }
+
+    /**
+     * Test: Catch-up folds checkpoint passes and returns, skips group-level events and saves the watermark
+     */
+    @Test
+    void testCatchUp_FoldsCheckpointEvents() {
+        SignoffEvent pass = event("e1", "g1", 1, SignoffAction.PASS, "ta1", T0);
+        SignoffEvent groupPass = event("e2", "g1", null, SignoffAction.PASS, "ta1", T0.plusSeconds(1));
+        SignoffEvent ret = event("e3", "g1", 2, SignoffAction.RETURN, "ta2", T0.plusSeconds(2));
+        when(eventRepository.findSlice(any(Criteria.class), any(), anyInt())).thenReturn(List.of(pass, groupPass, ret));
+
+        assertEquals(3, projection.catchUp());
+
+        // Two guarded updates per checkpoint event: same signer, then a new signer
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(4)).updateOne(any(Query.class), updates.capture());
+        Document passKeepsName = set(updates.getAllValues().get(0));
+        assertEquals(SignoffAction.PASS, passKeepsName.get("checkpointProgress.$.status"));
+        assertEquals("ta1", passKeepsName.get("checkpointProgress.$.signedOffBy"));
+        assertFalse(passKeepsName.containsKey("checkpointProgress.$.signedOffByName"));
+        Document passNewSigner = set(updates.getAllValues().get(1));
+        assertTrue(passNewSigner.containsKey("checkpointProgress.$.signedOffByName"));
+        assertNull(passNewSigner.get("checkpointProgress.$.signedOffByName"));
+        Document returned = set(updates.getAllValues().get(2));
+        assertEquals(SignoffAction.RETURN, returned.get("checkpointProgress.$.status"));
+        assertNull(returned.get("checkpointProgress.$.signedOffBy"));
+
+        ArgumentCaptor<ProjectionCheckpoint> watermark = ArgumentCaptor.forClass(ProjectionCheckpoint.class);
+        verify(mongoTemplate).save(watermark.capture());
+        assertEquals("e3", watermark.getValue().getLastEventId());
+        verify(versions).bump(ResourceVersions.GROUPS, "lab1");
+    }
+
+    /**
+     * Test: Verify reports mismatched and missing checkpoints without writing
+     */
+    @Test
+    void testVerify_ReportsDivergencesWithoutWriting() {
+        eventsForLab(
+                event("e1", "g1", 1, SignoffAction.PASS, "ta1", T0),
+                event("e2", "g1", 1, SignoffAction.RETURN, "ta1", T0.plusSeconds(5)),
+                event("e3", "g1", 3, SignoffAction.PASS, "ta1", T0.plusSeconds(6)));
+        Group group = group("g1", progress(1, SignoffAction.PASS, "ta1", "TA One", T0));
+        when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of(group));
+
+        GroupProgressReportDTO report = projection.verify("lab1");
+
+        assertEquals(3, report.getEventsScanned());
+        assertEquals(2, report.getDivergences().size());
+        GroupProgressReportDTO.Divergence mismatch = divergence(report, 1);
+        assertEquals("STATUS_MISMATCH", mismatch.getKind());
+        assertEquals(SignoffAction.RETURN, mismatch.getExpected());
+        assertEquals(SignoffAction.PASS, mismatch.getActual());
+        assertEquals("MISSING_CHECKPOINT", divergence(report, 3).getKind());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Group.class));
+    }
+
+    /**
+     * Test: Rebuild repairs a drifted checkpoint against the state it compared, keeps the display name
+     * and stamps the group with the write time so export fingerprints change
+     */
+    @Test
+    void testRebuild_RepairsDriftedGroup() {
+        eventsForLab(event("e1", "g1", 1, SignoffAction.PASS, "system", T0.plusSeconds(10)));
+        Group group = group("g1", progress(1, SignoffAction.RETURN, "system", "Auto", T0));
+        when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenReturn(List.of(group));
+        Instant before = Instant.now();
+
+        GroupProgressReportDTO report = projection.rebuild("lab1");
+
+        assertEquals(1, report.getRepaired());
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).updateOne(queries.capture(), updates.capture());
+        Document match = queries.getValue().getQueryObject().get("checkpointProgress", Document.class)
+                .get("$elemMatch", Document.class);
+        assertEquals(T0, match.get("timestamp"));
+        Document set = set(updates.getValue());
+        assertEquals(SignoffAction.PASS, set.get("checkpointProgress.$.status"));
+        assertFalse(set.containsKey("checkpointProgress.$.signedOffByName"));
+        assertFalse(set.get("lastUpdatedAt", Instant.class).isBefore(before));
+        verify(versions).bump(ResourceVersions.GROUPS, "lab1");
+    }
+
+    private void eventsForLab(SignoffEvent... events) {
+        when(eventRepository.streamAll(any(Criteria.class))).thenAnswer(invocation -> List.of(events).stream());
+    }
+
+    private static GroupProgressReportDTO.Divergence divergence(GroupProgressReportDTO report, int checkpoint) {
+        return report.getDivergences().stream()
+                .filter(d -> d.getCheckpointNumber() == checkpoint)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Document set(Update update) {
+        return update.getUpdateObject().get("$set", Document.class);
+    }
+
+    private static SignoffEvent event(String id, String groupId, Integer checkpoint, SignoffAction action,
+                                      String performedBy, Instant timestamp) {
+        SignoffEvent event = new SignoffEvent();
+        event.setId(id);
+        event.setLabId("lab1");
+        event.setGroupId(groupId);
+        event.setCheckpointNumber(checkpoint);
+        event.setAction(action);
+        event.setPerformedBy(performedBy);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+
+    private static CheckpointProgress progress(int checkpoint, SignoffAction status, String signedOffBy,
+                                               String name, Instant timestamp) {
+        CheckpointProgress progress = new CheckpointProgress(checkpoint, status);
+        progress.setSignedOffBy(signedOffBy);
+        progress.setSignedOffByName(name);
+        progress.setTimestamp(timestamp);
+        return progress;
+    }
+
+    private static Group group(String groupId, CheckpointProgress... checkpoints) {
+        Group group = new Group();
+        group.setId(groupId + "-doc");
+        group.setGroupId(groupId);
+        group.setLabId("lab1");
+        group.setCheckpointProgress(new ArrayList<>(List.of(checkpoints)));
+        return group;
+    }
+}
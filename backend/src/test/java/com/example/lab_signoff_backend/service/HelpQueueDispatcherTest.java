@@ -0,0 +1,156 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.websocket.LabWebSocketController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HelpQueueDispatcher
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class HelpQueueDispatcherTest {
+
+    private HelpQueueService helpQueueService;
+    private LabWebSocketController wsController;
+    private HelpQueueDispatcher dispatcher;
+    private List<HelpQueueItem> waiting;
+    private List<HelpQueueItem> claimed;
+
+    @BeforeEach
+    void setUp() {
+        helpQueueService = mock(HelpQueueService.class);
+        wsController = mock(LabWebSocketController.class);
+        dispatcher = new HelpQueueDispatcher(helpQueueService, wsController, true, 1);
+        waiting = new ArrayList<>();
+        claimed = new ArrayList<>();
+
+        when(helpQueueService.getWaitingQueue("lab1")).thenAnswer(invocation -> new ArrayList<>(waiting));
+        when(helpQueueService.getClaimedQueue("lab1")).thenAnswer(invocation -> new ArrayList<>(claimed));
+        when(helpQueueService.claimIfWaiting(anyString(), anyString())).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            Optional<HelpQueueItem> item = waiting.stream().filter(w -> w.getId().equals(id)).findFirst();
+            item.ifPresent(w -> {
+                waiting.remove(w);
+                w.claim(invocation.getArgument(1));
+                claimed.add(w);
+            });
+            return item;
+        });
+    }
+
+    /**
+     * Test: Requests go to the least-loaded TAs in queue order, one each
+     */
+    @Test
+    void testDispatch_LeastLoadedTaInQueueOrder() {
+        waiting.add(item("q1", "g1"));
+        waiting.add(item("q2", "g2"));
+        waiting.add(item("q3", "g3"));
+
+        dispatcher.setAvailable("lab1", "ta1", true);
+        dispatcher.setAvailable("lab1", "ta2", true);
+
+        assertEquals("ta1", claimedBy("q1"));
+        assertEquals("ta2", claimedBy("q2"));
+        assertEquals(1, waiting.size());
+        verify(wsController).sendHelpQueueAssignment(eq("ta1"), any());
+        verify(wsController).sendHelpQueueAssignment(eq("ta2"), any());
+    }
+
+    /**
+     * Test: A TA is not handed the group they just helped when another TA is free
+     */
+    @Test
+    void testDispatch_AvoidsSameGroupForSameTa() {
+        dispatcher.setAvailable("lab1", "ta1", true);
+        waiting.add(item("q1", "g1"));
+        dispatcher.dispatch("lab1");
+        assertEquals("ta1", claimedBy("q1"));
+
+        // ta1 finishes; ta2 joins; g1 raises its hand again
+        claimed.clear();
+        dispatcher.setAvailable("lab1", "ta2", true);
+        waiting.add(item("q2", "g1"));
+        dispatcher.dispatch("lab1");
+
+        assertEquals("ta2", claimedBy("q2"));
+    }
+
+    /**
+     * Test: Nothing is assigned once every TA is at capacity or after they go unavailable
+     */
+    @Test
+    void testDispatch_RespectsCapacityAndAvailability() {
+        waiting.add(item("q1", "g1"));
+        waiting.add(item("q2", "g2"));
+        dispatcher.setAvailable("lab1", "ta1", true);
+        assertEquals(1, waiting.size());
+
+        dispatcher.setAvailable("lab1", "ta1", false);
+        claimed.clear();
+        assertTrue(dispatcher.dispatch("lab1").isEmpty());
+        assertEquals(1, waiting.size());
+    }
+
+    /**
+     * Test: Availability tied to sessions is dropped only when the TA's last session closes
+     */
+    @Test
+    void testDisconnect_RemovesAvailabilityAfterLastSession() {
+        Principal ta1 = () -> "ta1";
+        dispatcher.onConnect(new SessionConnectedEvent(this, message("s1"), ta1));
+        dispatcher.onConnect(new SessionConnectedEvent(this, message("s2"), ta1));
+        dispatcher.setAvailable("lab1", "ta1", true);
+        // Marked available over REST without a session: not tied to any socket
+        dispatcher.setAvailable("lab2", "ta2", true);
+
+        dispatcher.onDisconnect(disconnect("s1", ta1));
+        assertEquals(List.of("ta1"), dispatcher.getAvailableTas("lab1"));
+
+        dispatcher.onDisconnect(disconnect("s2", ta1));
+        assertTrue(dispatcher.getAvailableTas("lab1").isEmpty());
+
+        dispatcher.onDisconnect(disconnect("s3", () -> "ta2"));
+        assertEquals(List.of("ta2"), dispatcher.getAvailableTas("lab2"));
+    }
+
+    private static Message<byte[]> message(String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+
+    private SessionDisconnectEvent disconnect(String sessionId, Principal user) {
+        return new SessionDisconnectEvent(this, message(sessionId), sessionId, CloseStatus.NORMAL, user);
+    }
+
+    private String claimedBy(String id) {
+        return claimed.stream().filter(c -> c.getId().equals(id)).findFirst().orElseThrow().getClaimedBy();
+    }
+
+    private static HelpQueueItem item(String id, String groupId) {
+        HelpQueueItem item = new HelpQueueItem("lab1", groupId, "student", 1);
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.cache.InvalidationBus;
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import com.example.lab_signoff_backend.repository.HelpQueueItemRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HelpQueueIndex
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class HelpQueueIndexTest {
+
+    private HelpQueueItemRepository repository;
+    private HelpQueueIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(HelpQueueItemRepository.class);
+        when(repository.findByLabIdAndStatusIn(eq("lab1"), anyList())).thenReturn(List.of());
+        index = new HelpQueueIndex(repository, mock(InvalidationBus.class), true);
+        // Load the (empty) lab so subsequent saves are applied in place
+        index.waiting("lab1");
+    }
+
+    /**
+     * Test: Urgent requests are served first, then FIFO by position
+     */
+    @Test
+    void testWaiting_UrgentFirstThenPosition() {
+        save(item("a", "g1", 1, false));
+        save(item("b", "g2", 2, true));
+        save(item("c", "g3", 3, false));
+        save(item("d", "g4", 4, true));
+
+        assertEquals(List.of("b", "d", "a", "c"), ids(index.waiting("lab1")));
+        assertEquals("b", index.next("lab1").orElseThrow().getId());
+        assertEquals(Optional.of(1), index.rankOf("lab1", "b"));
+        assertEquals(Optional.of(2), index.rankOf("lab1", "d"));
+        assertEquals(Optional.of(3), index.rankOf("lab1", "a"));
+        assertEquals(Optional.of(4), index.rankOf("lab1", "c"));
+    }
+
+    /**
+     * Test: Claiming moves a request out of the waiting order but keeps it active
+     */
+    @Test
+    void testSave_ClaimAndResolve() {
+        save(item("a", "g1", 1, false));
+        HelpQueueItem b = item("b", "g2", 2, false);
+        save(b);
+
+        HelpQueueItem claimed = item("a", "g1", 1, false);
+        claimed.claim("ta1");
+        save(claimed);
+
+        assertEquals(List.of("b"), ids(index.waiting("lab1")));
+        assertEquals(List.of("a"), ids(index.claimed("lab1")));
+        assertEquals(List.of("b", "a"), ids(index.active("lab1")));
+        assertEquals(Optional.of(1), index.rankOf("lab1", "b"));
+        assertTrue(index.rankOf("lab1", "a").isEmpty());
+        assertEquals(2, index.countActive("lab1"));
+
+        HelpQueueItem resolved = item("a", "g1", 1, false);
+        resolved.resolve();
+        save(resolved);
+
+        assertEquals(1, index.countActive("lab1"));
+        assertTrue(index.activeForGroup("lab1", "g1").isEmpty());
+        assertEquals("b", index.activeForGroup("lab1", "g2").orElseThrow().getId());
+    }
+
+    /**
+     * Test: Marking a request urgent re-ranks it ahead of earlier normal requests
+     */
+    @Test
+    void testSave_SetUrgentReranks() {
+        for (int i = 1; i <= 5; i++) {
+            save(item("i" + i, "g" + i, i, false));
+        }
+        HelpQueueItem urgent = item("i4", "g4", 4, true);
+        save(urgent);
+
+        assertEquals(List.of("i4", "i1", "i2", "i3", "i5"), ids(index.waiting("lab1")));
+        assertEquals(Optional.of(1), index.rankOf("lab1", "i4"));
+        assertEquals(Optional.of(5), index.rankOf("lab1", "i5"));
+    }
+
+    /**
+     * Test: Ranks stay correct for positions beyond the initial tree capacity
+     */
+    @Test
+    void testRankOf_LargePositions() {
+        for (int i = 1; i <= 300; i++) {
+            save(item("i" + i, "g" + i, i * 7, i % 10 == 0));
+        }
+        List<HelpQueueItem> waiting = index.waiting("lab1");
+        for (int i = 0; i < waiting.size(); i++) {
+            assertEquals(Optional.of(i + 1), index.rankOf("lab1", waiting.get(i).getId()));
+        }
+    }
+
+    /**
+     * Test: Batch deletes by id (archival) remove only the listed items
+     */
+    @Test
+    void testDelete_ByIdInList() {
+        save(item("a", "g1", 1, false));
+        save(item("b", "g2", 2, false));
+        save(item("c", "g3", 3, false));
+
+        Document query = new Document("_id", new Document("$in", List.of("a", "c", "closed")));
+        index.onAfterDelete(new AfterDeleteEvent<>(query, HelpQueueItem.class, "help_queue_items"));
+
+        assertEquals(List.of("b"), ids(index.waiting("lab1")));
+        verify(repository, times(1)).findByLabIdAndStatusIn(eq("lab1"), anyList());
+    }
+
+    /**
+     * Test: Deleting by id removes the item; deleting by lab reloads from the repository
+     */
+    @Test
+    void testDelete_RemovesOrReloads() {
+        save(item("a", "g1", 1, false));
+        save(item("b", "g2", 2, false));
+
+        index.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "a"), HelpQueueItem.class, "help_queue_items"));
+        assertEquals(List.of("b"), ids(index.waiting("lab1")));
+
+        index.onAfterDelete(new AfterDeleteEvent<>(new Document("labId", "lab1"), HelpQueueItem.class, "help_queue_items"));
+        assertTrue(index.waiting("lab1").isEmpty());
+        verify(repository, times(2)).findByLabIdAndStatusIn(eq("lab1"), anyList());
+    }
+
+    private void save(HelpQueueItem item) {
+        index.onAfterSave(new AfterSaveEvent<>(item, new Document(), "help_queue_items"));
+    }
+
+    private static HelpQueueItem item(String id, String groupId, int position, boolean urgent) {
+        HelpQueueItem item = new HelpQueueItem("lab1", groupId, "student", position);
+        item.setId(id);
+        if (urgent) {
+            item.setUrgent();
+        }
+        return item;
+    }
+
+    private static List<String> ids(List<HelpQueueItem> items) {
+        List<String> ids = new ArrayList<>();
+        items.forEach(item -> ids.add(item.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.HelpQueueItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HelpQueueWaitEstimator
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class HelpQueueWaitEstimatorTest {
+
+    private final HelpQueueWaitEstimator estimator = new HelpQueueWaitEstimator(0.5, 300, 15);
+
+    /**
+     * Test: No estimate until a TA has been active in the lab
+     */
+    @Test
+    void testEstimate_NoActiveTas() {
+        assertNull(estimator.estimateWaitSeconds("lab1", 3));
+        assertEquals(300, estimator.snapshot("lab1").serviceSeconds());
+    }
+
+    /**
+     * Test: Service time is an EWMA of claim-to-resolve samples, scaled by queue depth over active TAs
+     */
+    @Test
+    void testEstimate_EwmaServiceTimeOverActiveTas() {
+        Instant now = Instant.now();
+        resolve("ta1", now.minusSeconds(400), now.minusSeconds(200));
+        // 0.5 * 100 + 0.5 * 200
+        resolve("ta2", now.minusSeconds(100), now);
+
+        HelpQueueWaitEstimator.Snapshot snapshot = estimator.snapshot("lab1");
+        assertEquals(150, snapshot.serviceSeconds(), 0.001);
+        assertEquals(2, snapshot.activeTas());
+        assertEquals(2, snapshot.resolvedSamples());
+        assertEquals(300L, estimator.estimateWaitSeconds("lab1", 4));
+    }
+
+    /**
+     * Test: A TA holding a claim stays active past the window; idle TAs drop out
+     */
+    @Test
+    void testActiveTas_OpenClaimsKeepTaActive() {
+        Instant longAgo = Instant.now().minusSeconds(3600);
+        HelpQueueItem held = item("ta1", longAgo.minusSeconds(60), longAgo);
+        estimator.recordClaim(held);
+        resolve("ta2", longAgo.minusSeconds(60), longAgo);
+
+        assertEquals(1, estimator.snapshot("lab1").activeTas());
+
+        held.cancel();
+        estimator.recordCancel(held);
+        assertEquals(0, estimator.snapshot("lab1").activeTas());
+    }
+
+    private void resolve(String ta, Instant claimedAt, Instant resolvedAt) {
+        HelpQueueItem item = item(ta, claimedAt.minusSeconds(30), claimedAt);
+        estimator.recordClaim(item);
+        item.setResolvedAt(resolvedAt);
+        estimator.recordResolve(item);
+    }
+
+    private static HelpQueueItem item(String ta, Instant raisedAt, Instant claimedAt) {
+        HelpQueueItem item = new HelpQueueItem("lab1", "g1", "student", 1);
+        item.setRaisedAt(raisedAt);
+        item.setClaimedBy(ta);
+        item.setClaimedAt(claimedAt);
+        return item;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.Class;
+import com.example.lab_signoff_backend.model.Enrollment;
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.Lab;
+import com.example.lab_signoff_backend.model.enums.EnrollmentRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LabGradeExportCache
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class LabGradeExportCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private LabGradeExportService exportService;
+    private GroupService groupService;
+    private EnrollmentService enrollmentService;
+    private UserService userService;
+    private MongoTemplate mongoTemplate;
+    private LabGradeExportCache cache;
+    private List<Group> groups;
+    private List<Enrollment> enrollments;
+
+    @BeforeEach
+    void setUp() {
+        exportService = mock(LabGradeExportService.class);
+        LabService labService = mock(LabService.class);
+        ClassService classService = mock(ClassService.class);
+        groupService = mock(GroupService.class);
+        enrollmentService = mock(EnrollmentService.class);
+        userService = mock(UserService.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        cache = new LabGradeExportCache(exportService, labService, classService, groupService,
+                enrollmentService, userService, mongoTemplate, true, dir.toString(), 30);
+
+        Lab lab = new Lab("class1", "Lab 1", 3, "teacher");
+        lab.setId("lab1");
+        Class classEntity = new Class("CS101", "Intro", "Fall", "teacher");
+        classEntity.setId("class1");
+        when(labService.getById("lab1")).thenReturn(Optional.of(lab));
+        when(classService.getClassById("class1")).thenReturn(Optional.of(classEntity));
+
+        enrollments = new ArrayList<>(List.of(enrollment("e1", "u1"), enrollment("e2", "u2")));
+        when(enrollmentService.getActiveStudents("class1")).thenAnswer(invocation -> new ArrayList<>(enrollments));
+        when(userService.findByIds(any())).thenReturn(Map.of());
+
+        groups = new ArrayList<>(List.of(group("g1", 1), group("g2", 1)));
+        when(groupService.getGroupsByLabId("lab1")).thenAnswer(invocation -> new ArrayList<>(groups));
+        when(mongoTemplate.find(any(Query.class), eq(Group.class))).thenAnswer(invocation -> groups.stream()
+                .map(g -> group(g.getId(), g.getLastUpdatedAt().getEpochSecond()))
+                .toList());
+        when(exportService.buildCsv(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> ("rows:" + ((List<?>) invocation.getArgument(2)).size()).getBytes());
+    }
+
+    /**
+     * Test: An unchanged lab is served from the cached file without rebuilding
+     */
+    @Test
+    void testGet_UnchangedServedFromFile() throws Exception {
+        LabGradeExportCache.CachedExport first = cache.get("lab1");
+        LabGradeExportCache.CachedExport second = cache.get("lab1");
+
+        assertSame(first, second);
+        assertEquals("rows:2", Files.readString(second.file()));
+        assertEquals(Files.size(second.file()), second.size());
+        assertEquals("lab_lab1_grades.csv", second.fileName());
+        verify(exportService, times(1)).buildCsv(any(), any(), any(), any(), any());
+        verify(groupService, times(1)).getGroupsByLabId("lab1");
+    }
+
+    /**
+     * Test: Only groups whose lastUpdatedAt changed are reloaded
+     */
+    @Test
+    void testGet_ReloadsOnlyChangedGroups() throws Exception {
+        LabGradeExportCache.CachedExport first = cache.get("lab1");
+
+        groups.set(1, group("g2", 2));
+        groups.add(group("g3", 1));
+        when(groupService.getGroupsByIds(any())).thenAnswer(invocation -> groups.stream()
+                .filter(g -> ((java.util.Collection<?>) invocation.getArgument(0)).contains(g.getId()))
+                .toList());
+
+        LabGradeExportCache.CachedExport second = cache.get("lab1");
+
+        assertNotEquals(first.version(), second.version());
+        // A download of the first version still reads the file its headers describe
+        assertNotEquals(first.file(), second.file());
+        assertEquals("rows:2", Files.readString(first.file()));
+        assertEquals("rows:3", Files.readString(second.file()));
+        verify(groupService).getGroupsByIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of("g2", "g3"))));
+        verify(groupService, times(1)).getGroupsByLabId("lab1");
+        verify(exportService).buildCsv(any(), any(), argThat(list -> list.size() == 3), any(), any());
+    }
+
+    /**
+     * Test: An enrollment change triggers a full reload
+     */
+    @Test
+    void testGet_EnrollmentChangeReloadsEverything() {
+        cache.get("lab1");
+        enrollments.add(enrollment("e3", "u3"));
+
+        cache.get("lab1");
+
+        verify(groupService, times(2)).getGroupsByLabId("lab1");
+        verify(userService, times(2)).findByIds(any());
+        verify(groupService, never()).getGroupsByIds(any());
+    }
+
+    private static Group group(String id, long updatedAt) {
+        Group group = new Group();
+        group.setId(id);
+        group.setLabId("lab1");
+        group.setLastUpdatedAt(Instant.ofEpochSecond(updatedAt));
+        return group;
+    }
+
+    private static Enrollment enrollment(String id, String userId) {
+        Enrollment enrollment = new Enrollment(userId, "class1", EnrollmentRole.STUDENT);
+        enrollment.setId(id);
+        enrollment.setUpdatedAt(Instant.EPOCH);
+        return enrollment;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.ags.AgsGradesClient;
+import com.example.lab_signoff_backend.ags.MockAgsController;
+import com.example.lab_signoff_backend.model.Group;
+import com.example.lab_signoff_backend.model.Lab;
+import com.example.lab_signoff_backend.model.ScoreOutboxEntry;
+import com.example.lab_signoff_backend.model.embedded.CheckpointProgress;
+import com.example.lab_signoff_backend.model.embedded.GroupMember;
+import com.example.lab_signoff_backend.model.enums.ScoreOutboxStatus;
+import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScorePublishOutbox
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class ScorePublishOutboxTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private AgsGradesClient client;
+    private MockAgsController mockAgs;
+    private ScorePublishOutbox outbox;
+    private Lab lab;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(ScoreOutboxEntry.class))).thenReturn(bulk);
+
+        // The client posts straight to the mock AGS controller
+        mockAgs = new MockAgsController();
+        ReflectionTestUtils.setField(mockAgs, "mockEnabled", true);
+        ReflectionTestUtils.setField(mockAgs, "retentionSeconds", 3600L);
+        ReflectionTestUtils.setField(mockAgs, "redactComments", true);
+        ReflectionTestUtils.setField(mockAgs, "maxBatchSize", 100);
+        client = mock(AgsGradesClient.class);
+        when(client.publish(anyList())).thenAnswer(invocation -> mockAgs.batch(invocation.getArgument(0)).getBody());
+
+        lab = new Lab("class1", "Lab 1", 3, "teacher");
+        lab.setId("lab1");
+        LabService labService = mock(LabService.class);
+        when(labService.getById("lab1")).thenReturn(Optional.of(lab));
+
+        outbox = new ScorePublishOutbox(mongoTemplate, labService, mock(GroupService.class), client,
+                new SimpleMeterRegistry(), true, 50, 20, 0, 3, 1000, 600000, 60, 2000);
+    }
+
+    /**
+     * Test: Every member gets one upsert keyed by (line item, student), bumping the revision
+     */
+    @Test
+    void testEnqueueGroup_UpsertsOneScorePerMember() {
+        Group group = group("g1", "u1", "u2");
+        group.setCheckpointProgress(new ArrayList<>(List.of(
+                new CheckpointProgress(1, SignoffAction.PASS),
+                new CheckpointProgress(2, SignoffAction.RETURN))));
+
+        assertEquals(2, outbox.enqueueGroup("lab1", group));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(queries.capture(), updates.capture());
+        verify(bulk).execute();
+
+        assertEquals("lab-lab1:u1", queries.getAllValues().get(0).getQueryObject().get("_id"));
+        assertEquals("lab-lab1:u2", queries.getAllValues().get(1).getQueryObject().get("_id"));
+        Document set = updates.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(1.0, set.get("scoreGiven"));
+        assertEquals(3.0, set.get("scoreMaximum"));
+        assertEquals("InProgress", set.get("activityProgress"));
+        assertEquals(ScoreOutboxStatus.PENDING, set.get("status"));
+        assertEquals(1, updates.getValue().getUpdateObject().get("$inc", Document.class).get("revision"));
+    }
+
+    /**
+     * Test: A batch is published in one call; accepted scores are SENT, rejected ones FAILED
+     */
+    @Test
+    void testDrain_PublishesBatchAgainstMockAgs() {
+        ScoreOutboxEntry ok1 = entry("u1", 2.0, 3.0, 0);
+        ScoreOutboxEntry ok2 = entry("u2", 3.0, 3.0, 0);
+        ScoreOutboxEntry invalid = entry("u3", 1.0, 0.0, 0);
+        claims(List.of(ok1, ok2, invalid));
+
+        assertEquals(2, outbox.drain());
+
+        verify(client, times(1)).publish(anyList());
+        List<Document> sets = updatesFor(3);
+        assertEquals(ScoreOutboxStatus.SENT, sets.get(0).get("status"));
+        assertEquals("mock-result-u1", sets.get(0).get("resultId"));
+        assertEquals(ScoreOutboxStatus.SENT, sets.get(1).get("status"));
+        assertEquals(ScoreOutboxStatus.FAILED, sets.get(2).get("status"));
+        assertTrue(((String) sets.get(2).get("lastError")).startsWith("400"));
+        // The mock AGS kept the last accepted score; the rejected one never reached it
+        assertEquals(List.of("mock-result-u2"), mockAgs.last("class1").getBody().resultIds);
+    }
+
+    /**
+     * Test: A failed call backs the whole batch off; the last allowed attempt fails it
+     */
+    @Test
+    void testDrain_RetriesWithBackoffThenFails() {
+        doThrow(new ResourceAccessException("connection refused")).when(client).publish(anyList());
+        ScoreOutboxEntry first = entry("u1", 1.0, 3.0, 0);
+        ScoreOutboxEntry last = entry("u2", 1.0, 3.0, 2);
+        claims(List.of(first, last));
+
+        assertEquals(0, outbox.drain());
+
+        List<Document> sets = updatesFor(2);
+        assertEquals(1, sets.get(0).get("attempts"));
+        assertTrue(((Instant) sets.get(0).get("nextAttemptAt")).isAfter(Instant.now().plusMillis(500)));
+        assertNull(sets.get(0).get("status"));
+        assertEquals(ScoreOutboxStatus.FAILED, sets.get(1).get("status"));
+    }
+
+    /**
+     * Test: Results are recorded only against the revision that was sent
+     */
+    @Test
+    void testDrain_ResultsGuardedByRevision() {
+        ScoreOutboxEntry entry = entry("u1", 3.0, 3.0, 0);
+        entry.setRevision(7);
+        claims(List.of(entry));
+
+        outbox.drain();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(bulk).updateOne(queries.capture(), any(Update.class));
+        assertEquals(7L, queries.getValue().getQueryObject().get("revision"));
+    }
+
+    /**
+     * Test: A run stops once the rate budget is spent instead of sleeping; later runs wait for it
+     */
+    @Test
+    void testDrain_PacesAcrossRuns() {
+        ScorePublishOutbox paced = new ScorePublishOutbox(mongoTemplate, mock(LabService.class), mock(GroupService.class),
+                client, new SimpleMeterRegistry(), true, 2, 20, 1, 3, 1000, 600000, 60, 1000);
+        claims(List.of(entry("u1", 1.0, 3.0, 0), entry("u2", 1.0, 3.0, 0)));
+
+        long started = System.nanoTime();
+        assertEquals(2, paced.drain());
+        assertEquals(0, paced.drain());
+
+        assertTrue(System.nanoTime() - started < Duration.ofSeconds(1).toNanos());
+        verify(client, times(1)).publish(anyList());
+        // One claim (two finds); neither the rest of the first run nor the second run claimed again
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(ScoreOutboxEntry.class));
+    }
+
+    /**
+     * Test: Backoff doubles per attempt within the jitter band and stops at the cap
+     */
+    @Test
+    void testBackoff_ExponentialAndCapped() {
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            long expected = 1000L << (attempt - 1);
+            Duration backoff = outbox.backoff(attempt);
+            assertTrue(backoff.toMillis() >= expected * 0.8 && backoff.toMillis() <= expected * 1.2, "attempt " + attempt);
+        }
+        assertTrue(outbox.backoff(40).toMillis() <= 600000 * 1.2);
+    }
+
+    private void claims(List<ScoreOutboxEntry> entries) {
+        // First find returns the due ids, second the entries this worker leased
+        when(mongoTemplate.find(any(Query.class), eq(ScoreOutboxEntry.class))).thenReturn(entries).thenReturn(entries).thenReturn(List.of());
+    }
+
+    private List<Document> updatesFor(int count) {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(count)).updateOne(any(Query.class), updates.capture());
+        return updates.getAllValues().stream()
+                .map(update -> update.getUpdateObject().get("$set", Document.class))
+                .toList();
+    }
+
+    private static ScoreOutboxEntry entry(String userId, double given, double maximum, int attempts) {
+        ScoreOutboxEntry entry = new ScoreOutboxEntry();
+        entry.setId(ScoreOutboxEntry.idFor("lab-lab1", userId));
+        entry.setCourseId("class1");
+        entry.setLineItemId("lab-lab1");
+        entry.setLabId("lab1");
+        entry.setUserId(userId);
+        entry.setScoreGiven(given);
+        entry.setScoreMaximum(maximum);
+        entry.setActivityProgress("InProgress");
+        entry.setGradingProgress("Pending");
+        entry.setStatus(ScoreOutboxStatus.PENDING);
+        entry.setRevision(1);
+        entry.setAttempts(attempts);
+        entry.setUpdatedAt(Instant.now());
+        return entry;
+    }
+
+    private static Group group(String id, String... userIds) {
+        Group group = new Group();
+        group.setId(id);
+        group.setLabId("lab1");
+        List<GroupMember> members = new ArrayList<>();
+        for (String userId : userIds) {
+            members.add(new GroupMember(userId, userId, null));
+        }
+        group.setMembers(members);
+        return group;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.lab_signoff_backend.service;
 
+import com.example.lab_signoff_backend.config.SignoffEventStorage;
+import com.example.lab_signoff_backend.dto.SignoffEventPageDTO;
 import com.example.lab_signoff_backend.model.SignoffEvent;
 import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import com.example.lab_signoff_backend.repository.SignoffEventCursor;
 import com.example.lab_signoff_backend.repository.SignoffEventRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -18,6 +22,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -328,21 +334,33 @@ class SignoffEventServiceTest {
         verify(repository).deleteById("event1");
     }
 
+    /**
+     * Test: Deleting is rejected when events are stored in a time-series collection
+     */
+    @Test
+    void testDeleteEvent_RejectedInTimeSeriesMode() {
+        SignoffEventStorage timeSeries = new SignoffEventStorage(true, "signoff_events_ts", Granularity.MINUTES, 0);
+        SignoffEventService timeSeriesService = new SignoffEventService(repository, null, timeSeries);
+
+        assertThrows(IllegalStateException.class, () -> timeSeriesService.deleteEvent("event1"));
+        verify(repository, never()).deleteById(any());
+    }
+
     /**
      * Test: Count events by lab ID
      */
     @Test
     void testCountEventsByLabId() {
         // Arrange
-        List<SignoffEvent> events = Arrays.asList(testEvent, testEvent, testEvent);
-        when(repository.findByLabId("lab1")).thenReturn(events);
+        when(repository.countByLabId("lab1")).thenReturn(3L);
 
         // Act
         long count = service.countEventsByLabId("lab1");
 
         // Assert
         assertEquals(3, count);
-        verify(repository).findByLabId("lab1");
+        verify(repository).countByLabId("lab1");
+        verify(repository, never()).findByLabId(any());
     }
 
     /**
@@ -351,13 +369,66 @@ class SignoffEventServiceTest {
     @Test
     void testCountEventsByLabId_NoEvents() {
         // Arrange
-        when(repository.findByLabId("lab1")).thenReturn(Arrays.asList());
+        when(repository.countByLabId("lab1")).thenReturn(0L);
 
         // Act
         long count = service.countEventsByLabId("lab1");
 
         // Assert
         assertEquals(0, count);
-        verify(repository).findByLabId("lab1");
+        verify(repository).countByLabId("lab1");
+    }
+
+    /**
+     * Test: Paged lookup returns a cursor when more events remain
+     */
+    @Test
+    void testGetEventsByLabId_Paged_HasMore() {
+        // Arrange
+        SignoffEvent second = new SignoffEvent();
+        second.setId("event2");
+        second.setTimestamp(testEvent.getTimestamp().plusSeconds(1));
+        SignoffEvent third = new SignoffEvent();
+        third.setId("event3");
+        third.setTimestamp(testEvent.getTimestamp().plusSeconds(2));
+        when(repository.findSlice(any(), isNull(), eq(3))).thenReturn(Arrays.asList(testEvent, second, third));
+
+        // Act
+        SignoffEventPageDTO page = service.getEventsByLabId("lab1", null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        SignoffEventCursor cursor = SignoffEventCursor.decode(page.getNextCursor());
+        assertEquals("event2", cursor.id());
+        assertEquals(second.getTimestamp().toEpochMilli(), cursor.timestamp().toEpochMilli());
+    }
+
+    /**
+     * Test: Last page has no cursor and the decoded cursor is passed to the repository
+     */
+    @Test
+    void testGetEventsByLabId_Paged_LastPage() {
+        // Arrange
+        String cursor = new SignoffEventCursor(Instant.ofEpochMilli(1000), "event1").encode();
+        when(repository.findSlice(any(), eq(new SignoffEventCursor(Instant.ofEpochMilli(1000), "event1")), eq(51)))
+                .thenReturn(List.of(testEvent));
+
+        // Act
+        SignoffEventPageDTO page = service.getEventsByLabId("lab1", cursor, null);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Test: Malformed cursors are rejected
+     */
+    @Test
+    void testGetEventsByLabId_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getEventsByLabId("lab1", "not-a-cursor", 10));
     }
 }
@@ -0,0 +1,130 @@
+package com.example.lab_signoff_backend.service;
+
+import com.example.lab_signoff_backend.model.SignoffEvent;
+import com.example.lab_signoff_backend.model.enums.SignoffAction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SignoffEventWriteBehind
+ *
+ * @author Lab Signoff App Team
+ * @version 1.0
+ */
+class SignoffEventWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private SignoffEventTimeSeriesService timeSeries;
+    private ObjectMapper objectMapper;
+    private SignoffEventWriteBehind writer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        timeSeries = mock(SignoffEventTimeSeriesService.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    /**
+     * Test: Full segments roll over and are deleted once their events are written
+     */
+    @Test
+    void testSealedSegmentsDeletedOnceWritten() throws Exception {
+        AtomicBoolean mongoUp = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            if (!mongoUp.get()) {
+                throw new IllegalStateException("mongo down");
+            }
+            return invocation.getArgument(0);
+        }).when(mongoTemplate).insert(anyList(), eq(SignoffEvent.class));
+        // One-byte segments: every append seals its segment
+        writer = start(1);
+
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(writer.enqueue(event("e" + i)));
+        }
+        assertTrue(Files.exists(dir.resolve("events.journal.1")));
+        assertTrue(Files.exists(dir.resolve("events.journal.3")));
+
+        mongoUp.set(true);
+        waitUntil(() -> !Files.exists(dir.resolve("events.journal.1"))
+                && !Files.exists(dir.resolve("events.journal.2"))
+                && !Files.exists(dir.resolve("events.journal.3")));
+        assertTrue(Files.exists(dir.resolve("events.journal.4")));
+        assertEquals(0, Files.size(dir.resolve("events.journal.4")));
+    }
+
+    /**
+     * Test: Leftover segments and an old single-file journal are replayed (after the
+     * time-series collection is ensured) and removed on start
+     */
+    @Test
+    void testStart_ReplaysLeftoverSegments() throws Exception {
+        Files.writeString(dir.resolve("events.journal"), objectMapper.writeValueAsString(event("old")) + "\n");
+        Files.writeString(dir.resolve("events.journal.7"), objectMapper.writeValueAsString(event("e7")) + "\n{torn");
+        when(mongoTemplate.find(any(Query.class), eq(SignoffEvent.class))).thenReturn(List.of());
+
+        writer = start(1024);
+
+        InOrder order = inOrder(timeSeries, mongoTemplate);
+        order.verify(timeSeries).ensureCollection();
+        order.verify(mongoTemplate, times(2)).insert(anyList(), eq(SignoffEvent.class));
+        assertFalse(Files.exists(dir.resolve("events.journal")));
+        assertFalse(Files.exists(dir.resolve("events.journal.7")));
+        assertTrue(Files.exists(dir.resolve("events.journal.1")));
+    }
+
+    private SignoffEventWriteBehind start(long segmentBytes) throws Exception {
+        SignoffEventWriteBehind started = new SignoffEventWriteBehind(mongoTemplate, timeSeries, objectMapper,
+                true, 100, 10, 1, false, segmentBytes, dir.resolve("events.journal").toString());
+        started.start();
+        return started;
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static SignoffEvent event(String id) {
+        SignoffEvent event = new SignoffEvent();
+        event.setId(id);
+        event.setLabId("lab1");
+        event.setGroupId("g1");
+        event.setAction(SignoffAction.PASS);
+        event.setPerformedBy("ta1");
+        event.setTimestamp(Instant.parse("2025-10-01T10:00:00Z"));
+        return event;
+    }
+}